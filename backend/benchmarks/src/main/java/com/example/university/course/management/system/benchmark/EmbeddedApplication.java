@@ -0,0 +1,32 @@
+package com.example.university.course.management.system.benchmark;
+
+import com.example.university.course.management.system.UniversityCourseManagementSystemApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Starts the backend without a web server against an in-memory H2 database in MySQL mode
+public final class EmbeddedApplication {
+
+    private EmbeddedApplication() {}
+
+    public static ConfigurableApplicationContext start() {
+        // Command-line arguments outrank application.properties, which points at MySQL
+        return new SpringApplicationBuilder(UniversityCourseManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                    "--spring.main.banner-mode=off",
+                    "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop",
+                    "--spring.jpa.show-sql=false",
+                    "--spring.datasource.hikari.connection-init-sql=SET QUERY_TIMEOUT 10000",
+                    "--reporting.datasource.hikari.connection-init-sql=SET QUERY_TIMEOUT 300000",
+                    "--logging.level.root=WARN"
+                );
+    }
+}
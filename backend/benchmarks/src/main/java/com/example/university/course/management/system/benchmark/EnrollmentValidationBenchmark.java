@@ -0,0 +1,148 @@
+package com.example.university.course.management.system.benchmark;
+
+import com.example.university.course.management.system.dto.PrerequisiteDTO;
+import com.example.university.course.management.system.entity.Course;
+import com.example.university.course.management.system.entity.MeetingSlot;
+import com.example.university.course.management.system.entity.Student;
+import com.example.university.course.management.system.entity.Term;
+import com.example.university.course.management.system.repository.CourseRepository;
+import com.example.university.course.management.system.repository.StudentRepository;
+import com.example.university.course.management.system.repository.TermRepository;
+import com.example.university.course.management.system.service.CourseService;
+import com.example.university.course.management.system.service.EnrollmentService;
+import com.example.university.course.management.system.service.PrerequisiteService;
+import com.example.university.course.management.system.service.TimetableService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enrollment validation against the real services and an embedded database. The rejected cases
+ * go through EnrollmentService and roll back, so the data set stays the same across iterations;
+ * the accepted case runs the prerequisite and timetable checks without saving.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnrollmentValidationBenchmark {
+
+    private static final int ENROLLED_COURSES = 6;
+
+    private ConfigurableApplicationContext context;
+    private EnrollmentService enrollmentService;
+    private PrerequisiteService prerequisiteService;
+    private TimetableService timetableService;
+
+    private Term term;
+    private Long studentId;
+    private Long enrolledCourseId;
+    private Long clashingCourseId;
+    private Long advancedCourseId;
+    private Course openCourse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedApplication.start();
+        enrollmentService = context.getBean(EnrollmentService.class);
+        prerequisiteService = context.getBean(PrerequisiteService.class);
+        timetableService = context.getBean(TimetableService.class);
+        StudentRepository studentRepository = context.getBean(StudentRepository.class);
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+
+        // Courses run in a current term, as in production, so clash checks take the term-scoped query
+        term = context.getBean(TermRepository.class).save(new Term("BENCH-T1", "Benchmark term",
+                LocalDate.now().minusMonths(1), LocalDate.now().plusMonths(3)));
+
+        Student student = Fixtures.student(1);
+        student.setId(null);
+        studentId = studentRepository.save(student).getId();
+
+        // One enrollment per weekday slot keeps the student's timetable non-trivial
+        for (int i = 1; i <= ENROLLED_COURSES; i++) {
+            Course course = newCourse(i, DayOfWeek.of((i - 1) % 5 + 1), 8 + (i - 1) / 5 * 2);
+            Long courseId = courseRepository.save(course).getId();
+            enrollmentService.enrollStudentToCourse(studentId, courseId);
+            if (enrolledCourseId == null) {
+                enrolledCourseId = courseId;
+            }
+        }
+        clashingCourseId = courseRepository.save(newCourse(100, DayOfWeek.MONDAY, 8)).getId();
+        Long foundationCourseId = courseRepository.save(newCourse(101, DayOfWeek.FRIDAY, 16)).getId();
+        advancedCourseId = courseRepository.save(newCourse(102, DayOfWeek.THURSDAY, 16)).getId();
+        context.getBean(CourseService.class).setPrerequisites(advancedCourseId,
+                List.of(new PrerequisiteDTO(foundationCourseId, null, 1, null)));
+        Long openCourseId = courseRepository.save(newCourse(103, DayOfWeek.WEDNESDAY, 16)).getId();
+
+        // Load the open course with its meeting slots so the accepted case reads like enrollStudentToCourse
+        openCourse = context.getBean(TransactionTemplate.class).execute(status -> {
+            Course course = courseRepository.findById(openCourseId).orElseThrow();
+            course.getMeetingSlots().size();
+            return course;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Course acceptedChecks() {
+        prerequisiteService.checkEligible(studentId, openCourse.getId());
+        timetableService.checkNoClash(studentId, openCourse);
+        return openCourse;
+    }
+
+    @Benchmark
+    public String rejectedDuplicate() {
+        return reject(enrolledCourseId);
+    }
+
+    @Benchmark
+    public String rejectedMissingPrerequisite() {
+        return reject(advancedCourseId);
+    }
+
+    @Benchmark
+    public String rejectedTimetableClash() {
+        return reject(clashingCourseId);
+    }
+
+    private String reject(Long courseId) {
+        try {
+            enrollmentService.enrollStudentToCourse(studentId, courseId);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+        throw new IllegalStateException("Enrollment in course " + courseId + " was expected to be rejected");
+    }
+
+    private Course newCourse(long number, DayOfWeek day, int startHour) {
+        Course course = Fixtures.course(number);
+        course.setId(null);
+        course.setTerm(term);
+        course.getMeetingSlots().clear();
+        course.getMeetingSlots().add(new MeetingSlot(day, LocalTime.of(startHour, 0), LocalTime.of(startHour + 2, 0)));
+        return course;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.university.course.management.system.benchmark;
+
+import com.example.university.course.management.system.dto.CourseDTO;
+import com.example.university.course.management.system.dto.EnrollmentDTO;
+import com.example.university.course.management.system.dto.MeetingSlotDTO;
+import com.example.university.course.management.system.entity.Course;
+import com.example.university.course.management.system.entity.Enrollment;
+import com.example.university.course.management.system.entity.MeetingSlot;
+import com.example.university.course.management.system.entity.Student;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic in-memory entities and DTOs shaped like production data
+public final class Fixtures {
+
+    private static final String[] FIRST_NAMES = {"Amal", "Nimali", "Kasun", "Dilini", "Ruwan", "Sanduni", "Tharindu", "Ishara"};
+    private static final String[] LAST_NAMES = {"Perera", "Fernando", "Silva", "Jayasinghe", "Bandara", "Wickramasinghe"};
+
+    private Fixtures() {}
+
+    public static Student student(long id) {
+        Student student = new Student(
+            FIRST_NAMES[(int) (id % FIRST_NAMES.length)],
+            LAST_NAMES[(int) (id % LAST_NAMES.length)],
+            "student" + id + "@university.edu",
+            "07" + String.format("%08d", id),
+            String.format("S%06d", id)
+        );
+        student.setId(id);
+        return student;
+    }
+
+    public static Course course(long id) {
+        Course course = new Course(
+            String.format("CS%04d", id),
+            "Course " + id,
+            "An introduction to topic " + id + " covering fundamentals, practice and assessment.",
+            3,
+            "Dr. " + LAST_NAMES[(int) (id % LAST_NAMES.length)],
+            120,
+            "ACTIVE"
+        );
+        course.setId(id);
+        DayOfWeek day = DayOfWeek.of((int) (id % 5) + 1);
+        course.getMeetingSlots().add(new MeetingSlot(day, LocalTime.of(8 + (int) (id % 8), 0), LocalTime.of(10 + (int) (id % 8), 0)));
+        course.getMeetingSlots().add(new MeetingSlot(day.plus(2), LocalTime.of(13, 0), LocalTime.of(14, 0)));
+        return course;
+    }
+
+    // Enroll the given student in the given course on both sides of the association
+    public static Enrollment enroll(long id, Student student, Course course, Random random) {
+        Enrollment enrollment = new Enrollment(student, course);
+        enrollment.setId(id);
+        if (random.nextBoolean()) {
+            enrollment.setStatus("COMPLETED");
+            enrollment.setGrade(40 + random.nextInt(61) + 0.5);
+            enrollment.setGradeLetter("B");
+            enrollment.setComments("Consistent work throughout the term");
+        }
+        student.getEnrollments().add(enrollment);
+        course.getEnrollments().add(enrollment);
+        return enrollment;
+    }
+
+    // A student enrolled in the given number of courses
+    public static Student studentWithEnrollments(int enrollments, long seed) {
+        Random random = new Random(seed);
+        Student student = student(1);
+        for (int i = 0; i < enrollments; i++) {
+            enroll(i + 1, student, course(i + 1), random);
+        }
+        return student;
+    }
+
+    // A course with the given number of enrolled students
+    public static Course courseWithEnrollments(int enrollments, long seed) {
+        Random random = new Random(seed);
+        Course course = course(1);
+        for (int i = 0; i < enrollments; i++) {
+            enroll(i + 1, student(i + 1), course, random);
+        }
+        return course;
+    }
+
+    // Course DTOs as returned by GET /api/courses, each with embedded enrollments
+    public static List<CourseDTO> courseDTOs(int courses, int enrollmentsPerCourse, long seed) {
+        Random random = new Random(seed);
+        List<CourseDTO> dtos = new ArrayList<>(courses);
+        long enrollmentId = 1;
+        for (int c = 1; c <= courses; c++) {
+            Course course = course(c);
+            CourseDTO dto = new CourseDTO(course.getId(), course.getCourseCode(), course.getCourseName(), course.getDescription(),
+                    course.getCredits(), course.getInstructor(), course.getMaxStudents(), course.getStatus());
+            List<MeetingSlotDTO> slots = new ArrayList<>();
+            for (MeetingSlot slot : course.getMeetingSlots()) {
+                slots.add(new MeetingSlotDTO(slot.getDayOfWeek(), slot.getStartTime(), slot.getEndTime()));
+            }
+            dto.setMeetingSlots(slots);
+            List<EnrollmentDTO> enrollments = new ArrayList<>(enrollmentsPerCourse);
+            for (int e = 0; e < enrollmentsPerCourse; e++) {
+                Student student = student(random.nextInt(courses * 10) + 1);
+                boolean graded = random.nextBoolean();
+                enrollments.add(new EnrollmentDTO(enrollmentId++, student.getId(),
+                        student.getFirstName() + " " + student.getLastName(), course.getId(), course.getCourseName(),
+                        course.getCourseCode(), LocalDateTime.of(2024, 1, 15, 9, 30).plusMinutes(e),
+                        graded ? "COMPLETED" : "ENROLLED", graded ? 40 + random.nextInt(61) + 0.5 : null,
+                        graded ? "B" : null, graded ? "Consistent work throughout the term" : null));
+            }
+            dto.setEnrollments(enrollments);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+}
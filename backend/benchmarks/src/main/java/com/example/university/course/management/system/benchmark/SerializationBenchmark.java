@@ -0,0 +1,55 @@
+package com.example.university.course.management.system.benchmark;
+
+import com.example.university.course.management.system.dto.CourseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of course lists with embedded enrollments, the GET /api/courses payload.
+ * The mapper comes from the same builder Spring MVC uses, so module and date settings match.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int courses;
+
+    @Param({"0", "30"})
+    public int enrollmentsPerCourse;
+
+    private ObjectWriter writer;
+    private List<CourseDTO> payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, CourseDTO.class));
+        payload = Fixtures.courseDTOs(courses, enrollmentsPerCourse, 42);
+    }
+
+    @Benchmark
+    public byte[] serializeCourses() throws Exception {
+        return writer.writeValueAsBytes(payload);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.benchmark.Fixtures;
+import com.example.university.course.management.system.dto.CourseDTO;
+import com.example.university.course.management.system.dto.EnrollmentDTO;
+import com.example.university.course.management.system.dto.StudentDTO;
+import com.example.university.course.management.system.entity.Course;
+import com.example.university.course.management.system.entity.Enrollment;
+import com.example.university.course.management.system.entity.EnrollmentView;
+import com.example.university.course.management.system.entity.Student;
+import com.example.university.course.management.system.util.EnrollmentMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mappers on in-memory entity graphs, so the numbers cover mapping alone. Lives in
+ * the service package because the student and course mappers are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MappingBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int enrollments;
+
+    private final StudentService studentService = new StudentService();
+    private final CourseService courseService = new CourseService();
+
+    private Student student;
+    private Course course;
+    private Enrollment enrollment;
+    private EnrollmentView enrollmentView;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The course mapper delegates meeting slots to the timetable service
+        Field field = ReflectionUtils.findField(CourseService.class, "timetableService");
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, courseService, new TimetableService());
+
+        student = Fixtures.studentWithEnrollments(enrollments, 42);
+        course = Fixtures.courseWithEnrollments(enrollments, 42);
+        enrollment = course.getEnrollments().get(0);
+        enrollmentView = EnrollmentMapper.toView(enrollment);
+    }
+
+    @Benchmark
+    public StudentDTO studentToDTO() {
+        return studentService.convertToDTO(student);
+    }
+
+    @Benchmark
+    public CourseDTO courseToDTO() {
+        return courseService.convertToDTO(course);
+    }
+
+    @Benchmark
+    public EnrollmentDTO enrollmentToDTO() {
+        return EnrollmentMapper.toDTO(enrollment);
+    }
+
+    @Benchmark
+    public EnrollmentDTO enrollmentViewToDTO() {
+        return EnrollmentMapper.toDTO(enrollmentView);
+    }
+}
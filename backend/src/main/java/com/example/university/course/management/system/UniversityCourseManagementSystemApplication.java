@@ -3,9 +3,11 @@ package com.example.university.course.management.system;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "com.example.university.course.management.system")
+@EnableScheduling
 public class UniversityCourseManagementSystemApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,67 @@
+package com.example.university.course.management.system.archive;
+
+import com.example.university.course.management.system.repository.EnrollmentPair;
+
+import java.time.LocalDateTime;
+
+// A completed enrollment read back from a segment file; archived enrollments are always COMPLETED
+public class ArchivedEnrollment implements EnrollmentPair {
+
+    public static final String STATUS = "COMPLETED";
+
+    private final Long id;
+    private final Long studentId;
+    private final Long courseId;
+    private final Long termId;
+    private final LocalDateTime enrollmentDate;
+    private final Double grade;
+    private final String gradeLetter;
+    private final String comments;
+
+    public ArchivedEnrollment(Long id, Long studentId, Long courseId, Long termId, LocalDateTime enrollmentDate,
+                              Double grade, String gradeLetter, String comments) {
+        this.id = id;
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.termId = termId;
+        this.enrollmentDate = enrollmentDate;
+        this.grade = grade;
+        this.gradeLetter = gradeLetter;
+        this.comments = comments;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    @Override
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    // Null for rows archived before terms existed
+    public Long getTermId() {
+        return termId;
+    }
+
+    public LocalDateTime getEnrollmentDate() {
+        return enrollmentDate;
+    }
+
+    public Double getGrade() {
+        return grade;
+    }
+
+    public String getGradeLetter() {
+        return gradeLetter;
+    }
+
+    public String getComments() {
+        return comments;
+    }
+}
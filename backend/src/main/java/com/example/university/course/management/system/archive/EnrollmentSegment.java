@@ -0,0 +1,435 @@
+package com.example.university.course.management.system.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * An immutable, column-oriented file of archived enrollments, read through a memory mapping.
+ *
+ * Rows are sorted by student. Students are stored once, as a sorted id dictionary with the offset
+ * of each student's first row (compressed sparse row form), so a student's rows are one binary
+ * search and a contiguous slice. Course ids, grades, grade letters and comments are dictionary
+ * encoded: each column holds 1, 2 or 4 byte codes into a small sorted dictionary, code 0 meaning
+ * null where the value is optional. The header carries row counts and min/max student id,
+ * enrollment date and grade, so a lookup can skip a segment without touching its columns.
+ *
+ * Layout, big-endian: fixed header; student ids; course ids; grades; term ids; enrollment ids;
+ * enrollment dates (epoch millis, UTC); student row offsets; course, grade, letter, comment and
+ * term codes; then the letter and comment strings as length-prefixed UTF-8.
+ */
+public final class EnrollmentSegment implements Iterable<ArchivedEnrollment> {
+
+    private static final int MAGIC = 0x454E5253; // "ENRS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 96;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int rows;
+    private final int students;
+    private final long minStudentId;
+    private final long maxStudentId;
+    private final long minEnrolledAt;
+    private final long maxEnrolledAt;
+    private final double minGrade;
+    private final double maxGrade;
+
+    // Dictionaries are small and decoded once; the per-row columns stay in the mapping
+    private final long[] courseIds;
+    private final double[] grades;
+    private final String[] letters;
+    private final String[] comments;
+    private final long[] termIds;
+
+    private final int courseWidth;
+    private final int gradeWidth;
+    private final int letterWidth;
+    private final int commentWidth;
+    private final int termWidth;
+
+    private final int studentIdsAt;
+    private final int enrollmentIdsAt;
+    private final int enrolledAtAt;
+    private final int rowOffsetsAt;
+    private final int courseCodesAt;
+    private final int gradeCodesAt;
+    private final int letterCodesAt;
+    private final int commentCodesAt;
+    private final int termCodesAt;
+
+    private EnrollmentSegment(Path path, ByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not an enrollment segment: " + path);
+        }
+        rows = buffer.getInt(8);
+        students = buffer.getInt(12);
+        minStudentId = buffer.getLong(16);
+        maxStudentId = buffer.getLong(24);
+        minEnrolledAt = buffer.getLong(32);
+        maxEnrolledAt = buffer.getLong(40);
+        minGrade = buffer.getDouble(48);
+        maxGrade = buffer.getDouble(56);
+        courseWidth = buffer.get(64);
+        gradeWidth = buffer.get(65);
+        letterWidth = buffer.get(66);
+        commentWidth = buffer.get(67);
+        int courseCount = buffer.getInt(68);
+        int gradeCount = buffer.getInt(72);
+        int letterCount = buffer.getInt(76);
+        int commentCount = buffer.getInt(80);
+        int termCount = buffer.getInt(84);
+        termWidth = buffer.get(88);
+
+        int at = HEADER_BYTES;
+        studentIdsAt = at;
+        at += students * 8;
+        courseIds = new long[courseCount];
+        for (int i = 0; i < courseCount; i++, at += 8) {
+            courseIds[i] = buffer.getLong(at);
+        }
+        grades = new double[gradeCount];
+        for (int i = 0; i < gradeCount; i++, at += 8) {
+            grades[i] = buffer.getDouble(at);
+        }
+        termIds = new long[termCount];
+        for (int i = 0; i < termCount; i++, at += 8) {
+            termIds[i] = buffer.getLong(at);
+        }
+        enrollmentIdsAt = at;
+        at += rows * 8;
+        enrolledAtAt = at;
+        at += rows * 8;
+        rowOffsetsAt = at;
+        at += (students + 1) * 4;
+        courseCodesAt = at;
+        at += rows * courseWidth;
+        gradeCodesAt = at;
+        at += rows * gradeWidth;
+        letterCodesAt = at;
+        at += rows * letterWidth;
+        commentCodesAt = at;
+        at += rows * commentWidth;
+        termCodesAt = at;
+        at += rows * termWidth;
+        letters = new String[letterCount];
+        for (int i = 0; i < letterCount; i++) {
+            int length = buffer.getInt(at);
+            letters[i] = new String(bytes(at + 4, length), StandardCharsets.UTF_8);
+            at += 4 + length;
+        }
+        comments = new String[commentCount];
+        for (int i = 0; i < commentCount; i++) {
+            int length = buffer.getInt(at);
+            comments[i] = new String(bytes(at + 4, length), StandardCharsets.UTF_8);
+            at += 4 + length;
+        }
+    }
+
+    // Map a segment file read-only; the mapping outlives the channel
+    public static EnrollmentSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new EnrollmentSegment(path, buffer);
+        }
+    }
+
+    // Write rows to a new file and force it to disk; fails if the file already exists
+    public static void write(Path path, List<ArchivedEnrollment> input) throws IOException {
+        List<ArchivedEnrollment> rows = new ArrayList<>(input);
+        rows.sort(Comparator.comparing(ArchivedEnrollment::getStudentId)
+                .thenComparing(ArchivedEnrollment::getCourseId)
+                .thenComparing(ArchivedEnrollment::getId));
+
+        TreeSet<Long> studentSet = new TreeSet<>();
+        TreeSet<Long> courseSet = new TreeSet<>();
+        TreeSet<Double> gradeSet = new TreeSet<>();
+        TreeSet<String> letterSet = new TreeSet<>();
+        TreeSet<String> commentSet = new TreeSet<>();
+        TreeSet<Long> termSet = new TreeSet<>();
+        long minEnrolledAt = Long.MAX_VALUE;
+        long maxEnrolledAt = Long.MIN_VALUE;
+        for (ArchivedEnrollment row : rows) {
+            studentSet.add(row.getStudentId());
+            courseSet.add(row.getCourseId());
+            if (row.getGrade() != null) {
+                gradeSet.add(row.getGrade());
+            }
+            if (row.getGradeLetter() != null) {
+                letterSet.add(row.getGradeLetter());
+            }
+            if (row.getComments() != null) {
+                commentSet.add(row.getComments());
+            }
+            if (row.getTermId() != null) {
+                termSet.add(row.getTermId());
+            }
+            long enrolledAt = epochMillis(row.getEnrollmentDate());
+            minEnrolledAt = Math.min(minEnrolledAt, enrolledAt);
+            maxEnrolledAt = Math.max(maxEnrolledAt, enrolledAt);
+        }
+        Map<Long, Integer> courseCodes = codes(courseSet, 0);
+        Map<Double, Integer> gradeCodes = codes(gradeSet, 1);
+        Map<String, Integer> letterCodes = codes(letterSet, 1);
+        Map<String, Integer> commentCodes = codes(commentSet, 1);
+        Map<Long, Integer> termCodes = codes(termSet, 1);
+        int courseWidth = width(courseSet.size());
+        int gradeWidth = width(gradeSet.size() + 1);
+        int letterWidth = width(letterSet.size() + 1);
+        int commentWidth = width(commentSet.size() + 1);
+        int termWidth = width(termSet.size() + 1);
+        List<byte[]> letterBytes = utf8(letterSet);
+        List<byte[]> commentBytes = utf8(commentSet);
+
+        int size = rows.size();
+        long total = HEADER_BYTES + 8L * studentSet.size() + 8L * courseSet.size() + 8L * gradeSet.size()
+                + 8L * termSet.size() + 16L * size + 4L * (studentSet.size() + 1)
+                + (long) size * (courseWidth + gradeWidth + letterWidth + commentWidth + termWidth)
+                + stringBytes(letterBytes) + stringBytes(commentBytes);
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment too large: " + size + " rows");
+        }
+        ByteBuffer out = ByteBuffer.allocate((int) total);
+        out.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(studentSet.size());
+        out.putLong(studentSet.isEmpty() ? 0 : studentSet.first()).putLong(studentSet.isEmpty() ? 0 : studentSet.last());
+        out.putLong(size == 0 ? 0 : minEnrolledAt).putLong(size == 0 ? 0 : maxEnrolledAt);
+        out.putDouble(gradeSet.isEmpty() ? Double.NaN : gradeSet.first());
+        out.putDouble(gradeSet.isEmpty() ? Double.NaN : gradeSet.last());
+        out.put((byte) courseWidth).put((byte) gradeWidth).put((byte) letterWidth).put((byte) commentWidth);
+        out.putInt(courseSet.size()).putInt(gradeSet.size()).putInt(letterSet.size()).putInt(commentSet.size());
+        out.putInt(termSet.size());
+        out.put((byte) termWidth);
+        out.put(new byte[7]); // padding to keep the long columns 8-byte aligned
+        studentSet.forEach(out::putLong);
+        courseSet.forEach(out::putLong);
+        gradeSet.forEach(out::putDouble);
+        termSet.forEach(out::putLong);
+        rows.forEach(row -> out.putLong(row.getId()));
+        rows.forEach(row -> out.putLong(epochMillis(row.getEnrollmentDate())));
+        // Offset of each student's first row, plus one past the end
+        out.putInt(0);
+        for (int i = 1; i <= size; i++) {
+            if (i == size || !rows.get(i).getStudentId().equals(rows.get(i - 1).getStudentId())) {
+                out.putInt(i);
+            }
+        }
+        rows.forEach(row -> putCode(out, courseWidth, courseCodes.get(row.getCourseId())));
+        rows.forEach(row -> putCode(out, gradeWidth, row.getGrade() == null ? 0 : gradeCodes.get(row.getGrade())));
+        rows.forEach(row -> putCode(out, letterWidth, row.getGradeLetter() == null ? 0 : letterCodes.get(row.getGradeLetter())));
+        rows.forEach(row -> putCode(out, commentWidth, row.getComments() == null ? 0 : commentCodes.get(row.getComments())));
+        rows.forEach(row -> putCode(out, termWidth, row.getTermId() == null ? 0 : termCodes.get(row.getTermId())));
+        for (byte[] bytes : letterBytes) {
+            out.putInt(bytes.length).put(bytes);
+        }
+        for (byte[] bytes : commentBytes) {
+            out.putInt(bytes.length).put(bytes);
+        }
+        out.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(true);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    public long getMinStudentId() {
+        return minStudentId;
+    }
+
+    public long getMaxStudentId() {
+        return maxStudentId;
+    }
+
+    public LocalDateTime getMinEnrollmentDate() {
+        return rows == 0 ? null : dateTime(minEnrolledAt);
+    }
+
+    public LocalDateTime getMaxEnrollmentDate() {
+        return rows == 0 ? null : dateTime(maxEnrolledAt);
+    }
+
+    public Double getMinGrade() {
+        return Double.isNaN(minGrade) ? null : minGrade;
+    }
+
+    public Double getMaxGrade() {
+        return Double.isNaN(maxGrade) ? null : maxGrade;
+    }
+
+    public boolean containsCourse(long courseId) {
+        return Arrays.binarySearch(courseIds, courseId) >= 0;
+    }
+
+    // One student's rows, in course order; the id range in the header rules out most segments
+    public List<ArchivedEnrollment> findByStudentId(long studentId) {
+        if (rows == 0 || studentId < minStudentId || studentId > maxStudentId) {
+            return List.of();
+        }
+        int low = 0;
+        int high = students - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = buffer.getLong(studentIdsAt + mid * 8);
+            if (id < studentId) {
+                low = mid + 1;
+            } else if (id > studentId) {
+                high = mid - 1;
+            } else {
+                List<ArchivedEnrollment> result = new ArrayList<>();
+                for (int row = rowOffset(mid), end = rowOffset(mid + 1); row < end; row++) {
+                    result.add(row(row, studentId));
+                }
+                return result;
+            }
+        }
+        return List.of();
+    }
+
+    // Every row of one course; scans only the course code column and skips segments without the course
+    public void forEachInCourse(long courseId, Consumer<ArchivedEnrollment> action) {
+        int code = Arrays.binarySearch(courseIds, courseId);
+        if (code < 0) {
+            return;
+        }
+        for (int student = 0; student < students; student++) {
+            for (int row = rowOffset(student), end = rowOffset(student + 1); row < end; row++) {
+                if (code(courseCodesAt, courseWidth, row) == code) {
+                    action.accept(row(row, buffer.getLong(studentIdsAt + student * 8)));
+                }
+            }
+        }
+    }
+
+    // All rows in student order
+    @Override
+    public Iterator<ArchivedEnrollment> iterator() {
+        return new Iterator<>() {
+            private int student = 0;
+            private int row = 0;
+
+            @Override
+            public boolean hasNext() {
+                return row < rows;
+            }
+
+            @Override
+            public ArchivedEnrollment next() {
+                if (row >= rows) {
+                    throw new NoSuchElementException();
+                }
+                while (rowOffset(student + 1) <= row) {
+                    student++;
+                }
+                return row(row++, buffer.getLong(studentIdsAt + student * 8));
+            }
+        };
+    }
+
+    private ArchivedEnrollment row(int row, long studentId) {
+        int grade = code(gradeCodesAt, gradeWidth, row);
+        int letter = code(letterCodesAt, letterWidth, row);
+        int comment = code(commentCodesAt, commentWidth, row);
+        int term = code(termCodesAt, termWidth, row);
+        return new ArchivedEnrollment(
+            buffer.getLong(enrollmentIdsAt + row * 8),
+            studentId,
+            courseIds[code(courseCodesAt, courseWidth, row)],
+            term == 0 ? null : termIds[term - 1],
+            dateTime(buffer.getLong(enrolledAtAt + row * 8)),
+            grade == 0 ? null : grades[grade - 1],
+            letter == 0 ? null : letters[letter - 1],
+            comment == 0 ? null : comments[comment - 1]
+        );
+    }
+
+    private int rowOffset(int student) {
+        return buffer.getInt(rowOffsetsAt + student * 4);
+    }
+
+    private int code(int columnAt, int width, int row) {
+        return switch (width) {
+            case 1 -> Byte.toUnsignedInt(buffer.get(columnAt + row));
+            case 2 -> Short.toUnsignedInt(buffer.getShort(columnAt + row * 2));
+            default -> buffer.getInt(columnAt + row * 4);
+        };
+    }
+
+    private byte[] bytes(int at, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(at, bytes);
+        return bytes;
+    }
+
+    private static <T> Map<T, Integer> codes(TreeSet<T> values, int first) {
+        Map<T, Integer> codes = new HashMap<>();
+        int code = first;
+        for (T value : values) {
+            codes.put(value, code++);
+        }
+        return codes;
+    }
+
+    // Bytes per code for a dictionary with this many codes
+    private static int width(int codes) {
+        return codes <= 1 << 8 ? 1 : codes <= 1 << 16 ? 2 : 4;
+    }
+
+    private static void putCode(ByteBuffer out, int width, int code) {
+        switch (width) {
+            case 1 -> out.put((byte) code);
+            case 2 -> out.putShort((short) code);
+            default -> out.putInt(code);
+        }
+    }
+
+    private static List<byte[]> utf8(TreeSet<String> values) {
+        List<byte[]> bytes = new ArrayList<>(values.size());
+        values.forEach(value -> bytes.add(value.getBytes(StandardCharsets.UTF_8)));
+        return bytes;
+    }
+
+    private static long stringBytes(List<byte[]> strings) {
+        long total = 0;
+        for (byte[] bytes : strings) {
+            total += 4 + bytes.length;
+        }
+        return total;
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime dateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
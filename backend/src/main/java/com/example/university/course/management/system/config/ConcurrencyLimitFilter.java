@@ -0,0 +1,193 @@
+package com.example.university.course.management.system.config;
+
+import com.example.university.course.management.system.util.AimdLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds load before it reaches the connection pool, instead of letting requests wait there for a
+ * connection until they time out.
+ *
+ * Each class of endpoint has its own adaptive limit, and a request answers 429 when its class is
+ * full. A global limit covers the pool they all share: reads may use only part of it, enrollments
+ * and logins a little more, and grade submissions all of it. When the server as a whole falls
+ * behind, reads are shed first and grades last, with a 503. Both carry Retry-After, which CorsConfig
+ * exposes to the browser.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public enum EndpointClass {
+        // Share of the global limit each class may use
+        READ(0.6),
+        ENROLLMENT(0.85),
+        AUTH(0.85),
+        // Grade submissions, plus other staff writes such as course and student changes
+        GRADE(1.0);
+
+        private final double globalShare;
+
+        EndpointClass(double globalShare) {
+            this.globalShare = globalShare;
+        }
+    }
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${limiter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${limiter.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    private AimdLimiter global;
+    private final Map<EndpointClass, AimdLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejected = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> shed = new EnumMap<>(EndpointClass.class);
+
+    @PostConstruct
+    public void init() {
+        global = limiter("global", 20, 200, 2000);
+        Gauge.builder("university.limiter.limit", global, AimdLimiter::getLimit).tag("class", "global").register(registry);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String name = endpointClass.name().toLowerCase(Locale.ROOT);
+            AimdLimiter limiter = switch (endpointClass) {
+                case READ -> limiter(name, 20, 200, 500);
+                case ENROLLMENT -> limiter(name, 10, 100, 1000);
+                case AUTH -> limiter(name, 10, 100, 1500);
+                case GRADE -> limiter(name, 10, 100, 1000);
+            };
+            limiters.put(endpointClass, limiter);
+            Gauge.builder("university.limiter.limit", limiter, AimdLimiter::getLimit).tag("class", name).register(registry);
+            rejected.put(endpointClass, Counter.builder("university.limiter.rejected")
+                    .description("Requests rejected because their endpoint class was at its limit")
+                    .tag("class", name).register(registry));
+            shed.put(endpointClass, Counter.builder("university.limiter.shed")
+                    .description("Requests shed because the server as a whole was at its limit")
+                    .tag("class", name).register(registry));
+        }
+    }
+
+    // Only API calls are limited; probes, actuator, CORS preflight and long-lived event streams pass straight through
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod())) {
+            return true;
+        }
+        String accept = request.getHeader("Accept");
+        return request.getRequestURI().endsWith("/stream")
+                || accept != null && accept.toLowerCase(Locale.ROOT).contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        AimdLimiter limiter = limiters.get(endpointClass);
+        if (!limiter.tryAcquire()) {
+            rejected.get(endpointClass).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS);
+            return;
+        }
+        if (!global.tryAcquire(endpointClass.globalShare)) {
+            limiter.cancel();
+            shed.get(endpointClass).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean overloaded = true;
+        try {
+            chain.doFilter(request, response);
+            // Controllers answer 503 when a dependency is unavailable
+            overloaded = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+        } finally {
+            long latency = System.nanoTime() - start;
+            if (overloaded || !isTransfer(request)) {
+                global.release(latency, overloaded);
+                limiter.release(latency, overloaded);
+            } else {
+                global.cancel();
+                limiter.cancel();
+            }
+        }
+    }
+
+    // Report downloads and sync responses run as long as the client takes to read them, which says
+    // nothing about load here; they hold a slot but their latency is not sampled
+    private static boolean isTransfer(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.startsWith("/api/reports/") && uri.endsWith("/download") || uri.equals("/api/sync");
+    }
+
+    // Every endpoint that writes is listed; anything unlisted counts as a read, so a new endpoint is
+    // shed early rather than taking grade submissions' share of the pool
+    private static EndpointClass classify(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String method = request.getMethod();
+        if (uri.startsWith("/api/users/")) {
+            return EndpointClass.AUTH;
+        }
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return EndpointClass.READ;
+        }
+        // POST /api/enrollments, POST /api/students/{id}/enroll/{courseId}, PUT /api/enrollments/{id}/drop
+        if (uri.equals("/api/enrollments") || uri.startsWith("/api/students/") && uri.contains("/enroll/")
+                || uri.startsWith("/api/enrollments/") && uri.endsWith("/drop")) {
+            return EndpointClass.ENROLLMENT;
+        }
+        // PUT /api/enrollments/{id}/grade, POST /api/courses/{id}/students/{studentId}/result
+        if (uri.startsWith("/api/enrollments/") && uri.endsWith("/grade")
+                || uri.startsWith("/api/courses/") && uri.endsWith("/result")) {
+            return EndpointClass.GRADE;
+        }
+        // Staff changes to students, courses (and their prerequisites) and terms
+        if (uri.startsWith("/api/students") || uri.startsWith("/api/courses") || uri.startsWith("/api/terms")) {
+            return EndpointClass.GRADE;
+        }
+        // POST /api/reports only queues a read-only job
+        return EndpointClass.READ;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status) {
+        response.setStatus(status.value());
+        response.setHeader("Retry-After", Integer.toString(retryAfterSeconds));
+    }
+
+    // limiter.<name>.initial-limit, min-limit, max-limit and target-latency-ms, with per-class defaults
+    private AimdLimiter limiter(String name, int initialLimit, int maxLimit, long targetLatencyMs) {
+        String prefix = "limiter." + name + ".";
+        return new AimdLimiter(
+                environment.getProperty(prefix + "initial-limit", Integer.class, initialLimit),
+                environment.getProperty(prefix + "min-limit", Integer.class, 2),
+                environment.getProperty(prefix + "max-limit", Integer.class, maxLimit),
+                TimeUnit.MILLISECONDS.toNanos(environment.getProperty(prefix + "target-latency-ms", Long.class, targetLatencyMs)),
+                environment.getProperty("limiter.backoff-ratio", Double.class, 0.9));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.university.course.management.system.config;
+
+import com.example.university.course.management.system.service.DatabaseHealthService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// Replaces the actuator's own datasource check, which would run a query on every /actuator/health call
+@Component
+public class DatabaseHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private DatabaseHealthService databaseHealthService;
+
+    @Override
+    public Health health() {
+        DatabaseHealthService.Result check = databaseHealthService.getResult();
+        if (check == null) {
+            return Health.unknown().withDetail("database", "Not checked yet").build();
+        }
+        Health.Builder builder = databaseHealthService.isReady() ? Health.up() : Health.down();
+        builder.withDetail("checkedAt", check.getCheckedAt().toString());
+        if (check.getDatabaseProduct() != null) {
+            builder.withDetail("database", check.getDatabaseProduct());
+        }
+        if (check.getError() != null) {
+            builder.withDetail("error", check.getError());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.university.course.management.system.config;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Start times of the read-write transactions currently open in this process. Rows are stamped with
+ * updatedAt inside their transaction but only become visible when it commits, so anything still
+ * invisible carries a stamp no earlier than the oldest start here, however long its commit takes.
+ * Spring Boot registers the listener with the transaction manager.
+ */
+@Component
+public class OpenWriteTransactions implements TransactionExecutionListener {
+
+    private final Map<TransactionExecution, LocalDateTime> started = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && !transaction.isReadOnly()) {
+            started.put(transaction, LocalDateTime.now());
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        started.remove(transaction);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        started.remove(transaction);
+    }
+
+    // Start of the oldest open write transaction, or null when none is open
+    public LocalDateTime oldestStart() {
+        return started.values().stream().min(LocalDateTime::compareTo).orElse(null);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.university.course.management.system.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two connection pools on the same database: the transactional pool behind every request, and a
+ * small reporting pool for long reads. Each pool has its own size, timeouts and session statement
+ * time limit (connection-init-sql) and its own Hikari metrics. The DataSource everything else uses
+ * routes each new connection by whether the thread is doing reporting work, so a heavy export
+ * waits on reporting connections and never takes one from enrollments or logins.
+ */
+@Configuration
+public class ReportingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource oltpDataSource(DataSourceProperties properties) {
+        return withCursorFetch(properties.initializeDataSourceBuilder().type(HikariDataSource.class).build());
+    }
+
+    // Same database and credentials, pool settings from reporting.datasource.hikari.*
+    @Bean
+    @ConfigurationProperties("reporting.datasource.hikari")
+    public HikariDataSource reportingDataSource(DataSourceProperties properties) {
+        return withCursorFetch(properties.initializeDataSourceBuilder().type(HikariDataSource.class).build());
+    }
+
+    // Streaming queries set a fetch size; Connector/J only honours it with cursor fetch on, and otherwise
+    // buffers the whole result set. Set here too so a SPRING_DATASOURCE_URL override can't drop it
+    private static HikariDataSource withCursorFetch(HikariDataSource dataSource) {
+        if (dataSource.getJdbcUrl() != null && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            dataSource.addDataSourceProperty("useCursorFetch", "true");
+        }
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("oltpDataSource") DataSource oltpDataSource,
+                                 @Qualifier("reportingDataSource") DataSource reportingDataSource) {
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return ReportingRouting.isActive() ? "reporting" : "oltp";
+            }
+        };
+        routing.setTargetDataSources(Map.of("oltp", oltpDataSource, "reporting", reportingDataSource));
+        routing.setDefaultTargetDataSource(oltpDataSource);
+        return routing;
+    }
+
+    // Runs @ReportingQuery methods on the reporting pool, outside their transaction, with at most
+    // as many at a time as the pool has connections; callers past that wait briefly, then get a 503
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor reportingQueryAdvisor(@Value("${reporting.datasource.hikari.maximum-pool-size:3}") int permits,
+                                                @Value("${reporting.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        Semaphore slots = new Semaphore(permits, true);
+        MethodInterceptor interceptor = invocation -> {
+            if (ReportingRouting.isActive()) {
+                return invocation.proceed();
+            }
+            if (!slots.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Reporting capacity is exhausted");
+            }
+            try {
+                return ReportingRouting.call(() -> {
+                    try {
+                        return invocation.proceed();
+                    } catch (RuntimeException | Error e) {
+                        throw e;
+                    } catch (Throwable e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            } finally {
+                slots.release();
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(null, ReportingQuery.class, true), interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.university.course.management.system.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a service method against the reporting connection pool instead of the transactional one.
+ * Meant for exports, full listings and other long reads. The routing happens before the method's
+ * transaction starts, so it only takes effect when the method is called from outside any
+ * transaction; inside one, the method keeps using the connection the transaction already holds.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReportingQuery {
+}
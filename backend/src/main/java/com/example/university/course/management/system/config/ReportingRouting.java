@@ -0,0 +1,34 @@
+package com.example.university.course.management.system.config;
+
+import java.util.function.Supplier;
+
+// Marks the current thread as doing reporting work, which sends its new connections to the reporting pool
+public final class ReportingRouting {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private ReportingRouting() {}
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    public static <T> T call(Supplier<T> work) {
+        if (isActive()) {
+            return work.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    public static void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.university.course.management.system.config;
+
+import com.example.university.course.management.system.util.RequestTiming;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Hooks for ServerTimingFilter: pool and SQL time from the DataSource, serialization time from Jackson
+@Configuration
+public class ServerTimingConfig {
+
+    // Static so wrapping the DataSource does not pull this configuration in early
+    @Bean
+    public static BeanPostProcessor timingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the DataSource the application uses; the pools behind it would count twice
+                return "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        ? new TimingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    // Replaces the default JSON converter; Spring Boot backs off when one is defined
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException, HttpMessageNotWritableException {
+                RequestTiming timing = RequestTiming.current();
+                if (timing == null) {
+                    super.writeInternal(object, type, outputMessage);
+                    return;
+                }
+                long start = System.nanoTime();
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    timing.addSerialization(System.nanoTime() - start);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.university.course.management.system.config;
+
+import com.example.university.course.management.system.dto.SlowRequestDTO;
+import com.example.university.course.management.system.service.SlowRequestLog;
+import com.example.university.course.management.system.util.RequestTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Adds a Server-Timing header splitting each request into pool wait, SQL, DTO mapping and JSON
+ * serialization. Serialization finishes only after the body is written, so timed responses are
+ * buffered and the header is set before the buffer is flushed. That costs a copy of the body,
+ * which is why timing is off unless switched on. Event streams, report downloads and actuator
+ * endpoints are never timed: a download would be held whole in heap instead of going out from the file.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private static final List<String> UNTIMED_PATHS = List.of("/api/reports/*/download", "/actuator/**");
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @Value("${timing.enabled:false}")
+    private volatile boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (UNTIMED_PATHS.stream().anyMatch(pattern -> PATHS.match(pattern, path))) {
+            return true;
+        }
+        String accept = request.getHeader("Accept");
+        return accept != null && accept.toLowerCase(Locale.ROOT).contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Instant startedAt = Instant.now();
+        RequestTiming timing = RequestTiming.start();
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, buffered);
+        } finally {
+            RequestTiming.end();
+            double totalMs = millis(System.nanoTime() - timing.getStartNanos());
+            buffered.setHeader("Server-Timing", header(timing, totalMs));
+            buffered.setHeader("Timing-Allow-Origin", "http://localhost:3000");
+            buffered.copyBodyToResponse();
+            if (slowRequestLog.isSlow(totalMs)) {
+                slowRequestLog.record(new SlowRequestDTO(startedAt, request.getMethod(), request.getRequestURI(),
+                        buffered.getStatus(), totalMs, millis(timing.getConnectionNanos()), millis(timing.getSqlNanos()),
+                        timing.getStatements(), millis(timing.getMappingNanos()), millis(timing.getSerializationNanos())));
+            }
+        }
+    }
+
+    private static String header(RequestTiming timing, double totalMs) {
+        return "db-acquire;dur=" + format(millis(timing.getConnectionNanos()))
+                + ", sql;dur=" + format(millis(timing.getSqlNanos())) + ";desc=\"" + timing.getStatements() + " statements\""
+                + ", mapping;dur=" + format(millis(timing.getMappingNanos()))
+                + ", serialization;dur=" + format(millis(timing.getSerializationNanos()))
+                + ", total;dur=" + format(totalMs);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.2f", millis);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.university.course.management.system.config;
+
+import com.example.university.course.management.system.util.RequestTiming;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Adds pool wait and statement execution time to the current RequestTiming. Outside a timed
+ * request the pooled connection is handed out unwrapped, so the only cost is a ThreadLocal read.
+ * Time spent reading result sets after execute returns is not included.
+ */
+public class TimingDataSource extends DelegatingDataSource {
+
+    public TimingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return obtainTargetDataSource().getConnection();
+        }
+        long start = System.nanoTime();
+        Connection connection = obtainTargetDataSource().getConnection();
+        timing.addConnection(System.nanoTime() - start);
+        return wrap(Connection.class, connection, new ConnectionHandler(connection, timing));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return obtainTargetDataSource().getConnection(username, password);
+        }
+        long start = System.nanoTime();
+        Connection connection = obtainTargetDataSource().getConnection(username, password);
+        timing.addConnection(System.nanoTime() - start);
+        return wrap(Connection.class, connection, new ConnectionHandler(connection, timing));
+    }
+
+    private static <T> T wrap(Class<T> type, T target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Hands out statements that time their execute calls
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private final RequestTiming timing;
+
+        ConnectionHandler(Connection connection, RequestTiming timing) {
+            this.connection = connection;
+            this.timing = timing;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TimingDataSource.invoke(method, connection, args);
+            switch (method.getName()) {
+                case "createStatement" -> {
+                    Statement statement = (Statement) result;
+                    return wrap(Statement.class, statement, new StatementHandler(statement, timing));
+                }
+                case "prepareStatement" -> {
+                    PreparedStatement statement = (PreparedStatement) result;
+                    return wrap(PreparedStatement.class, statement, new StatementHandler(statement, timing));
+                }
+                case "prepareCall" -> {
+                    CallableStatement statement = (CallableStatement) result;
+                    return wrap(CallableStatement.class, statement, new StatementHandler(statement, timing));
+                }
+                default -> {
+                    return result;
+                }
+            }
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final RequestTiming timing;
+
+        StatementHandler(Statement statement, RequestTiming timing) {
+            this.statement = statement;
+            this.timing = timing;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return TimingDataSource.invoke(method, statement, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return TimingDataSource.invoke(method, statement, args);
+            } finally {
+                timing.addStatement(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.university.course.management.system.controller;
 
 import com.example.university.course.management.system.dto.CourseDTO;
+import com.example.university.course.management.system.dto.CourseRankDTO;
+import com.example.university.course.management.system.dto.CourseRecommendationDTO;
+import com.example.university.course.management.system.dto.CourseStatisticsDTO;
 import com.example.university.course.management.system.dto.EnrollmentDTO;
+import com.example.university.course.management.system.dto.PrerequisiteDTO;
+import com.example.university.course.management.system.dto.StudentDTO;
 import com.example.university.course.management.system.service.CourseService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -15,6 +22,8 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
 public class CourseController {
     
+    private static final int MAX_RANKING_LIMIT = 500;
+    
     @Autowired
     private CourseService courseService;
     
@@ -29,11 +38,28 @@ public class CourseController {
         }
     }
     
-    // Get all courses
+    // Get all courses, or only one term's
     @GetMapping
-    public ResponseEntity<List<CourseDTO>> getAllCourses() {
-        List<CourseDTO> courses = courseService.getAllCourses();
-        return new ResponseEntity<>(courses, HttpStatus.OK);
+    public ResponseEntity<List<CourseDTO>> getAllCourses(@RequestParam(required = false) Long termId) {
+        try {
+            List<CourseDTO> courses = courseService.getAllCourses(termId);
+            return new ResponseEntity<>(courses, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    // Stream seat availability for the given courses (Server-Sent Events), instead of polling the course
+    @GetMapping(value = "/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSeats(@RequestParam List<Long> courseIds) {
+        try {
+            SseEmitter emitter = courseService.subscribeToSeats(courseIds);
+            return new ResponseEntity<>(emitter, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
     }
     
     // Get course by ID
@@ -80,6 +106,104 @@ public class CourseController {
         }
     }
     
+    // Get prerequisite rules (same group = any one of, different groups = all of)
+    @GetMapping("/{id}/prerequisites")
+    public ResponseEntity<List<PrerequisiteDTO>> getPrerequisites(@PathVariable Long id) {
+        try {
+            List<PrerequisiteDTO> prerequisites = courseService.getPrerequisites(id);
+            return new ResponseEntity<>(prerequisites, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+    
+    // Replace prerequisite rules; rejected if they would create a cycle
+    @PutMapping("/{id}/prerequisites")
+    public ResponseEntity<List<PrerequisiteDTO>> setPrerequisites(@PathVariable Long id,
+                                                                  @RequestBody List<PrerequisiteDTO> prerequisites) {
+        try {
+            List<PrerequisiteDTO> saved = courseService.setPrerequisites(id, prerequisites);
+            return new ResponseEntity<>(saved, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    // Get grade statistics (mean, exact median, min and max, standard deviation, letter distribution)
+    @GetMapping("/{id}/statistics")
+    public ResponseEntity<CourseStatisticsDTO> getCourseStatistics(@PathVariable Long id) {
+        try {
+            CourseStatisticsDTO statistics = courseService.getCourseStatistics(id);
+            return new ResponseEntity<>(statistics, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    // Get a student's rank and percentile in a course
+    @GetMapping("/{courseId}/students/{studentId}/rank")
+    public ResponseEntity<CourseRankDTO> getStudentRank(@PathVariable Long courseId, @PathVariable Long studentId) {
+        try {
+            CourseRankDTO rank = courseService.getStudentRank(courseId, studentId);
+            return new ResponseEntity<>(rank, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+    
+    // Get the top-N students in a course by grade
+    @GetMapping("/{id}/top")
+    public ResponseEntity<List<CourseRankDTO>> getTopStudents(@PathVariable Long id,
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<CourseRankDTO> ranks = courseService.getTopStudents(id, clampLimit(limit));
+            return new ResponseEntity<>(ranks, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    // Get the bottom-N students in a course by grade
+    @GetMapping("/{id}/bottom")
+    public ResponseEntity<List<CourseRankDTO>> getBottomStudents(@PathVariable Long id,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<CourseRankDTO> ranks = courseService.getBottomStudents(id, clampLimit(limit));
+            return new ResponseEntity<>(ranks, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    // Get "students who took this also took" recommendations
+    @GetMapping("/{id}/recommendations")
+    public ResponseEntity<List<CourseRecommendationDTO>> getRecommendations(@PathVariable Long id,
+                                                                            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<CourseRecommendationDTO> recommendations = courseService.getRecommendations(id, clampLimit(limit));
+            return new ResponseEntity<>(recommendations, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_RANKING_LIMIT));
+    }
+    
+    // Get the course roster
+    @GetMapping("/{id}/roster")
+    public ResponseEntity<List<StudentDTO>> getCourseRoster(@PathVariable Long id) {
+        try {
+            List<StudentDTO> roster = courseService.getCourseRoster(id);
+            return new ResponseEntity<>(roster, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
     // Add result to a student in a course
     @PostMapping("/{courseId}/students/{studentId}/result")
     public ResponseEntity<EnrollmentDTO> addResult(
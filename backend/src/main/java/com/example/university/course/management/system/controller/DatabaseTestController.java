@@ -1,72 +1,88 @@
 package com.example.university.course.management.system.controller;
 
+import com.example.university.course.management.system.service.DatabaseHealthService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import javax.sql.DataSource;
-import java.sql.Connection;
 import java.util.HashMap;
 import java.util.Map;
 
+// Every endpoint here answers from the last background check and never touches the connection pool
 @RestController
 public class DatabaseTestController {
-    
+
     @Autowired
-    private DataSource dataSource;
-    
+    private DatabaseHealthService databaseHealthService;
+
     @Value("${spring.datasource.url:Not Set}")
     private String datasourceUrl;
-    
+
     @Value("${spring.datasource.username:Not Set}")
     private String datasourceUsername;
-    
+
     @GetMapping("/api/database/test")
     public Map<String, Object> testDatabaseConnection() {
         Map<String, Object> result = new HashMap<>();
-        
-        try {
-            Connection connection = dataSource.getConnection();
-            String databaseName = connection.getCatalog();
-            String databaseProductName = connection.getMetaData().getDatabaseProductName();
-            String databaseProductVersion = connection.getMetaData().getDatabaseProductVersion();
-            connection.close();
-            
+        DatabaseHealthService.Result check = databaseHealthService.getResult();
+
+        if (check != null && check.isUp()) {
             result.put("status", "SUCCESS");
             result.put("message", "Database connection successful");
-            result.put("databaseName", databaseName);
-            result.put("databaseProduct", databaseProductName);
-            result.put("databaseVersion", databaseProductVersion);
-            result.put("datasourceUrl", maskPassword(datasourceUrl));
-            result.put("username", datasourceUsername);
-            
-        } catch (Exception e) {
+            result.put("databaseName", check.getDatabaseName());
+            result.put("databaseProduct", check.getDatabaseProduct());
+            result.put("databaseVersion", check.getDatabaseVersion());
+        } else {
             result.put("status", "FAILED");
-            result.put("message", "Database connection failed: " + e.getMessage());
-            result.put("datasourceUrl", maskPassword(datasourceUrl));
-            result.put("username", datasourceUsername);
-            result.put("error", e.getClass().getSimpleName());
+            result.put("message", check != null ? "Database connection failed: " + check.getError() : "Database not checked yet");
+        }
+        if (check != null) {
+            result.put("checkedAt", check.getCheckedAt().toString());
         }
-        
+        result.put("datasourceUrl", maskPassword(datasourceUrl));
+        result.put("username", datasourceUsername);
+
         return result;
     }
-    
+
+    // Same as readiness, kept for existing clients
     @GetMapping("/health")
-    public Map<String, String> health() {
+    public ResponseEntity<Map<String, String>> health() {
+        return readiness();
+    }
+
+    // Restart only if the application itself is stuck; a database outage is not fixed by a restart
+    @GetMapping("/health/liveness")
+    public ResponseEntity<Map<String, String>> liveness() {
         Map<String, String> status = new HashMap<>();
-        try {
-            Connection connection = dataSource.getConnection();
-            connection.close();
-            status.put("status", "UP");
-            status.put("database", "Connected");
-        } catch (Exception e) {
-            status.put("status", "DOWN");
-            status.put("database", "Disconnected: " + e.getMessage());
+        boolean live = databaseHealthService.isLive();
+        status.put("status", live ? "UP" : "DOWN");
+        return new ResponseEntity<>(status, live ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // Send traffic only while the database answered a recent check
+    @GetMapping("/health/readiness")
+    public ResponseEntity<Map<String, String>> readiness() {
+        Map<String, String> status = new HashMap<>();
+        DatabaseHealthService.Result check = databaseHealthService.getResult();
+        boolean ready = databaseHealthService.isReady();
+        status.put("status", ready ? "UP" : "DOWN");
+        if (check == null) {
+            status.put("database", "Not checked yet");
+        } else if (!check.isUp()) {
+            status.put("database", "Disconnected: " + check.getError());
+        } else {
+            status.put("database", ready ? "Connected" : "Last check is stale");
+        }
+        if (check != null) {
+            status.put("checkedAt", check.getCheckedAt().toString());
         }
-        return status;
+        return new ResponseEntity<>(status, ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE);
     }
-    
+
     private String maskPassword(String url) {
         if (url == null) return "Not Set";
         return url.replaceAll("password=[^&]*", "password=***");
@@ -36,6 +36,17 @@ public class EnrollmentController {
         }
     }
 
+    // Drop an enrollment
+    @PutMapping("/{id}/drop")
+    public ResponseEntity<EnrollmentDTO> dropEnrollment(@PathVariable Long id) {
+        try {
+            EnrollmentDTO enrollment = enrollmentService.dropEnrollment(id);
+            return new ResponseEntity<>(enrollment, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     public static class GradeRequest {
         private Double grade;
         public Double getGrade() { return grade; }
@@ -0,0 +1,144 @@
+package com.example.university.course.management.system.controller;
+
+import com.example.university.course.management.system.dto.ReportJobDTO;
+import com.example.university.course.management.system.dto.ReportRequestDTO;
+import com.example.university.course.management.system.service.ReportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class ReportController {
+
+    private static final String TEXT_CSV = "text/csv;charset=UTF-8";
+
+    @Autowired
+    private ReportService reportService;
+
+    // Submit a report job; the same report requested again within its TTL returns the existing job
+    @PostMapping
+    public ResponseEntity<ReportJobDTO> submitReport(@RequestBody ReportRequestDTO request) {
+        try {
+            ReportJobDTO job = reportService.submit(request);
+            return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Get the status of a report job
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJobDTO> getReport(@PathVariable String id) {
+        try {
+            ReportJobDTO job = reportService.getJob(id);
+            return new ResponseEntity<>(job, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    // Download a finished report, whole or as a single byte range
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> downloadReport(@PathVariable String id, HttpServletRequest request,
+                                                   HttpServletResponse response) throws IOException {
+        ReportJobDTO job;
+        Path file;
+        try {
+            job = reportService.getJob(id);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        if (!ReportService.COMPLETED.equals(job.getStatus())) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        try {
+            file = reportService.getReportFile(id);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, TEXT_CSV);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(job.getType().toLowerCase() + "-" + job.getId() + ".csv").build());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        boolean sendfile = Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))
+                && (range == null || range.indexOf(',') < 0);
+        if (!sendfile) {
+            // Spring copies the file and handles ranges, including multiple ones
+            return new ResponseEntity<>(new FileSystemResource(file), headers, HttpStatus.OK);
+        }
+
+        // Hand the file to the connector, which sends it with sendfile without copying it through the JVM
+        long length = Files.size(file);
+        long start = 0;
+        long end = length;
+        HttpStatus status = HttpStatus.OK;
+        if (range != null) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return new ResponseEntity<>(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+            }
+            start = bounds[0];
+            end = bounds[1];
+            status = HttpStatus.PARTIAL_CONTENT;
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+        }
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setStatus(status.value());
+        response.setContentLengthLong(end - start);
+        request.setAttribute("org.apache.tomcat.sendfile.filename", file.toAbsolutePath().toString());
+        request.setAttribute("org.apache.tomcat.sendfile.start", start);
+        request.setAttribute("org.apache.tomcat.sendfile.end", end);
+        return null;
+    }
+
+    // A single "bytes=" range as [start, end), or null when it cannot be satisfied
+    private static long[] parseRange(String range, long length) {
+        if (!range.startsWith("bytes=")) {
+            return null;
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                // Suffix range: the last n bytes
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1 ? length : Math.min(length, Long.parseLong(spec.substring(dash + 1)) + 1);
+            }
+            return start < end && start < length ? new long[] {start, end} : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
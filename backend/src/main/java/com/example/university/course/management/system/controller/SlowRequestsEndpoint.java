@@ -0,0 +1,49 @@
+package com.example.university.course.management.system.controller;
+
+import com.example.university.course.management.system.config.ServerTimingFilter;
+import com.example.university.course.management.system.dto.SlowRequestDTO;
+import com.example.university.course.management.system.service.SlowRequestLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Admin view of /actuator/slowrequests: the slowest recent timed requests, and the switch for request timing.
+// Served only on the loopback management port, since it exposes other users' URIs and flips timing for everyone
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @Autowired
+    private ServerTimingFilter serverTimingFilter;
+
+    @ReadOperation
+    public Map<String, Object> slowRequests() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        List<SlowRequestDTO> requests = slowRequestLog.getSlowest();
+        result.put("timingEnabled", serverTimingFilter.isEnabled());
+        result.put("requests", requests);
+        return result;
+    }
+
+    // Turn request timing on or off without a restart
+    @WriteOperation
+    public Map<String, Object> setTimingEnabled(boolean enabled) {
+        serverTimingFilter.setEnabled(enabled);
+        return slowRequests();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowRequestLog.clear();
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.university.course.management.system.controller;
 
+import com.example.university.course.management.system.dto.AcademicSummaryDTO;
+import com.example.university.course.management.system.dto.ClassmateDTO;
+import com.example.university.course.management.system.dto.CourseDTO;
 import com.example.university.course.management.system.dto.EnrollmentDTO;
 import com.example.university.course.management.system.dto.StudentDTO;
 import com.example.university.course.management.system.service.StudentService;
@@ -29,11 +32,15 @@ public class StudentController {
         }
     }
     
-    // Get all students
+    // Get all students, or only those enrolled in a term
     @GetMapping
-    public ResponseEntity<List<StudentDTO>> getAllStudents() {
-        List<StudentDTO> students = studentService.getAllStudents();
-        return new ResponseEntity<>(students, HttpStatus.OK);
+    public ResponseEntity<List<StudentDTO>> getAllStudents(@RequestParam(required = false) Long termId) {
+        try {
+            List<StudentDTO> students = studentService.getAllStudents(termId);
+            return new ResponseEntity<>(students, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
     }
     
     // Get student by ID
@@ -69,17 +76,66 @@ public class StudentController {
         }
     }
     
-    // Get student enrollments
+    // Get student enrollments, optionally only one term's
     @GetMapping("/{id}/enrollments")
-    public ResponseEntity<List<EnrollmentDTO>> getStudentEnrollments(@PathVariable Long id) {
+    public ResponseEntity<List<EnrollmentDTO>> getStudentEnrollments(@PathVariable Long id,
+                                                                     @RequestParam(required = false) Long termId) {
         try {
-            List<EnrollmentDTO> enrollments = studentService.getStudentEnrollments(id);
+            List<EnrollmentDTO> enrollments = studentService.getStudentEnrollments(id, termId);
             return new ResponseEntity<>(enrollments, HttpStatus.OK);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
     
+    // Get GPA and credit totals
+    @GetMapping("/{id}/academic-summary")
+    public ResponseEntity<AcademicSummaryDTO> getAcademicSummary(@PathVariable Long id) {
+        try {
+            AcademicSummaryDTO summary = studentService.getAcademicSummary(id);
+            return new ResponseEntity<>(summary, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+    
+    // Get courses the student can enroll in given their prerequisites
+    @GetMapping("/{id}/eligible-courses")
+    public ResponseEntity<List<CourseDTO>> getEligibleCourses(@PathVariable Long id) {
+        try {
+            List<CourseDTO> courses = studentService.getEligibleCourses(id);
+            return new ResponseEntity<>(courses, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+    
+    // Get students who share courses with this student
+    @GetMapping("/{id}/classmates")
+    public ResponseEntity<List<ClassmateDTO>> getClassmates(@PathVariable Long id) {
+        try {
+            List<ClassmateDTO> classmates = studentService.getClassmates(id);
+            return new ResponseEntity<>(classmates, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+    
+    // Get courses two students are both enrolled in
+    @GetMapping("/{id}/shared-courses/{otherId}")
+    public ResponseEntity<List<CourseDTO>> getSharedCourses(@PathVariable Long id, @PathVariable Long otherId) {
+        try {
+            List<CourseDTO> courses = studentService.getSharedCourses(id, otherId);
+            return new ResponseEntity<>(courses, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+    
     // Enroll student in a course
     @PostMapping("/{studentId}/enroll/{courseId}")
     public ResponseEntity<EnrollmentDTO> enrollStudentInCourse(@PathVariable Long studentId, @PathVariable Long courseId) {
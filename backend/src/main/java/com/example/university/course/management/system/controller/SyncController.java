@@ -0,0 +1,30 @@
+package com.example.university.course.management.system.controller;
+
+import com.example.university.course.management.system.dto.SyncResponseDTO;
+import com.example.university.course.management.system.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    // Get students, courses and enrollments changed or deleted since the token from the previous sync
+    @GetMapping
+    public ResponseEntity<SyncResponseDTO> getChanges(@RequestParam(required = false) String since) {
+        try {
+            SyncResponseDTO changes = syncService.getChangesSince(since);
+            return new ResponseEntity<>(changes, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+}
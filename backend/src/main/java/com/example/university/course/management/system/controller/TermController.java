@@ -0,0 +1,59 @@
+package com.example.university.course.management.system.controller;
+
+import com.example.university.course.management.system.dto.TermDTO;
+import com.example.university.course.management.system.service.TermService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/terms")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class TermController {
+
+    @Autowired
+    private TermService termService;
+
+    // Create a new term
+    @PostMapping
+    public ResponseEntity<TermDTO> createTerm(@RequestBody TermDTO termDTO) {
+        try {
+            TermDTO createdTerm = termService.createTerm(termDTO);
+            return new ResponseEntity<>(createdTerm, HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Get all terms, latest first
+    @GetMapping
+    public ResponseEntity<List<TermDTO>> getAllTerms() {
+        List<TermDTO> terms = termService.getAllTerms();
+        return new ResponseEntity<>(terms, HttpStatus.OK);
+    }
+
+    // Get the term running today
+    @GetMapping("/current")
+    public ResponseEntity<TermDTO> getCurrentTerm() {
+        try {
+            TermDTO term = termService.getCurrentTerm();
+            return new ResponseEntity<>(term, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    // Get term by ID
+    @GetMapping("/{id}")
+    public ResponseEntity<TermDTO> getTermById(@PathVariable Long id) {
+        try {
+            TermDTO term = termService.getTermById(id);
+            return new ResponseEntity<>(term, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.university.course.management.system.controller;
+
+import com.example.university.course.management.system.dto.TimetableClashDTO;
+import com.example.university.course.management.system.service.TimetableService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/timetable")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class TimetableController {
+
+    @Autowired
+    private TimetableService timetableService;
+
+    // Get every overlapping pair of meetings among current enrollments, optionally in one term
+    @GetMapping("/clashes")
+    public ResponseEntity<List<TimetableClashDTO>> getClashReport(@RequestParam(required = false) Long termId) {
+        try {
+            List<TimetableClashDTO> clashes = timetableService.getClashReport(termId);
+            return new ResponseEntity<>(clashes, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}
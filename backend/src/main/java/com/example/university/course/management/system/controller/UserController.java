@@ -1,12 +1,16 @@
 package com.example.university.course.management.system.controller;
 
 import com.example.university.course.management.system.entity.User;
+import com.example.university.course.management.system.exception.LoginThrottledException;
+import com.example.university.course.management.system.service.PasswordHashingService;
 import com.example.university.course.management.system.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/users")
@@ -14,6 +18,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
         // Registration endpoint should only be used by lecturers to register other lecturers
         @PostMapping("/register")
         public ResponseEntity<?> registerLecturer(@RequestBody Map<String, String> body) {
@@ -70,6 +77,15 @@ public class UserController {
                 } else {
                     return ResponseEntity.status(401).body("Invalid credentials");
                 }
+            } catch (LoginThrottledException e) {
+                return ResponseEntity.status(429)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
+            } catch (RejectedExecutionException e) {
+                // Hashing pool is saturated; shed the request quickly rather than queueing it
+                return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Login service is busy, please retry");
             } catch (Exception e) {
                 e.printStackTrace();
                 return ResponseEntity.status(500).body("Internal server error: " + e.getMessage());
@@ -96,4 +112,10 @@ public class UserController {
                 return ResponseEntity.badRequest().body("Password setup failed: " + e.getMessage());
             }
         }
+
+        // Queue depth and throughput of the password hashing pool
+        @GetMapping("/auth-metrics")
+        public ResponseEntity<Map<String, Object>> authMetrics() {
+            return ResponseEntity.ok(passwordHashingService.getMetrics());
+        }
 }
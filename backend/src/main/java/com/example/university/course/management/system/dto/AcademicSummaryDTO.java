@@ -0,0 +1,83 @@
+package com.example.university.course.management.system.dto;
+
+public class AcademicSummaryDTO {
+
+    private Long studentId;
+    private Double gpa;
+    private Double averageGrade;
+    private Double qualityPoints;
+    private Double weightedGradeSum;
+    private Integer creditsAttempted;
+    private Integer creditsEarned;
+
+    // Constructors
+    public AcademicSummaryDTO() {}
+
+    public AcademicSummaryDTO(Long studentId, Double gpa, Double averageGrade, Double qualityPoints,
+                              Double weightedGradeSum, Integer creditsAttempted, Integer creditsEarned) {
+        this.studentId = studentId;
+        this.gpa = gpa;
+        this.averageGrade = averageGrade;
+        this.qualityPoints = qualityPoints;
+        this.weightedGradeSum = weightedGradeSum;
+        this.creditsAttempted = creditsAttempted;
+        this.creditsEarned = creditsEarned;
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Double getGpa() {
+        return gpa;
+    }
+
+    public void setGpa(Double gpa) {
+        this.gpa = gpa;
+    }
+
+    public Double getAverageGrade() {
+        return averageGrade;
+    }
+
+    public void setAverageGrade(Double averageGrade) {
+        this.averageGrade = averageGrade;
+    }
+
+    public Double getQualityPoints() {
+        return qualityPoints;
+    }
+
+    public void setQualityPoints(Double qualityPoints) {
+        this.qualityPoints = qualityPoints;
+    }
+
+    public Double getWeightedGradeSum() {
+        return weightedGradeSum;
+    }
+
+    public void setWeightedGradeSum(Double weightedGradeSum) {
+        this.weightedGradeSum = weightedGradeSum;
+    }
+
+    public Integer getCreditsAttempted() {
+        return creditsAttempted;
+    }
+
+    public void setCreditsAttempted(Integer creditsAttempted) {
+        this.creditsAttempted = creditsAttempted;
+    }
+
+    public Integer getCreditsEarned() {
+        return creditsEarned;
+    }
+
+    public void setCreditsEarned(Integer creditsEarned) {
+        this.creditsEarned = creditsEarned;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.university.course.management.system.dto;
+
+public class ClassmateDTO {
+
+    private Long studentId;
+    private String studentNumber;
+    private String firstName;
+    private String lastName;
+    private Integer sharedCourses;
+
+    // Constructors
+    public ClassmateDTO() {}
+
+    public ClassmateDTO(Long studentId, String studentNumber, String firstName, String lastName, Integer sharedCourses) {
+        this.studentId = studentId;
+        this.studentNumber = studentNumber;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.sharedCourses = sharedCourses;
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getStudentNumber() {
+        return studentNumber;
+    }
+
+    public void setStudentNumber(String studentNumber) {
+        this.studentNumber = studentNumber;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public Integer getSharedCourses() {
+        return sharedCourses;
+    }
+
+    public void setSharedCourses(Integer sharedCourses) {
+        this.sharedCourses = sharedCourses;
+    }
+}
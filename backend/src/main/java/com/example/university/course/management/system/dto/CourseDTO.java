@@ -11,8 +11,10 @@ public class CourseDTO {
     private Integer credits;
     private String instructor;
     private Integer maxStudents;
+    private List<MeetingSlotDTO> meetingSlots;
     private List<EnrollmentDTO> enrollments;
     private String status = "ACTIVE";
+    private Long termId; // defaults to the current term on create
     
     // Constructors
     public CourseDTO() {}
@@ -85,6 +87,14 @@ public class CourseDTO {
         this.maxStudents = maxStudents;
     }
     
+    public List<MeetingSlotDTO> getMeetingSlots() {
+        return meetingSlots;
+    }
+    
+    public void setMeetingSlots(List<MeetingSlotDTO> meetingSlots) {
+        this.meetingSlots = meetingSlots;
+    }
+    
     public List<EnrollmentDTO> getEnrollments() {
         return enrollments;
     }
@@ -100,6 +110,14 @@ public class CourseDTO {
         this.status = status;
     }
     
+    public Long getTermId() {
+        return termId;
+    }
+    
+    public void setTermId(Long termId) {
+        this.termId = termId;
+    }
+    
     @Override
     public String toString() {
         return "CourseDTO{" +
@@ -111,6 +129,7 @@ public class CourseDTO {
                 ", instructor='" + instructor + '\'' +
                 ", maxStudents=" + maxStudents +
                 ", status='" + status + '\'' +
+                ", termId=" + termId +
                 '}';
     }
 } 
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.example.university.course.management.system.dto;
+
+public class CourseRankDTO {
+
+    private Long courseId;
+    private Long studentId;
+    private String studentName;
+    private Double grade;
+    private Integer rank;
+    private Double percentile;
+    private Integer gradedCount;
+
+    // Constructors
+    public CourseRankDTO() {}
+
+    public CourseRankDTO(Long courseId, Long studentId, Double grade, Integer rank, Double percentile, Integer gradedCount) {
+        this.courseId = courseId;
+        this.studentId = studentId;
+        this.grade = grade;
+        this.rank = rank;
+        this.percentile = percentile;
+        this.gradedCount = gradedCount;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public void setStudentName(String studentName) {
+        this.studentName = studentName;
+    }
+
+    public Double getGrade() {
+        return grade;
+    }
+
+    public void setGrade(Double grade) {
+        this.grade = grade;
+    }
+
+    public Integer getRank() {
+        return rank;
+    }
+
+    public void setRank(Integer rank) {
+        this.rank = rank;
+    }
+
+    public Double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(Double percentile) {
+        this.percentile = percentile;
+    }
+
+    public Integer getGradedCount() {
+        return gradedCount;
+    }
+
+    public void setGradedCount(Integer gradedCount) {
+        this.gradedCount = gradedCount;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.university.course.management.system.dto;
+
+public class CourseRecommendationDTO {
+
+    private Long courseId;
+    private Long recommendedCourseId;
+    private Integer sharedStudents;
+    private Double confidence;
+
+    // Constructors
+    public CourseRecommendationDTO() {}
+
+    public CourseRecommendationDTO(Long courseId, Long recommendedCourseId, Integer sharedStudents, Double confidence) {
+        this.courseId = courseId;
+        this.recommendedCourseId = recommendedCourseId;
+        this.sharedStudents = sharedStudents;
+        this.confidence = confidence;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getRecommendedCourseId() {
+        return recommendedCourseId;
+    }
+
+    public void setRecommendedCourseId(Long recommendedCourseId) {
+        this.recommendedCourseId = recommendedCourseId;
+    }
+
+    public Integer getSharedStudents() {
+        return sharedStudents;
+    }
+
+    public void setSharedStudents(Integer sharedStudents) {
+        this.sharedStudents = sharedStudents;
+    }
+
+    public Double getConfidence() {
+        return confidence;
+    }
+
+    public void setConfidence(Double confidence) {
+        this.confidence = confidence;
+    }
+}
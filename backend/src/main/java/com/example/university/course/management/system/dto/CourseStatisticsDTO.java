@@ -0,0 +1,95 @@
+package com.example.university.course.management.system.dto;
+
+import java.util.Map;
+
+public class CourseStatisticsDTO {
+
+    private Long courseId;
+    private Integer gradedCount;
+    private Double mean;
+    private Double median;
+    private Double standardDeviation;
+    private Double min;
+    private Double max;
+    private Map<String, Integer> letterDistribution;
+
+    // Constructors
+    public CourseStatisticsDTO() {}
+
+    public CourseStatisticsDTO(Long courseId, Integer gradedCount, Double mean, Double median, Double standardDeviation,
+                               Double min, Double max, Map<String, Integer> letterDistribution) {
+        this.courseId = courseId;
+        this.gradedCount = gradedCount;
+        this.mean = mean;
+        this.median = median;
+        this.standardDeviation = standardDeviation;
+        this.min = min;
+        this.max = max;
+        this.letterDistribution = letterDistribution;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Integer getGradedCount() {
+        return gradedCount;
+    }
+
+    public void setGradedCount(Integer gradedCount) {
+        this.gradedCount = gradedCount;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+
+    public Double getMedian() {
+        return median;
+    }
+
+    public void setMedian(Double median) {
+        this.median = median;
+    }
+
+    public Double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public void setStandardDeviation(Double standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public Map<String, Integer> getLetterDistribution() {
+        return letterDistribution;
+    }
+
+    public void setLetterDistribution(Map<String, Integer> letterDistribution) {
+        this.letterDistribution = letterDistribution;
+    }
+}
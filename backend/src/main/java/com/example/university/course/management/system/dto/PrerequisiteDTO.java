@@ -0,0 +1,52 @@
+package com.example.university.course.management.system.dto;
+
+public class PrerequisiteDTO {
+
+    private Long requiredCourseId;
+    private String requiredCourseCode;
+    private Integer groupNumber;
+    private Double minGrade;
+
+    // Constructors
+    public PrerequisiteDTO() {}
+
+    public PrerequisiteDTO(Long requiredCourseId, String requiredCourseCode, Integer groupNumber, Double minGrade) {
+        this.requiredCourseId = requiredCourseId;
+        this.requiredCourseCode = requiredCourseCode;
+        this.groupNumber = groupNumber;
+        this.minGrade = minGrade;
+    }
+
+    // Getters and Setters
+    public Long getRequiredCourseId() {
+        return requiredCourseId;
+    }
+
+    public void setRequiredCourseId(Long requiredCourseId) {
+        this.requiredCourseId = requiredCourseId;
+    }
+
+    public String getRequiredCourseCode() {
+        return requiredCourseCode;
+    }
+
+    public void setRequiredCourseCode(String requiredCourseCode) {
+        this.requiredCourseCode = requiredCourseCode;
+    }
+
+    public Integer getGroupNumber() {
+        return groupNumber;
+    }
+
+    public void setGroupNumber(Integer groupNumber) {
+        this.groupNumber = groupNumber;
+    }
+
+    public Double getMinGrade() {
+        return minGrade;
+    }
+
+    public void setMinGrade(Double minGrade) {
+        this.minGrade = minGrade;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.university.course.management.system.dto;
+
+public class ReportRequestDTO {
+
+    private String type; // ROSTER, GRADE_SHEET, ENROLLMENT_SUMMARY
+    private Long courseId; // required for ROSTER and GRADE_SHEET
+    private Long termId; // optional scope for ENROLLMENT_SUMMARY
+
+    // Constructors
+    public ReportRequestDTO() {}
+
+    public ReportRequestDTO(String type, Long courseId) {
+        this.type = type;
+        this.courseId = courseId;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getTermId() {
+        return termId;
+    }
+
+    public void setTermId(Long termId) {
+        this.termId = termId;
+    }
+}
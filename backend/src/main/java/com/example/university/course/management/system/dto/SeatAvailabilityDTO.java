@@ -0,0 +1,52 @@
+package com.example.university.course.management.system.dto;
+
+public class SeatAvailabilityDTO {
+
+    private Long courseId;
+    private Integer maxStudents;
+    private Long enrolled;
+    private Long available;
+
+    // Constructors
+    public SeatAvailabilityDTO() {}
+
+    public SeatAvailabilityDTO(Long courseId, Integer maxStudents, Long enrolled) {
+        this.courseId = courseId;
+        this.maxStudents = maxStudents;
+        this.enrolled = enrolled;
+        this.available = Math.max(0L, maxStudents - enrolled);
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Integer getMaxStudents() {
+        return maxStudents;
+    }
+
+    public void setMaxStudents(Integer maxStudents) {
+        this.maxStudents = maxStudents;
+    }
+
+    public Long getEnrolled() {
+        return enrolled;
+    }
+
+    public void setEnrolled(Long enrolled) {
+        this.enrolled = enrolled;
+    }
+
+    public Long getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Long available) {
+        this.available = available;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.university.course.management.system.dto;
+
+import java.time.Instant;
+
+public class SlowRequestDTO {
+
+    private Instant startedAt;
+    private String method;
+    private String uri;
+    private Integer status;
+    private Double totalMs;
+    private Double connectionMs;
+    private Double sqlMs;
+    private Integer statements;
+    private Double mappingMs;
+    private Double serializationMs;
+
+    // Constructors
+    public SlowRequestDTO() {}
+
+    public SlowRequestDTO(Instant startedAt, String method, String uri, Integer status, Double totalMs,
+                          Double connectionMs, Double sqlMs, Integer statements, Double mappingMs, Double serializationMs) {
+        this.startedAt = startedAt;
+        this.method = method;
+        this.uri = uri;
+        this.status = status;
+        this.totalMs = totalMs;
+        this.connectionMs = connectionMs;
+        this.sqlMs = sqlMs;
+        this.statements = statements;
+        this.mappingMs = mappingMs;
+        this.serializationMs = serializationMs;
+    }
+
+    // Getters and Setters
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public Double getTotalMs() {
+        return totalMs;
+    }
+
+    public void setTotalMs(Double totalMs) {
+        this.totalMs = totalMs;
+    }
+
+    public Double getConnectionMs() {
+        return connectionMs;
+    }
+
+    public void setConnectionMs(Double connectionMs) {
+        this.connectionMs = connectionMs;
+    }
+
+    public Double getSqlMs() {
+        return sqlMs;
+    }
+
+    public void setSqlMs(Double sqlMs) {
+        this.sqlMs = sqlMs;
+    }
+
+    public Integer getStatements() {
+        return statements;
+    }
+
+    public void setStatements(Integer statements) {
+        this.statements = statements;
+    }
+
+    public Double getMappingMs() {
+        return mappingMs;
+    }
+
+    public void setMappingMs(Double mappingMs) {
+        this.mappingMs = mappingMs;
+    }
+
+    public Double getSerializationMs() {
+        return serializationMs;
+    }
+
+    public void setSerializationMs(Double serializationMs) {
+        this.serializationMs = serializationMs;
+    }
+}
@@ -11,6 +11,9 @@ public class StudentDTO {
     private String phoneNumber;
     private String studentId;
     private List<EnrollmentDTO> enrollments;
+    private Double gpa;
+    private Integer creditsAttempted;
+    private Integer creditsEarned;
     
     // Constructors
     public StudentDTO() {}
@@ -81,6 +84,30 @@ public class StudentDTO {
         this.enrollments = enrollments;
     }
     
+    public Double getGpa() {
+        return gpa;
+    }
+    
+    public void setGpa(Double gpa) {
+        this.gpa = gpa;
+    }
+    
+    public Integer getCreditsAttempted() {
+        return creditsAttempted;
+    }
+    
+    public void setCreditsAttempted(Integer creditsAttempted) {
+        this.creditsAttempted = creditsAttempted;
+    }
+    
+    public Integer getCreditsEarned() {
+        return creditsEarned;
+    }
+    
+    public void setCreditsEarned(Integer creditsEarned) {
+        this.creditsEarned = creditsEarned;
+    }
+    
     @Override
     public String toString() {
         return "StudentDTO{" +
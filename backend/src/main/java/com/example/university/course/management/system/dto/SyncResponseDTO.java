@@ -0,0 +1,83 @@
+package com.example.university.course.management.system.dto;
+
+import java.util.List;
+
+public class SyncResponseDTO {
+
+    private String token;
+    private boolean fullResync;
+    private List<StudentDTO> students;
+    private List<CourseDTO> courses;
+    private List<EnrollmentDTO> enrollments;
+    private List<Long> deletedStudentIds;
+    private List<Long> deletedCourseIds;
+    private List<Long> deletedEnrollmentIds;
+
+    // Constructors
+    public SyncResponseDTO() {}
+
+    // Getters and Setters
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public boolean isFullResync() {
+        return fullResync;
+    }
+
+    public void setFullResync(boolean fullResync) {
+        this.fullResync = fullResync;
+    }
+
+    public List<StudentDTO> getStudents() {
+        return students;
+    }
+
+    public void setStudents(List<StudentDTO> students) {
+        this.students = students;
+    }
+
+    public List<CourseDTO> getCourses() {
+        return courses;
+    }
+
+    public void setCourses(List<CourseDTO> courses) {
+        this.courses = courses;
+    }
+
+    public List<EnrollmentDTO> getEnrollments() {
+        return enrollments;
+    }
+
+    public void setEnrollments(List<EnrollmentDTO> enrollments) {
+        this.enrollments = enrollments;
+    }
+
+    public List<Long> getDeletedStudentIds() {
+        return deletedStudentIds;
+    }
+
+    public void setDeletedStudentIds(List<Long> deletedStudentIds) {
+        this.deletedStudentIds = deletedStudentIds;
+    }
+
+    public List<Long> getDeletedCourseIds() {
+        return deletedCourseIds;
+    }
+
+    public void setDeletedCourseIds(List<Long> deletedCourseIds) {
+        this.deletedCourseIds = deletedCourseIds;
+    }
+
+    public List<Long> getDeletedEnrollmentIds() {
+        return deletedEnrollmentIds;
+    }
+
+    public void setDeletedEnrollmentIds(List<Long> deletedEnrollmentIds) {
+        this.deletedEnrollmentIds = deletedEnrollmentIds;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.university.course.management.system.dto;
+
+import java.time.LocalDate;
+
+public class TermDTO {
+
+    private Long id;
+    private String code;
+    private String name;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private boolean current;
+
+    // Constructors
+    public TermDTO() {}
+
+    public TermDTO(Long id, String code, String name, LocalDate startDate, LocalDate endDate, boolean current) {
+        this.id = id;
+        this.code = code;
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.current = current;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public boolean isCurrent() {
+        return current;
+    }
+
+    public void setCurrent(boolean current) {
+        this.current = current;
+    }
+}
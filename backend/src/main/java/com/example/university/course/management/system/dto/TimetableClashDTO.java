@@ -0,0 +1,85 @@
+package com.example.university.course.management.system.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+public class TimetableClashDTO {
+
+    private Long studentId;
+    private Long termId;
+    private Long courseId;
+    private Long otherCourseId;
+    private DayOfWeek dayOfWeek;
+    private LocalTime overlapStart;
+    private LocalTime overlapEnd;
+
+    // Constructors
+    public TimetableClashDTO() {}
+
+    public TimetableClashDTO(Long studentId, Long courseId, Long otherCourseId, DayOfWeek dayOfWeek,
+                             LocalTime overlapStart, LocalTime overlapEnd) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.otherCourseId = otherCourseId;
+        this.dayOfWeek = dayOfWeek;
+        this.overlapStart = overlapStart;
+        this.overlapEnd = overlapEnd;
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getTermId() {
+        return termId;
+    }
+
+    public void setTermId(Long termId) {
+        this.termId = termId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getOtherCourseId() {
+        return otherCourseId;
+    }
+
+    public void setOtherCourseId(Long otherCourseId) {
+        this.otherCourseId = otherCourseId;
+    }
+
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(DayOfWeek dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    public LocalTime getOverlapStart() {
+        return overlapStart;
+    }
+
+    public void setOverlapStart(LocalTime overlapStart) {
+        this.overlapStart = overlapStart;
+    }
+
+    public LocalTime getOverlapEnd() {
+        return overlapEnd;
+    }
+
+    public void setOverlapEnd(LocalTime overlapEnd) {
+        this.overlapEnd = overlapEnd;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.university.course.management.system.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A deleted student whose enrollments live on in archive segments; those rows stay hidden for good
+@Entity
+@Table(name = "archive_deleted_students")
+public class ArchivedStudentDeletion {
+
+    @Id
+    private Long studentId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Constructors
+    public ArchivedStudentDeletion() {}
+
+    public ArchivedStudentDeletion(Long studentId) {
+        this.studentId = studentId;
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
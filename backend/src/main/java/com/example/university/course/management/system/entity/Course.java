@@ -1,11 +1,15 @@
 package com.example.university.course.management.system.entity;
 
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = {
+    @Index(name = "idx_courses_updated_at", columnList = "updated_at"),
+    @Index(name = "idx_courses_term_code", columnList = "term_id, course_code")
+})
 public class Course {
     
     @Id
@@ -33,6 +37,18 @@ public class Course {
     @Column(nullable = false)
     private String status = "ACTIVE";
     
+    // The term this offering runs in; null for courses created before terms existed or while none was running
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "term_id")
+    private Term term;
+    
+    // Last change, for delta sync; set on every insert and update
+    private LocalDateTime updatedAt;
+    
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "course_meeting_slots", joinColumns = @JoinColumn(name = "course_id"))
+    private List<MeetingSlot> meetingSlots = new ArrayList<>();
+    
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Enrollment> enrollments = new ArrayList<>();
     
@@ -113,6 +129,14 @@ public class Course {
         this.status = status;
     }
     
+    public List<MeetingSlot> getMeetingSlots() {
+        return meetingSlots;
+    }
+    
+    public void setMeetingSlots(List<MeetingSlot> meetingSlots) {
+        this.meetingSlots = meetingSlots;
+    }
+    
     public List<Enrollment> getEnrollments() {
         return enrollments;
     }
@@ -121,6 +145,28 @@ public class Course {
         this.enrollments = enrollments;
     }
     
+    public Term getTerm() {
+        return term;
+    }
+    
+    public void setTerm(Term term) {
+        this.term = term;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+    
     @Override
     public String toString() {
         return "Course{" +
@@ -0,0 +1,92 @@
+package com.example.university.course.management.system.entity;
+
+import jakarta.persistence.*;
+
+// One required course for a course. Rows sharing a group number are alternatives (OR); groups are all required (AND).
+@Entity
+@Table(name = "course_prerequisites", indexes = {
+    @Index(name = "idx_prerequisite_course", columnList = "course_id"),
+    @Index(name = "idx_prerequisite_required_course", columnList = "required_course_id")
+})
+public class CoursePrerequisite {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "required_course_id", nullable = false)
+    private Course requiredCourse;
+
+    @Column(nullable = false)
+    private Integer groupNumber = 0;
+
+    // Minimum grade in the required course; null means any passing grade
+    private Double minGrade;
+
+    // Constructors
+    public CoursePrerequisite() {}
+
+    public CoursePrerequisite(Course course, Course requiredCourse, Integer groupNumber, Double minGrade) {
+        this.course = course;
+        this.requiredCourse = requiredCourse;
+        this.groupNumber = groupNumber;
+        this.minGrade = minGrade;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Course getCourse() {
+        return course;
+    }
+
+    public void setCourse(Course course) {
+        this.course = course;
+    }
+
+    public Course getRequiredCourse() {
+        return requiredCourse;
+    }
+
+    public void setRequiredCourse(Course requiredCourse) {
+        this.requiredCourse = requiredCourse;
+    }
+
+    public Integer getGroupNumber() {
+        return groupNumber;
+    }
+
+    public void setGroupNumber(Integer groupNumber) {
+        this.groupNumber = groupNumber;
+    }
+
+    public Double getMinGrade() {
+        return minGrade;
+    }
+
+    public void setMinGrade(Double minGrade) {
+        this.minGrade = minGrade;
+    }
+
+    @Override
+    public String toString() {
+        return "CoursePrerequisite{" +
+                "id=" + id +
+                ", course=" + (course != null ? course.getId() : null) +
+                ", requiredCourse=" + (requiredCourse != null ? requiredCourse.getId() : null) +
+                ", groupNumber=" + groupNumber +
+                ", minGrade=" + minGrade +
+                '}';
+    }
+}
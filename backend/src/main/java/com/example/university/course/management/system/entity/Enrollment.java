@@ -4,21 +4,39 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "enrollments")
+@Table(name = "enrollments", indexes = {
+    @Index(name = "idx_enrollments_updated_at", columnList = "updated_at"),
+    // Stand in for the indexes the dropped foreign keys used to create: the duplicate check on every
+    // enroll, a student's rows and a course's rows. Unique with term_id so it stays a valid unique
+    // key once the table is partitioned by term
+    @Index(name = "uk_enrollments_student_course_term", columnList = "student_id, course_id, term_id", unique = true),
+    @Index(name = "idx_enrollments_course", columnList = "course_id"),
+    // Term-scoped reads: a student's term, a course's roster within its term
+    @Index(name = "idx_enrollments_term_student", columnList = "term_id, student_id"),
+    @Index(name = "idx_enrollments_term_course_status", columnList = "term_id, course_id, status"),
+    // Lets the archiving job find old completed rows, and lock only those, without a table scan
+    @Index(name = "idx_enrollments_status_date", columnList = "status, enrollment_date")
+})
 public class Enrollment {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // No database foreign keys on this table: MySQL cannot partition a table that has them
+    // (see mysql/partition-enrollments.sql). Student deletes cascade through JPA instead
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "student_id", nullable = false)
+    @JoinColumn(name = "student_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Student student;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "course_id", nullable = false)
+    @JoinColumn(name = "course_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Course course;
     
+    // Copied from the course, so term-scoped queries and partition pruning need no join
+    @Column(name = "term_id")
+    private Long termId;
+    
     @Column(nullable = false)
     private LocalDateTime enrollmentDate;
     
@@ -31,6 +49,9 @@ public class Enrollment {
     
     private String comments;
     
+    // Last change, for delta sync; set on every insert and update
+    private LocalDateTime updatedAt;
+    
     // Constructors
     public Enrollment() {
         this.enrollmentDate = LocalDateTime.now();
@@ -41,6 +62,7 @@ public class Enrollment {
         this();
         this.student = student;
         this.course = course;
+        this.termId = course != null && course.getTerm() != null ? course.getTerm().getId() : null;
     }
     
     // Getters and Setters
@@ -68,6 +90,14 @@ public class Enrollment {
         this.course = course;
     }
     
+    public Long getTermId() {
+        return termId;
+    }
+    
+    public void setTermId(Long termId) {
+        this.termId = termId;
+    }
+    
     public LocalDateTime getEnrollmentDate() {
         return enrollmentDate;
     }
@@ -108,6 +138,20 @@ public class Enrollment {
         this.comments = comments;
     }
     
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+    
     @Override
     public String toString() {
         return "Enrollment{" +
@@ -0,0 +1,178 @@
+package com.example.university.course.management.system.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Read model of an enrollment with its student and course fields copied in, so enrollment lists
+// are single-table index scans; kept in step by EnrollmentViewService and rebuildable from enrollments
+@Entity
+@Table(name = "enrollment_view", indexes = {
+    @Index(name = "idx_enrollment_view_student", columnList = "student_id, id"),
+    @Index(name = "idx_enrollment_view_course", columnList = "course_id, id"),
+    @Index(name = "idx_enrollment_view_term_student", columnList = "term_id, student_id, id")
+})
+public class EnrollmentView {
+
+    // Same id as the enrollment
+    @Id
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(nullable = false)
+    private String studentName;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(nullable = false)
+    private String courseCode;
+
+    @Column(nullable = false)
+    private String courseName;
+
+    @Column(nullable = false)
+    private Integer credits;
+
+    @Column(name = "term_id")
+    private Long termId;
+
+    @Column(nullable = false)
+    private LocalDateTime enrollmentDate;
+
+    @Column(nullable = false)
+    private String status;
+
+    private Double grade;
+
+    private String gradeLetter;
+
+    private String comments;
+
+    // Constructors
+    public EnrollmentView() {}
+
+    public EnrollmentView(Long id, Long studentId, String studentName, Long courseId, String courseCode,
+                          String courseName, Integer credits, Long termId, LocalDateTime enrollmentDate,
+                          String status, Double grade, String gradeLetter, String comments) {
+        this.id = id;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.courseId = courseId;
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.credits = credits;
+        this.termId = termId;
+        this.enrollmentDate = enrollmentDate;
+        this.status = status;
+        this.grade = grade;
+        this.gradeLetter = gradeLetter;
+        this.comments = comments;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public void setStudentName(String studentName) {
+        this.studentName = studentName;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public void setCourseName(String courseName) {
+        this.courseName = courseName;
+    }
+
+    public Integer getCredits() {
+        return credits;
+    }
+
+    public void setCredits(Integer credits) {
+        this.credits = credits;
+    }
+
+    public Long getTermId() {
+        return termId;
+    }
+
+    public void setTermId(Long termId) {
+        this.termId = termId;
+    }
+
+    public LocalDateTime getEnrollmentDate() {
+        return enrollmentDate;
+    }
+
+    public void setEnrollmentDate(LocalDateTime enrollmentDate) {
+        this.enrollmentDate = enrollmentDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Double getGrade() {
+        return grade;
+    }
+
+    public void setGrade(Double grade) {
+        this.grade = grade;
+    }
+
+    public String getGradeLetter() {
+        return gradeLetter;
+    }
+
+    public void setGradeLetter(String gradeLetter) {
+        this.gradeLetter = gradeLetter;
+    }
+
+    public String getComments() {
+        return comments;
+    }
+
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+}
@@ -1,11 +1,12 @@
 package com.example.university.course.management.system.entity;
 
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = @Index(name = "idx_students_updated_at", columnList = "updated_at"))
 public class Student {
     
     @Id
@@ -24,9 +25,12 @@ public class Student {
     @Column(nullable = false)
     private String phoneNumber;
     
-    @Column(nullable = false)
+    @Column(unique = true, nullable = false)
     private String studentId;
     
+    // Last change, for delta sync; set on every insert and update
+    private LocalDateTime updatedAt;
+    
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Enrollment> enrollments = new ArrayList<>();
     
@@ -98,6 +102,20 @@ public class Student {
         this.enrollments = enrollments;
     }
     
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+    
     @Override
     public String toString() {
         return "Student{" +
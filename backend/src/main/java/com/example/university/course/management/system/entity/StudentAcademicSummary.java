@@ -0,0 +1,93 @@
+package com.example.university.course.management.system.entity;
+
+import jakarta.persistence.*;
+
+// Running GPA and credit totals for one student, maintained alongside every grade change
+@Entity
+@Table(name = "student_academic_summaries")
+public class StudentAcademicSummary {
+
+    @Id
+    private Long studentId;
+
+    // Sum of grade x credits over graded enrollments
+    @Column(nullable = false)
+    private Double weightedGradeSum = 0.0;
+
+    // Sum of grade points (4.0 scale) x credits over graded enrollments
+    @Column(nullable = false)
+    private Double qualityPoints = 0.0;
+
+    @Column(nullable = false)
+    private Integer creditsAttempted = 0;
+
+    @Column(nullable = false)
+    private Integer creditsEarned = 0;
+
+    // Constructors
+    public StudentAcademicSummary() {}
+
+    public StudentAcademicSummary(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Double getWeightedGradeSum() {
+        return weightedGradeSum;
+    }
+
+    public void setWeightedGradeSum(Double weightedGradeSum) {
+        this.weightedGradeSum = weightedGradeSum;
+    }
+
+    public Double getQualityPoints() {
+        return qualityPoints;
+    }
+
+    public void setQualityPoints(Double qualityPoints) {
+        this.qualityPoints = qualityPoints;
+    }
+
+    public Integer getCreditsAttempted() {
+        return creditsAttempted;
+    }
+
+    public void setCreditsAttempted(Integer creditsAttempted) {
+        this.creditsAttempted = creditsAttempted;
+    }
+
+    public Integer getCreditsEarned() {
+        return creditsEarned;
+    }
+
+    public void setCreditsEarned(Integer creditsEarned) {
+        this.creditsEarned = creditsEarned;
+    }
+
+    public Double getGpa() {
+        return creditsAttempted > 0 ? qualityPoints / creditsAttempted : null;
+    }
+
+    public Double getAverageGrade() {
+        return creditsAttempted > 0 ? weightedGradeSum / creditsAttempted : null;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentAcademicSummary{" +
+                "studentId=" + studentId +
+                ", weightedGradeSum=" + weightedGradeSum +
+                ", qualityPoints=" + qualityPoints +
+                ", creditsAttempted=" + creditsAttempted +
+                ", creditsEarned=" + creditsEarned +
+                '}';
+    }
+}
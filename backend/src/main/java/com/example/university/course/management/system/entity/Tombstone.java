@@ -0,0 +1,65 @@
+package com.example.university.course.management.system.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Records a deleted student, course or enrollment so syncing clients can drop their copy
+@Entity
+@Table(name = "tombstones", indexes = @Index(name = "idx_tombstones_deleted_at", columnList = "deleted_at"))
+public class Tombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 16)
+    private String entityType; // STUDENT, COURSE, ENROLLMENT
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Constructors
+    public Tombstone() {}
+
+    public Tombstone(String entityType, Long entityId) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.university.course.management.system.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 @Entity
@@ -7,7 +8,9 @@ public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    @Column(unique = true)
     private String email;
+    @JsonIgnore
     private String password;
     private String role; // "student" or "lecturer"
     private boolean firstLogin = true; // Track if this is the first login
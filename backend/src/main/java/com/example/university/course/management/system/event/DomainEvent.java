@@ -0,0 +1,122 @@
+package com.example.university.course.management.system.event;
+
+import java.util.List;
+
+// A change to a student, course or enrollment, serialized to the outbox as JSON. Unused fields stay null.
+public class DomainEvent {
+
+    private Long eventId;
+    private DomainEventType type;
+    private Long studentId;
+    private Long courseId;
+    private Double grade;
+    private String email;
+    private String studentNumber;
+    private List<Long> courseIds;
+
+    // Constructors
+    public DomainEvent() {}
+
+    public DomainEvent(DomainEventType type, Long studentId, Long courseId) {
+        this.type = type;
+        this.studentId = studentId;
+        this.courseId = courseId;
+    }
+
+    public static DomainEvent studentChanged(DomainEventType type, Long studentId, String email, String studentNumber) {
+        DomainEvent event = new DomainEvent(type, studentId, null);
+        event.setEmail(email);
+        event.setStudentNumber(studentNumber);
+        return event;
+    }
+
+    public static DomainEvent studentDeleted(Long studentId, List<Long> courseIds) {
+        DomainEvent event = new DomainEvent(DomainEventType.STUDENT_DELETED, studentId, null);
+        event.setCourseIds(courseIds);
+        return event;
+    }
+
+    public static DomainEvent courseChanged(DomainEventType type, Long courseId) {
+        return new DomainEvent(type, null, courseId);
+    }
+
+    public static DomainEvent graded(Long studentId, Long courseId, Double grade) {
+        DomainEvent event = new DomainEvent(DomainEventType.GRADED, studentId, courseId);
+        event.setGrade(grade);
+        return event;
+    }
+
+    // Events about a student or their enrollments are ordered per student; course events per course
+    public String aggregateType() {
+        return studentId != null ? "STUDENT" : "COURSE";
+    }
+
+    public Long aggregateId() {
+        return studentId != null ? studentId : courseId;
+    }
+
+    // Getters and Setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public DomainEventType getType() {
+        return type;
+    }
+
+    public void setType(DomainEventType type) {
+        this.type = type;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Double getGrade() {
+        return grade;
+    }
+
+    public void setGrade(Double grade) {
+        this.grade = grade;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getStudentNumber() {
+        return studentNumber;
+    }
+
+    public void setStudentNumber(String studentNumber) {
+        this.studentNumber = studentNumber;
+    }
+
+    public List<Long> getCourseIds() {
+        return courseIds;
+    }
+
+    public void setCourseIds(List<Long> courseIds) {
+        this.courseIds = courseIds;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.university.course.management.system.event;
+
+import java.util.List;
+
+/**
+ * Receives committed domain events from the outbox, oldest first. Delivery is at-least-once: a
+ * batch that fails (for any listener) is delivered again, so handlers must be idempotent.
+ */
+public interface DomainEventListener {
+
+    void onEvents(List<DomainEvent> events);
+}
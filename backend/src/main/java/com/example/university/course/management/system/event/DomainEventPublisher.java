@@ -0,0 +1,38 @@
+package com.example.university.course.management.system.event;
+
+import com.example.university.course.management.system.entity.OutboxEvent;
+import com.example.university.course.management.system.repository.OutboxEventRepository;
+import com.example.university.course.management.system.util.AfterCommit;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class DomainEventPublisher {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    // Must run inside the transaction making the change, so the event commits or rolls back with it
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize " + event.getType() + " event", e);
+        }
+        outboxEventRepository.save(new OutboxEvent(event.aggregateType(), event.aggregateId(), event.getType().name(), payload));
+        // Deliver soon after commit rather than waiting for the next poll
+        AfterCommit.run(outboxDispatcher::wakeUp);
+    }
+}
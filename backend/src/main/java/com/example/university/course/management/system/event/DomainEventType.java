@@ -0,0 +1,13 @@
+package com.example.university.course.management.system.event;
+
+public enum DomainEventType {
+    STUDENT_CREATED,
+    STUDENT_UPDATED,
+    STUDENT_DELETED,
+    COURSE_CREATED,
+    COURSE_UPDATED,
+    COURSE_DELETED,
+    ENROLLED,
+    DROPPED,
+    GRADED
+}
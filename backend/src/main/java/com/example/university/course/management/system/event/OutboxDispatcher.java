@@ -0,0 +1,212 @@
+package com.example.university.course.management.system.event;
+
+import com.example.university.course.management.system.entity.OutboxEvent;
+import com.example.university.course.management.system.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.example.university.course.management.system.jfr.BulkOperationEvent;
+import com.example.university.course.management.system.jfr.Recorded;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers outbox events to every {@link DomainEventListener} on a single background thread.
+ *
+ * Events go out in id order, a batch at a time, and are marked processed only after all listeners
+ * accept them. If a batch fails it is retried one event at a time; once an event fails, later
+ * events of the same aggregate wait for the next round so each aggregate stays in order. An event
+ * that keeps failing past the attempt limit is marked processed with its error and logged.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Lazy so listeners may themselves depend on services that publish events
+    @Lazy
+    @Autowired
+    private List<DomainEventListener> listeners;
+
+    @Value("${outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.retention-hours:24}")
+    private long retentionHours;
+
+    private ScheduledExecutorService executor;
+    private final AtomicBoolean wakeUpQueued = new AtomicBoolean();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::dispatchSafely, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    // Ask for a dispatch as soon as possible; repeated calls before it runs collapse into one
+    public void wakeUp() {
+        if (wakeUpQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeUpQueued.set(false);
+                dispatchSafely();
+            });
+        }
+    }
+
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getPending() {
+        return outboxEventRepository.countPending();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:3600000}")
+    @Recorded(value = BulkOperationEvent.class, operation = "outboxCleanup")
+    public void deleteProcessed() {
+        int deleted = outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minusHours(retentionHours));
+        BulkOperationEvent.setCurrentRows(deleted);
+        if (deleted > 0) {
+            log.debug("Deleted {} processed outbox events", deleted);
+        }
+    }
+
+    private void dispatchSafely() {
+        try {
+            // Keep going while full batches come back so a backlog drains without waiting for the next poll
+            while (dispatchBatch() == batchSize) {
+                // next batch
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox dispatch failed", e);
+        }
+    }
+
+    private int dispatchBatch() {
+        List<OutboxEvent> rows = outboxEventRepository.findPending(PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<DomainEvent> events = new ArrayList<>(rows.size());
+        List<OutboxEvent> readable = new ArrayList<>(rows.size());
+        List<OutboxEvent> unreadable = new ArrayList<>();
+        for (OutboxEvent row : rows) {
+            try {
+                DomainEvent event = objectMapper.readValue(row.getPayload(), DomainEvent.class);
+                event.setEventId(row.getId());
+                events.add(event);
+                readable.add(row);
+            } catch (JsonProcessingException e) {
+                // Retrying cannot fix a payload, so park it with its error instead of blocking the queue
+                log.error("Skipping unreadable outbox event {}", row.getId(), e);
+                outboxEventRepository.recordFailure(List.of(row.getId()), truncate(e.toString()));
+                unreadable.add(row);
+            }
+        }
+        markProcessed(unreadable);
+        int fetched = rows.size();
+        rows = readable;
+        try {
+            deliver(events);
+            markProcessed(rows);
+            return fetched;
+        } catch (RuntimeException batchFailure) {
+            log.warn("Outbox batch of {} failed, retrying event by event", rows.size(), batchFailure);
+        }
+
+        // Isolate the failing events; an aggregate stops at its first failure to keep its order
+        Set<String> blocked = new HashSet<>();
+        List<OutboxEvent> done = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            OutboxEvent row = rows.get(i);
+            String aggregate = row.getAggregateType() + ":" + row.getAggregateId();
+            if (blocked.contains(aggregate)) {
+                continue;
+            }
+            try {
+                deliver(List.of(events.get(i)));
+                done.add(row);
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                if (row.getAttempts() + 1 >= maxAttempts) {
+                    log.error("Giving up on outbox event {} ({}) after {} attempts", row.getId(), row.getEventType(), maxAttempts, e);
+                    outboxEventRepository.recordFailure(List.of(row.getId()), truncate(e.toString()));
+                    done.add(row);
+                } else {
+                    outboxEventRepository.recordFailure(List.of(row.getId()), truncate(e.toString()));
+                    blocked.add(aggregate);
+                }
+            }
+        }
+        markProcessed(done);
+        // Report a short batch so a persistently failing event does not spin the loop
+        return done.size() == rows.size() ? fetched : 0;
+    }
+
+    private void deliver(List<DomainEvent> events) {
+        for (DomainEventListener listener : listeners) {
+            listener.onEvents(events);
+        }
+    }
+
+    private void markProcessed(List<OutboxEvent> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (OutboxEvent row : rows) {
+            ids.add(row.getId());
+        }
+        outboxEventRepository.markProcessed(ids, LocalDateTime.now());
+        delivered.addAndGet(ids.size());
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
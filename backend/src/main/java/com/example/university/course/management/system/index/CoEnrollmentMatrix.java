@@ -0,0 +1,258 @@
+package com.example.university.course.management.system.index;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Sparse course x course matrix of how many students took both courses, one primitive
+ * int -> int row per course, plus each student's course set. Keeping the sets makes every update
+ * idempotent (enrolling a student in a course they already have is a no-op), so the same change
+ * can safely be replayed onto a freshly rebuilt matrix.
+ *
+ * Each row caches its top-k neighbours; a change to the row drops the cache and the next read
+ * recomputes it with a k-sized heap.
+ */
+public class CoEnrollmentMatrix {
+
+    // Students per fork/join leaf during a rebuild
+    private static final int PARTITION_SIZE = 2048;
+
+    private final int topK;
+    private final ConcurrentHashMap<Long, int[]> coursesByStudent;
+    private final ConcurrentHashMap<Integer, Row> rows;
+
+    public CoEnrollmentMatrix(int topK) {
+        this(topK, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    private CoEnrollmentMatrix(int topK, ConcurrentHashMap<Long, int[]> coursesByStudent, ConcurrentHashMap<Integer, Row> rows) {
+        this.topK = topK;
+        this.coursesByStudent = coursesByStudent;
+        this.rows = rows;
+    }
+
+    // Build from each student's courses, counting pairs per partition of students in parallel
+    public static CoEnrollmentMatrix build(int topK, long[] studentIds, int[][] coursesPerStudent, ForkJoinPool pool) {
+        Map<Integer, IntIntHashMap> counts = pool.invoke(new PairCountTask(coursesPerStudent, 0, studentIds.length));
+        ConcurrentHashMap<Integer, Row> rows = new ConcurrentHashMap<>(Math.max(16, counts.size() * 2));
+        counts.forEach((courseId, row) -> rows.put(courseId, new Row(row)));
+
+        ConcurrentHashMap<Long, int[]> coursesByStudent = new ConcurrentHashMap<>(Math.max(16, studentIds.length * 2));
+        for (int i = 0; i < studentIds.length; i++) {
+            coursesByStudent.put(studentIds[i], coursesPerStudent[i]);
+            for (int courseId : coursesPerStudent[i]) {
+                rows.computeIfAbsent(courseId, id -> new Row(new IntIntHashMap())).students++;
+            }
+        }
+        return new CoEnrollmentMatrix(topK, coursesByStudent, rows);
+    }
+
+    public void enroll(long studentId, int courseId) {
+        coursesByStudent.compute(studentId, (id, courses) -> {
+            int[] current = courses != null ? courses : new int[0];
+            for (int existing : current) {
+                if (existing == courseId) {
+                    return current;
+                }
+            }
+            Row row = row(courseId);
+            for (int other : current) {
+                Row otherRow = row(other);
+                synchronized (otherRow) {
+                    otherRow.add(courseId, 1);
+                }
+            }
+            synchronized (row) {
+                for (int other : current) {
+                    row.add(other, 1);
+                }
+                row.students++;
+            }
+            int[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = courseId;
+            return updated;
+        });
+    }
+
+    public void unenroll(long studentId, int courseId) {
+        coursesByStudent.computeIfPresent(studentId, (id, courses) -> {
+            int position = -1;
+            for (int i = 0; i < courses.length; i++) {
+                if (courses[i] == courseId) {
+                    position = i;
+                }
+            }
+            if (position < 0) {
+                return courses;
+            }
+            int[] remaining = new int[courses.length - 1];
+            System.arraycopy(courses, 0, remaining, 0, position);
+            System.arraycopy(courses, position + 1, remaining, position, remaining.length - position);
+            Row row = row(courseId);
+            for (int other : remaining) {
+                Row otherRow = row(other);
+                synchronized (otherRow) {
+                    otherRow.add(courseId, -1);
+                }
+            }
+            synchronized (row) {
+                for (int other : remaining) {
+                    row.add(other, -1);
+                }
+                row.students--;
+            }
+            return remaining.length == 0 ? null : remaining;
+        });
+    }
+
+    public void removeStudent(long studentId) {
+        int[] courses = coursesByStudent.get(studentId);
+        if (courses != null) {
+            for (int courseId : courses) {
+                unenroll(studentId, courseId);
+            }
+        }
+    }
+
+    // Students enrolled in the course, used to turn shared counts into a confidence
+    public int studentsIn(int courseId) {
+        Row row = rows.get(courseId);
+        if (row == null) {
+            return 0;
+        }
+        synchronized (row) {
+            return row.students;
+        }
+    }
+
+    // Most co-enrolled courses first, at most min(limit, topK) of them
+    public List<Neighbour> neighbours(int courseId, int limit) {
+        Row row = rows.get(courseId);
+        if (row == null) {
+            return Collections.emptyList();
+        }
+        Neighbour[] top = row.top;
+        if (top == null) {
+            synchronized (row) {
+                top = row.top;
+                if (top == null) {
+                    top = row.top = row.computeTop(topK);
+                }
+            }
+        }
+        return Arrays.asList(top).subList(0, Math.min(limit, top.length));
+    }
+
+    private Row row(int courseId) {
+        return rows.computeIfAbsent(courseId, id -> new Row(new IntIntHashMap()));
+    }
+
+    private static final class Row {
+        private final IntIntHashMap counts;
+        private int students;
+        private volatile Neighbour[] top;
+
+        Row(IntIntHashMap counts) {
+            this.counts = counts;
+        }
+
+        void add(int otherCourseId, int delta) {
+            counts.addTo(otherCourseId, delta);
+            top = null;
+        }
+
+        Neighbour[] computeTop(int k) {
+            // Min-heap of the best k seen so far; ties go to the lower course id for stable output
+            PriorityQueue<Neighbour> heap = new PriorityQueue<>(k + 1, (a, b) -> a.sharedStudents != b.sharedStudents
+                    ? Integer.compare(a.sharedStudents, b.sharedStudents)
+                    : Integer.compare(b.courseId, a.courseId));
+            counts.forEach((otherCourseId, shared) -> {
+                heap.add(new Neighbour(otherCourseId, shared));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            });
+            Neighbour[] result = new Neighbour[heap.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                result[i] = heap.poll();
+            }
+            return result;
+        }
+    }
+
+    // Counts co-enrolled pairs for a range of students, splitting until the range is small enough
+    private static final class PairCountTask extends RecursiveTask<Map<Integer, IntIntHashMap>> {
+        private final int[][] coursesPerStudent;
+        private final int from;
+        private final int to;
+
+        PairCountTask(int[][] coursesPerStudent, int from, int to) {
+            this.coursesPerStudent = coursesPerStudent;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Integer, IntIntHashMap> compute() {
+            if (to - from <= PARTITION_SIZE) {
+                Map<Integer, IntIntHashMap> counts = new HashMap<>();
+                for (int s = from; s < to; s++) {
+                    int[] courses = coursesPerStudent[s];
+                    for (int i = 0; i < courses.length; i++) {
+                        IntIntHashMap row = counts.computeIfAbsent(courses[i], id -> new IntIntHashMap());
+                        for (int j = 0; j < courses.length; j++) {
+                            if (i != j) {
+                                row.addTo(courses[j], 1);
+                            }
+                        }
+                    }
+                }
+                return counts;
+            }
+            int middle = (from + to) >>> 1;
+            PairCountTask left = new PairCountTask(coursesPerStudent, from, middle);
+            left.fork();
+            Map<Integer, IntIntHashMap> right = new PairCountTask(coursesPerStudent, middle, to).compute();
+            return merge(left.join(), right);
+        }
+
+        private static Map<Integer, IntIntHashMap> merge(Map<Integer, IntIntHashMap> a, Map<Integer, IntIntHashMap> b) {
+            Map<Integer, IntIntHashMap> into = a.size() >= b.size() ? a : b;
+            Map<Integer, IntIntHashMap> from = into == a ? b : a;
+            from.forEach((courseId, row) -> {
+                IntIntHashMap target = into.get(courseId);
+                if (target == null) {
+                    into.put(courseId, row);
+                } else {
+                    row.forEach(target::addTo);
+                }
+            });
+            return into;
+        }
+    }
+
+    public static final class Neighbour {
+        private final int courseId;
+        private final int sharedStudents;
+
+        Neighbour(int courseId, int sharedStudents) {
+            this.courseId = courseId;
+            this.sharedStudents = sharedStudents;
+        }
+
+        public int getCourseId() {
+            return courseId;
+        }
+
+        public int getSharedStudents() {
+            return sharedStudents;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.university.course.management.system.index;
+
+import com.example.university.course.management.system.util.GradeScale;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Grades of one course held in primitive arrays: the current grade per student, a 1-point
+ * histogram over 0..100, a letter histogram and running sums for mean and variance. All reads
+ * are bounded by the histogram width and the size of a single bucket, not by the roster size.
+ *
+ * A Fenwick tree over the same buckets, plus the students in each bucket, answers rank,
+ * percentile and top/bottom-k in O(log buckets) plus a scan of a single bucket. Minimum, median
+ * and maximum are the exact grades, found the same way: the bucket by rank, then the grade within it.
+ */
+public class CourseGradeBook {
+
+    public static final int BUCKETS = (int) GradeScale.MAX_GRADE + 1;
+
+    private final LongDoubleHashMap gradesByStudent = new LongDoubleHashMap();
+    private final int[] histogram = new int[BUCKETS];
+    private final int[] letterCounts = new int[GradeScale.LETTERS.length];
+    private final FenwickTree bucketCounts = new FenwickTree(BUCKETS);
+    private final long[][] bucketMembers = new long[BUCKETS][];
+    private int count;
+    private double sum;
+    private double sumOfSquares;
+
+    // While a rebuild loads this book, removals leave a NaN marker so older database rows cannot resurrect them
+    private boolean loading;
+
+    public CourseGradeBook(boolean loading) {
+        this.loading = loading;
+    }
+
+    // Idempotent: applying the same grade twice leaves the book unchanged
+    public synchronized void setGrade(long studentId, Double grade) {
+        double previous = gradesByStudent.get(studentId);
+        if (!Double.isNaN(previous)) {
+            remove(studentId, previous);
+        }
+        if (grade == null || grade.isNaN()) {
+            if (loading) {
+                gradesByStudent.put(studentId, Double.NaN);
+            } else {
+                gradesByStudent.remove(studentId);
+            }
+            return;
+        }
+        gradesByStudent.put(studentId, grade);
+        add(studentId, grade);
+    }
+
+    // Bulk-load path: values written by live updates during the load take precedence
+    public synchronized void load(long studentId, double grade) {
+        if (!gradesByStudent.containsKey(studentId)) {
+            gradesByStudent.put(studentId, grade);
+            add(studentId, grade);
+        }
+    }
+
+    public synchronized void finishLoading() {
+        loading = false;
+        LongDoubleHashMap removed = new LongDoubleHashMap();
+        gradesByStudent.forEach((studentId, grade) -> {
+            if (Double.isNaN(grade)) {
+                removed.put(studentId, grade);
+            }
+        });
+        removed.forEach((studentId, grade) -> gradesByStudent.remove(studentId));
+    }
+
+    public synchronized Double getGrade(long studentId) {
+        double grade = gradesByStudent.get(studentId);
+        return Double.isNaN(grade) ? null : grade;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized Snapshot snapshot() {
+        if (count == 0) {
+            return new Snapshot(0, 0, 0, null, null, null, histogram.clone(), letterCounts.clone());
+        }
+        // Averaging the two middle grades for even counts
+        double median = (gradeAtRank((count - 1) / 2) + gradeAtRank(count / 2)) / 2;
+        return new Snapshot(count, sum, sumOfSquares, gradeAtRank(0), median, gradeAtRank(count - 1),
+                histogram.clone(), letterCounts.clone());
+    }
+
+    // Rank 1 is the highest grade; tied students share a rank. Null when the student has no grade.
+    public synchronized RankEntry rankOf(long studentId) {
+        double grade = gradesByStudent.get(studentId);
+        if (Double.isNaN(grade)) {
+            return null;
+        }
+        int bucket = bucketOf(grade);
+        int above = count - bucketCounts.prefixSum(bucket);
+        int below = bucket > 0 ? bucketCounts.prefixSum(bucket - 1) : 0;
+        int equal = 0;
+        long[] members = bucketMembers[bucket];
+        for (int i = 0; i < histogram[bucket]; i++) {
+            double other = gradesByStudent.get(members[i]);
+            if (other > grade) {
+                above++;
+            } else if (other < grade) {
+                below++;
+            } else {
+                equal++;
+            }
+        }
+        return new RankEntry(studentId, grade, above + 1, percentile(below, equal));
+    }
+
+    // Highest grades first
+    public synchronized List<RankEntry> top(int limit) {
+        List<RankEntry> result = new ArrayList<>(Math.min(limit, count));
+        int seen = 0;
+        while (seen < count && result.size() < limit) {
+            // Next non-empty bucket from the top, found by rank instead of scanning empty buckets
+            RankEntry[] entries = bucketEntries(bucketCounts.findByRank(count - seen - 1));
+            Arrays.sort(entries, (a, b) -> Double.compare(b.getGrade(), a.getGrade()));
+            addRanked(result, entries, seen, limit, true);
+            seen += entries.length;
+        }
+        return result;
+    }
+
+    // Lowest grades first
+    public synchronized List<RankEntry> bottom(int limit) {
+        List<RankEntry> result = new ArrayList<>(Math.min(limit, count));
+        int seen = 0;
+        while (seen < count && result.size() < limit) {
+            RankEntry[] entries = bucketEntries(bucketCounts.findByRank(seen));
+            Arrays.sort(entries, (a, b) -> Double.compare(a.getGrade(), b.getGrade()));
+            addRanked(result, entries, seen, limit, false);
+            seen += entries.length;
+        }
+        return result;
+    }
+
+    // Append a sorted bucket, giving tied grades the same rank; seen is how many students came before it
+    private void addRanked(List<RankEntry> result, RankEntry[] entries, int seen, int limit, boolean descending) {
+        int groupStart = 0;
+        while (groupStart < entries.length && result.size() < limit) {
+            int groupEnd = groupStart + 1;
+            while (groupEnd < entries.length && entries[groupEnd].getGrade() == entries[groupStart].getGrade()) {
+                groupEnd++;
+            }
+            int equal = groupEnd - groupStart;
+            int above = descending ? seen + groupStart : count - seen - groupStart - equal;
+            int below = count - above - equal;
+            for (int i = groupStart; i < groupEnd && result.size() < limit; i++) {
+                result.add(new RankEntry(entries[i].getStudentId(), entries[i].getGrade(), above + 1, percentile(below, equal)));
+            }
+            groupStart = groupEnd;
+        }
+    }
+
+    private RankEntry[] bucketEntries(int bucket) {
+        RankEntry[] entries = new RankEntry[histogram[bucket]];
+        long[] members = bucketMembers[bucket];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new RankEntry(members[i], gradesByStudent.get(members[i]), 0, 0);
+        }
+        return entries;
+    }
+
+    // The grade with rank grades below it, 0 being the lowest; sorts only the bucket that holds it
+    private double gradeAtRank(int rank) {
+        int bucket = bucketCounts.findByRank(rank);
+        int below = bucket > 0 ? bucketCounts.prefixSum(bucket - 1) : 0;
+        long[] members = bucketMembers[bucket];
+        double[] grades = new double[histogram[bucket]];
+        for (int i = 0; i < grades.length; i++) {
+            grades[i] = gradesByStudent.get(members[i]);
+        }
+        Arrays.sort(grades);
+        return grades[rank - below];
+    }
+
+    // Percentile rank: share of students below, counting ties as half
+    private double percentile(int below, int equal) {
+        return count == 0 ? 0.0 : (below + 0.5 * equal) * 100.0 / count;
+    }
+
+    private void add(long studentId, double grade) {
+        int bucket = bucketOf(grade);
+        long[] members = bucketMembers[bucket];
+        if (members == null) {
+            members = bucketMembers[bucket] = new long[4];
+        } else if (histogram[bucket] == members.length) {
+            members = bucketMembers[bucket] = Arrays.copyOf(members, members.length * 2);
+        }
+        members[histogram[bucket]] = studentId;
+        bucketCounts.add(bucket, 1);
+        add(grade);
+    }
+
+    private void remove(long studentId, double grade) {
+        int bucket = bucketOf(grade);
+        long[] members = bucketMembers[bucket];
+        int last = histogram[bucket] - 1;
+        for (int i = 0; i <= last; i++) {
+            if (members[i] == studentId) {
+                members[i] = members[last];
+                break;
+            }
+        }
+        bucketCounts.add(bucket, -1);
+        remove(grade);
+    }
+
+    private void add(double grade) {
+        histogram[bucketOf(grade)]++;
+        letterCounts[GradeScale.letterIndex(grade)]++;
+        count++;
+        sum += grade;
+        sumOfSquares += grade * grade;
+    }
+
+    private void remove(double grade) {
+        histogram[bucketOf(grade)]--;
+        letterCounts[GradeScale.letterIndex(grade)]--;
+        count--;
+        sum -= grade;
+        sumOfSquares -= grade * grade;
+    }
+
+    public static int bucketOf(double grade) {
+        return (int) Math.max(0, Math.min(BUCKETS - 1, Math.floor(grade)));
+    }
+
+    public static final class RankEntry {
+        private final long studentId;
+        private final double grade;
+        private final int rank;
+        private final double percentile;
+
+        RankEntry(long studentId, double grade, int rank, double percentile) {
+            this.studentId = studentId;
+            this.grade = grade;
+            this.rank = rank;
+            this.percentile = percentile;
+        }
+
+        public long getStudentId() {
+            return studentId;
+        }
+
+        public double getGrade() {
+            return grade;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+    }
+
+    // Immutable copy of the aggregates, taken under the book's lock
+    public static final class Snapshot {
+        private final int count;
+        private final double sum;
+        private final double sumOfSquares;
+        private final Double min;
+        private final Double median;
+        private final Double max;
+        private final int[] histogram;
+        private final int[] letterCounts;
+
+        Snapshot(int count, double sum, double sumOfSquares, Double min, Double median, Double max,
+                 int[] histogram, int[] letterCounts) {
+            this.count = count;
+            this.sum = sum;
+            this.sumOfSquares = sumOfSquares;
+            this.min = min;
+            this.median = median;
+            this.max = max;
+            this.histogram = histogram;
+            this.letterCounts = letterCounts;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public Double getMean() {
+            return count == 0 ? null : sum / count;
+        }
+
+        public Double getStandardDeviation() {
+            if (count == 0) {
+                return null;
+            }
+            double mean = sum / count;
+            return Math.sqrt(Math.max(0.0, sumOfSquares / count - mean * mean));
+        }
+
+        public Double getMedian() {
+            return median;
+        }
+
+        public Double getMin() {
+            return min;
+        }
+
+        public Double getMax() {
+            return max;
+        }
+
+        public int[] getLetterCounts() {
+            return letterCounts.clone();
+        }
+
+        public int[] getHistogram() {
+            return histogram.clone();
+        }
+    }
+}
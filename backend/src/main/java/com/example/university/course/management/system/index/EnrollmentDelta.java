@@ -0,0 +1,84 @@
+package com.example.university.course.management.system.index;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enroll/drop changes not yet compacted into an {@link EnrollmentGraph}, indexed from both sides.
+ * Each entry records whether the pair is now present or absent, so applying the same change twice
+ * has no further effect. Writers must be serialized by the caller; readers may run concurrently.
+ */
+public class EnrollmentDelta {
+
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, Boolean>> byStudent = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, Boolean>> byCourse = new ConcurrentHashMap<>();
+    private volatile int size;
+
+    public void put(long studentId, long courseId, boolean present) {
+        if (byStudent.computeIfAbsent(studentId, id -> new ConcurrentHashMap<>()).put(courseId, present) == null) {
+            size++;
+        }
+        byCourse.computeIfAbsent(courseId, id -> new ConcurrentHashMap<>()).put(studentId, present);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Map<Long, Boolean> forStudent(long studentId) {
+        return byStudent.get(studentId);
+    }
+
+    public Map<Long, Boolean> forCourse(long courseId) {
+        return byCourse.get(courseId);
+    }
+
+    public void forEach(EnrollmentGraph.Edge added, EnrollmentGraph.Edge removed) {
+        byStudent.forEach((studentId, courses) -> courses.forEach((courseId, present) -> {
+            if (present) {
+                added.accept(studentId, courseId);
+            } else {
+                removed.accept(studentId, courseId);
+            }
+        }));
+    }
+
+    // Apply an older and a newer set of changes to a sorted row of ids; returns the row itself when neither touches it
+    public static long[] apply(long[] sorted, Map<Long, Boolean> older, Map<Long, Boolean> newer) {
+        if ((older == null || older.isEmpty()) && (newer == null || newer.isEmpty())) {
+            return sorted;
+        }
+        TreeMap<Long, Boolean> changes = new TreeMap<>();
+        if (older != null) {
+            changes.putAll(older);
+        }
+        if (newer != null) {
+            changes.putAll(newer);
+        }
+        long[] result = new long[sorted.length + changes.size()];
+        int size = 0;
+        int i = 0;
+        for (Map.Entry<Long, Boolean> change : changes.entrySet()) {
+            long id = change.getKey();
+            while (i < sorted.length && sorted[i] < id) {
+                result[size++] = sorted[i++];
+            }
+            if (i < sorted.length && sorted[i] == id) {
+                i++;
+            }
+            if (change.getValue()) {
+                result[size++] = id;
+            }
+        }
+        while (i < sorted.length) {
+            result[size++] = sorted[i++];
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
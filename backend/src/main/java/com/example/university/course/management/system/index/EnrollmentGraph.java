@@ -0,0 +1,157 @@
+package com.example.university.course.management.system.index;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable student <-> course adjacency in compressed sparse row form. Students and courses are
+ * renumbered densely (position in a sorted id array); each side keeps an offsets array and one
+ * flat int array of neighbours, sorted within each row. A lookup is a binary search for the dense
+ * index followed by a contiguous slice.
+ */
+public class EnrollmentGraph {
+
+    private static final long[] NONE = new long[0];
+
+    private final long[] studentIds;
+    private final long[] courseIds;
+    private final int[] studentOffsets;
+    private final int[] studentCourses;
+    private final int[] courseOffsets;
+    private final int[] courseStudents;
+
+    private EnrollmentGraph(long[] studentIds, long[] courseIds, int[] studentOffsets, int[] studentCourses,
+                            int[] courseOffsets, int[] courseStudents) {
+        this.studentIds = studentIds;
+        this.courseIds = courseIds;
+        this.studentOffsets = studentOffsets;
+        this.studentCourses = studentCourses;
+        this.courseOffsets = courseOffsets;
+        this.courseStudents = courseStudents;
+    }
+
+    // Build from parallel arrays of (student, course) pairs; only the first size entries are used
+    public static EnrollmentGraph build(long[] pairStudents, long[] pairCourses, int size) {
+        long[] students = distinctSorted(pairStudents, size);
+        long[] courses = distinctSorted(pairCourses, size);
+        int[] studentOf = new int[size];
+        int[] courseOf = new int[size];
+        int[] studentOffsets = new int[students.length + 1];
+        int[] courseOffsets = new int[courses.length + 1];
+        for (int i = 0; i < size; i++) {
+            studentOf[i] = Arrays.binarySearch(students, pairStudents[i]);
+            courseOf[i] = Arrays.binarySearch(courses, pairCourses[i]);
+            studentOffsets[studentOf[i] + 1]++;
+            courseOffsets[courseOf[i] + 1]++;
+        }
+        for (int i = 0; i < students.length; i++) {
+            studentOffsets[i + 1] += studentOffsets[i];
+        }
+        for (int i = 0; i < courses.length; i++) {
+            courseOffsets[i + 1] += courseOffsets[i];
+        }
+        int[] studentCourses = new int[size];
+        int[] courseStudents = new int[size];
+        int[] studentFill = Arrays.copyOf(studentOffsets, students.length);
+        int[] courseFill = Arrays.copyOf(courseOffsets, courses.length);
+        for (int i = 0; i < size; i++) {
+            studentCourses[studentFill[studentOf[i]]++] = courseOf[i];
+            courseStudents[courseFill[courseOf[i]]++] = studentOf[i];
+        }
+        for (int i = 0; i < students.length; i++) {
+            Arrays.sort(studentCourses, studentOffsets[i], studentOffsets[i + 1]);
+        }
+        for (int i = 0; i < courses.length; i++) {
+            Arrays.sort(courseStudents, courseOffsets[i], courseOffsets[i + 1]);
+        }
+        return new EnrollmentGraph(students, courses, studentOffsets, studentCourses, courseOffsets, courseStudents);
+    }
+
+    public static EnrollmentGraph empty() {
+        return build(NONE, NONE, 0);
+    }
+
+    public int edgeCount() {
+        return studentCourses.length;
+    }
+
+    // Course ids of the student, ascending
+    public long[] coursesOf(long studentId) {
+        int student = Arrays.binarySearch(studentIds, studentId);
+        if (student < 0) {
+            return NONE;
+        }
+        return slice(studentCourses, studentOffsets[student], studentOffsets[student + 1], courseIds);
+    }
+
+    // Student ids enrolled in the course, ascending
+    public long[] studentsIn(long courseId) {
+        int course = Arrays.binarySearch(courseIds, courseId);
+        if (course < 0) {
+            return NONE;
+        }
+        return slice(courseStudents, courseOffsets[course], courseOffsets[course + 1], studentIds);
+    }
+
+    public boolean contains(long studentId, long courseId) {
+        int student = Arrays.binarySearch(studentIds, studentId);
+        int course = Arrays.binarySearch(courseIds, courseId);
+        return student >= 0 && course >= 0
+                && Arrays.binarySearch(studentCourses, studentOffsets[student], studentOffsets[student + 1], course) >= 0;
+    }
+
+    // A new graph with the changes folded in: absent pairs dropped, present ones added unless already here
+    public EnrollmentGraph withChanges(EnrollmentDelta changes) {
+        long[] pairStudents = new long[edgeCount() + changes.size()];
+        long[] pairCourses = new long[edgeCount() + changes.size()];
+        int[] size = {0};
+        forEachEdge((studentId, courseId) -> {
+            Map<Long, Boolean> studentChanges = changes.forStudent(studentId);
+            if (studentChanges == null || studentChanges.getOrDefault(courseId, Boolean.TRUE)) {
+                pairStudents[size[0]] = studentId;
+                pairCourses[size[0]++] = courseId;
+            }
+        });
+        changes.forEach((studentId, courseId) -> {
+            if (!contains(studentId, courseId)) {
+                pairStudents[size[0]] = studentId;
+                pairCourses[size[0]++] = courseId;
+            }
+        }, (studentId, courseId) -> { });
+        return build(pairStudents, pairCourses, size[0]);
+    }
+
+    public void forEachEdge(Edge consumer) {
+        for (int student = 0; student < studentIds.length; student++) {
+            for (int i = studentOffsets[student]; i < studentOffsets[student + 1]; i++) {
+                consumer.accept(studentIds[student], courseIds[studentCourses[i]]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Edge {
+        void accept(long studentId, long courseId);
+    }
+
+    private static long[] slice(int[] adjacency, int from, int to, long[] ids) {
+        long[] result = new long[to - from];
+        for (int i = from; i < to; i++) {
+            // Dense indexes follow id order, so a sorted row maps to sorted ids
+            result[i - from] = ids[adjacency[i]];
+        }
+        return result;
+    }
+
+    private static long[] distinctSorted(long[] values, int size) {
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+}
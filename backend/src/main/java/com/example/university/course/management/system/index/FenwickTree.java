@@ -0,0 +1,46 @@
+package com.example.university.course.management.system.index;
+
+// Binary indexed tree over int counts: point update, prefix sum and rank search in O(log n). Not thread-safe.
+public class FenwickTree {
+
+    private final int[] tree;
+    private final int size;
+
+    public FenwickTree(int size) {
+        this.size = size;
+        this.tree = new int[size + 1];
+    }
+
+    public void add(int index, int delta) {
+        for (int i = index + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Sum of counts at positions 0..index inclusive
+    public int prefixSum(int index) {
+        int sum = 0;
+        for (int i = Math.min(index, size - 1) + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    public int total() {
+        return prefixSum(size - 1);
+    }
+
+    // Smallest position whose prefix sum exceeds rank (0-based), or size when rank >= total
+    public int findByRank(int rank) {
+        int position = 0;
+        int remaining = rank;
+        for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= size && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+}
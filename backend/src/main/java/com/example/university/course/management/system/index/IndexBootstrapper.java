@@ -0,0 +1,43 @@
+package com.example.university.course.management.system.index;
+
+import com.example.university.course.management.system.config.ReportingRouting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class IndexBootstrapper {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexBootstrapper.class);
+
+    @Autowired
+    private List<RebuildableIndex> indexes;
+
+    // Build every in-memory index once the application is up; until then each index falls back to the database
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        for (RebuildableIndex index : indexes) {
+            rebuild(index);
+        }
+    }
+
+    public void rebuild(RebuildableIndex index) {
+        long start = System.nanoTime();
+        try {
+            // Rebuilds read whole tables, so they use the reporting pool and its longer statement limit
+            ReportingRouting.run(index::rebuild);
+            log.info("Rebuilt index {} in {} ms", index.getName(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild index {}", index.getName(), e);
+        }
+    }
+
+    public List<RebuildableIndex> getIndexes() {
+        return indexes;
+    }
+}
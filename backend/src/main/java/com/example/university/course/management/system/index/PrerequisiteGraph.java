@@ -0,0 +1,192 @@
+package com.example.university.course.management.system.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable, compiled form of all prerequisite rules.
+ *
+ * Every course that appears as a requirement gets a bit position, and every distinct minimum
+ * grade gets a level. A student's history becomes one bitset per level ("courses passed with
+ * at least this grade"). A rule group (OR) is then a mask per level, and a course is open to
+ * the student when every group has a non-zero AND against the matching level.
+ */
+public class PrerequisiteGraph {
+
+    private static final PrerequisiteGraph EMPTY = new PrerequisiteGraph(
+        Collections.emptyMap(), new double[0], 0, Collections.emptyMap(), Collections.emptyMap());
+
+    private final Map<Long, Integer> bitByCourse;
+    private final double[] thresholds;
+    private final int words;
+    private final Map<Long, Group[]> groupsByCourse;
+    private final Map<Long, long[]> requiredByCourse;
+
+    private PrerequisiteGraph(Map<Long, Integer> bitByCourse, double[] thresholds, int words,
+                              Map<Long, Group[]> groupsByCourse, Map<Long, long[]> requiredByCourse) {
+        this.bitByCourse = bitByCourse;
+        this.thresholds = thresholds;
+        this.words = words;
+        this.groupsByCourse = groupsByCourse;
+        this.requiredByCourse = requiredByCourse;
+    }
+
+    public static PrerequisiteGraph empty() {
+        return EMPTY;
+    }
+
+    public static PrerequisiteGraph compile(Collection<Edge> edges) {
+        if (edges.isEmpty()) {
+            return EMPTY;
+        }
+        Map<Long, Integer> bitByCourse = new HashMap<>();
+        TreeSet<Double> distinctThresholds = new TreeSet<>();
+        for (Edge edge : edges) {
+            bitByCourse.putIfAbsent(edge.requiredCourseId, bitByCourse.size());
+            distinctThresholds.add(edge.minGrade);
+        }
+        double[] thresholds = distinctThresholds.stream().mapToDouble(Double::doubleValue).toArray();
+        int words = (bitByCourse.size() + 63) >>> 6;
+
+        // course -> group number -> level -> mask
+        Map<Long, TreeMap<Integer, Map<Integer, long[]>>> rules = new HashMap<>();
+        Map<Long, Set<Long>> required = new HashMap<>();
+        for (Edge edge : edges) {
+            int level = Arrays.binarySearch(thresholds, edge.minGrade);
+            long[] mask = rules
+                .computeIfAbsent(edge.courseId, id -> new TreeMap<>())
+                .computeIfAbsent(edge.groupNumber, g -> new HashMap<>())
+                .computeIfAbsent(level, l -> new long[words]);
+            int bit = bitByCourse.get(edge.requiredCourseId);
+            mask[bit >>> 6] |= 1L << bit;
+            required.computeIfAbsent(edge.courseId, id -> new HashSet<>()).add(edge.requiredCourseId);
+        }
+
+        Map<Long, Group[]> groupsByCourse = new HashMap<>();
+        rules.forEach((courseId, groups) -> {
+            List<Group> compiled = new ArrayList<>(groups.size());
+            for (Map<Integer, long[]> byLevel : groups.values()) {
+                int[] levels = new int[byLevel.size()];
+                long[][] masks = new long[byLevel.size()][];
+                int i = 0;
+                for (Map.Entry<Integer, long[]> entry : byLevel.entrySet()) {
+                    levels[i] = entry.getKey();
+                    masks[i] = entry.getValue();
+                    i++;
+                }
+                compiled.add(new Group(levels, masks));
+            }
+            groupsByCourse.put(courseId, compiled.toArray(new Group[0]));
+        });
+        Map<Long, long[]> requiredByCourse = new HashMap<>();
+        required.forEach((courseId, ids) -> requiredByCourse.put(courseId, ids.stream().mapToLong(Long::longValue).toArray()));
+        return new PrerequisiteGraph(bitByCourse, thresholds, words, groupsByCourse, requiredByCourse);
+    }
+
+    public boolean hasPrerequisites(long courseId) {
+        return groupsByCourse.containsKey(courseId);
+    }
+
+    public Set<Long> getCoursesWithPrerequisites() {
+        return groupsByCourse.keySet();
+    }
+
+    // Turn (course, best grade) pairs into one bitset per threshold level
+    public long[][] completionBits(Map<Long, Double> bestGrades) {
+        long[][] bits = new long[thresholds.length][words];
+        bestGrades.forEach((courseId, grade) -> {
+            Integer bit = bitByCourse.get(courseId);
+            if (bit == null || grade == null) {
+                return;
+            }
+            for (int level = 0; level < thresholds.length && thresholds[level] <= grade; level++) {
+                bits[level][bit >>> 6] |= 1L << bit;
+            }
+        });
+        return bits;
+    }
+
+    public boolean isSatisfied(long courseId, long[][] completion) {
+        Group[] groups = groupsByCourse.get(courseId);
+        if (groups == null) {
+            return true;
+        }
+        for (Group group : groups) {
+            if (!group.isSatisfied(completion)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // True if making courseId require the given courses would close a cycle in the current graph
+    public boolean wouldCreateCycle(long courseId, Collection<Long> newRequirements) {
+        Deque<Long> pending = new ArrayDeque<>(newRequirements);
+        Set<Long> visited = new HashSet<>();
+        while (!pending.isEmpty()) {
+            long current = pending.pop();
+            if (current == courseId) {
+                return true;
+            }
+            if (!visited.add(current)) {
+                continue;
+            }
+            long[] next = requiredByCourse.get(current);
+            if (next != null) {
+                for (long required : next) {
+                    pending.push(required);
+                }
+            }
+        }
+        return false;
+    }
+
+    // One alternative set: satisfied if any course in any level's mask is set in that level's bitset
+    private static final class Group {
+        private final int[] levels;
+        private final long[][] masks;
+
+        Group(int[] levels, long[][] masks) {
+            this.levels = levels;
+            this.masks = masks;
+        }
+
+        boolean isSatisfied(long[][] completion) {
+            for (int i = 0; i < levels.length; i++) {
+                long[] mask = masks[i];
+                long[] bits = completion[levels[i]];
+                for (int w = 0; w < mask.length; w++) {
+                    if ((mask[w] & bits[w]) != 0) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    public static final class Edge {
+        private final long courseId;
+        private final long requiredCourseId;
+        private final int groupNumber;
+        private final double minGrade;
+
+        public Edge(long courseId, long requiredCourseId, int groupNumber, double minGrade) {
+            this.courseId = courseId;
+            this.requiredCourseId = requiredCourseId;
+            this.groupNumber = groupNumber;
+            this.minGrade = minGrade;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.university.course.management.system.index;
+
+// An in-memory structure derived from the database that is rebuilt at startup and kept current on writes
+public interface RebuildableIndex {
+
+    String getName();
+
+    void rebuild();
+
+    boolean isReady();
+}
@@ -0,0 +1,161 @@
+package com.example.university.course.management.system.index;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One student's weekly meetings as half-open [start, end) intervals in minutes since Monday 00:00,
+ * sorted by start. Alongside the sorted starts it keeps the running maximum end, which makes it a
+ * flattened interval tree: a clash lookup is a binary search plus a walk back over only the
+ * intervals that can still reach the query, never a comparison against every enrolled course.
+ */
+public class Timetable {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final long[] courseIds;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] maxEndUpTo;
+
+    private Timetable(long[] courseIds, int[] starts, int[] ends) {
+        this.courseIds = courseIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEndUpTo = new int[starts.length];
+        int maxEnd = Integer.MIN_VALUE;
+        for (int i = 0; i < ends.length; i++) {
+            maxEnd = Math.max(maxEnd, ends[i]);
+            maxEndUpTo[i] = maxEnd;
+        }
+    }
+
+    public static int minuteOfWeek(DayOfWeek day, LocalTime time) {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute();
+    }
+
+    public static DayOfWeek dayOf(int minuteOfWeek) {
+        return DayOfWeek.of(minuteOfWeek / MINUTES_PER_DAY + 1);
+    }
+
+    public static LocalTime timeOf(int minuteOfWeek) {
+        int minuteOfDay = minuteOfWeek % MINUTES_PER_DAY;
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    // First meeting overlapping [start, end), or null when the slot is free
+    public Clash findClash(long courseId, int start, int end) {
+        // Last interval starting before the query ends; nothing after it can overlap
+        int i = upperBound(end) - 1;
+        for (; i >= 0 && maxEndUpTo[i] > start; i--) {
+            if (ends[i] > start) {
+                return new Clash(courseId, courseIds[i], Math.max(start, starts[i]), Math.min(end, ends[i]));
+            }
+        }
+        return null;
+    }
+
+    // Every overlapping pair of meetings from different courses, by a single sweep over the sorted starts
+    public List<Clash> findAllClashes() {
+        List<Clash> clashes = new ArrayList<>();
+        for (int i = 0; i < starts.length; i++) {
+            for (int j = i + 1; j < starts.length && starts[j] < ends[i]; j++) {
+                if (courseIds[i] != courseIds[j]) {
+                    clashes.add(new Clash(courseIds[i], courseIds[j], starts[j], Math.min(ends[i], ends[j])));
+                }
+            }
+        }
+        return clashes;
+    }
+
+    // Number of intervals whose start is before the given minute
+    private int upperBound(int minute) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public static final class Builder {
+        private long[] courseIds = new long[8];
+        private int[] starts = new int[8];
+        private int[] ends = new int[8];
+        private int size;
+
+        public Builder add(long courseId, DayOfWeek day, LocalTime start, LocalTime end) {
+            if (size == starts.length) {
+                courseIds = Arrays.copyOf(courseIds, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            courseIds[size] = courseId;
+            starts[size] = minuteOfWeek(day, start);
+            ends[size] = minuteOfWeek(day, end);
+            size++;
+            return this;
+        }
+
+        public Timetable build() {
+            // Sort positions by start; the position rides in the low bits so equal starts stay distinct
+            long[] order = new long[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = ((long) starts[i] << 32) | i;
+            }
+            Arrays.sort(order);
+            long[] sortedCourseIds = new long[size];
+            int[] sortedStarts = new int[size];
+            int[] sortedEnds = new int[size];
+            for (int i = 0; i < size; i++) {
+                int from = (int) order[i];
+                sortedCourseIds[i] = courseIds[from];
+                sortedStarts[i] = starts[from];
+                sortedEnds[i] = ends[from];
+            }
+            return new Timetable(sortedCourseIds, sortedStarts, sortedEnds);
+        }
+    }
+
+    public static final class Clash {
+        private final long courseId;
+        private final long otherCourseId;
+        private final int overlapStart;
+        private final int overlapEnd;
+
+        Clash(long courseId, long otherCourseId, int overlapStart, int overlapEnd) {
+            this.courseId = courseId;
+            this.otherCourseId = otherCourseId;
+            this.overlapStart = overlapStart;
+            this.overlapEnd = overlapEnd;
+        }
+
+        public long getCourseId() {
+            return courseId;
+        }
+
+        public long getOtherCourseId() {
+            return otherCourseId;
+        }
+
+        public int getOverlapStart() {
+            return overlapStart;
+        }
+
+        public int getOverlapEnd() {
+            return overlapEnd;
+        }
+    }
+}
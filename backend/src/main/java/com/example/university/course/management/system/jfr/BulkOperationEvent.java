@@ -0,0 +1,38 @@
+package com.example.university.course.management.system.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.Map;
+
+// Rows come from the recorded method's return value when it returns a count, otherwise from setCurrentRows
+@Name("university.BulkOperation")
+@Label("Bulk Operation")
+public class BulkOperationEvent extends OperationEvent {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    long rows;
+
+    // Sets the row count on the bulk operation being recorded on this thread, if any
+    public static void setCurrentRows(long rows) {
+        BulkOperationEvent event = current(BulkOperationEvent.class);
+        if (event != null) {
+            event.rows = rows;
+        }
+    }
+
+    @Override
+    protected void started(String operation, Map<String, Object> arguments) {
+        this.operation = operation;
+    }
+
+    @Override
+    protected void returned(Object result) {
+        if (result instanceof Number count) {
+            rows = count.longValue();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.university.course.management.system.jfr;
+
+import com.example.university.course.management.system.dto.EnrollmentDTO;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.Map;
+
+// Reads the studentId and courseId arguments of the recorded method
+@Name("university.Enrollment")
+@Label("Enrollment")
+public class EnrollmentEvent extends OperationEvent {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Student Id")
+    long studentId;
+
+    @Label("Course Id")
+    long courseId;
+
+    @Override
+    protected void started(String operation, Map<String, Object> arguments) {
+        this.operation = operation;
+        this.studentId = id(arguments.get("studentId"));
+        this.courseId = id(arguments.get("courseId"));
+    }
+
+    @Override
+    protected void returned(Object result) {
+        if (result instanceof EnrollmentDTO enrollment) {
+            studentId = id(enrollment.getStudentId());
+            courseId = id(enrollment.getCourseId());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.university.course.management.system.jfr;
+
+import com.example.university.course.management.system.dto.EnrollmentDTO;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.Map;
+
+// Reads whichever of the enrollmentId, studentId and courseId arguments the recorded method has,
+// and all three from the enrollment it returns
+@Name("university.Grade")
+@Label("Grade")
+public class GradeEvent extends OperationEvent {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Enrollment Id")
+    long enrollmentId;
+
+    @Label("Student Id")
+    long studentId;
+
+    @Label("Course Id")
+    long courseId;
+
+    @Override
+    protected void started(String operation, Map<String, Object> arguments) {
+        this.operation = operation;
+        this.enrollmentId = id(arguments.get("enrollmentId"));
+        this.studentId = id(arguments.get("studentId"));
+        this.courseId = id(arguments.get("courseId"));
+    }
+
+    @Override
+    protected void returned(Object result) {
+        if (result instanceof EnrollmentDTO enrollment) {
+            enrollmentId = id(enrollment.getId());
+            studentId = id(enrollment.getStudentId());
+            courseId = id(enrollment.getCourseId());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.university.course.management.system.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("university.IndexRebuild")
+@Label("Index Rebuild")
+public class IndexRebuildEvent extends OperationEvent {
+
+    @Label("Index")
+    String index;
+
+    public IndexRebuildEvent(String index) {
+        this.index = index;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.university.course.management.system.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Carries the user id once the account is found; the email is left out of recordings
+@Name("university.Login")
+@Label("Login")
+public class LoginEvent extends OperationEvent {
+
+    @Label("User Id")
+    long userId;
+
+    // Sets the user id on the login being recorded on this thread, if any
+    public static void setCurrentUserId(Long userId) {
+        LoginEvent event = current(LoginEvent.class);
+        if (event != null) {
+            event.userId = id(userId);
+        }
+    }
+}
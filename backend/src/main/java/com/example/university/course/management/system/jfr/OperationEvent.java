@@ -0,0 +1,67 @@
+package com.example.university.course.management.system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+import java.util.Map;
+
+/**
+ * Base of the business events OperationRecorder writes to Java Flight Recorder. With no recording
+ * running an event is disabled and the call goes straight through, without even allocating the
+ * event. Events carry the thread, so a slow operation lines up with the GC pauses and lock
+ * waits recorded on that thread at the same time.
+ */
+@Category("University")
+@StackTrace(false)
+public abstract class OperationEvent extends jdk.jfr.Event {
+
+    // Innermost event being recorded on this thread, for details only known inside the call
+    private static final ThreadLocal<OperationEvent> CURRENT = new ThreadLocal<>();
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("SQL Statements")
+    int statements;
+
+    // Fill in fields from the call's arguments, keyed by parameter name, before it runs
+    protected void started(String operation, Map<String, Object> arguments) {
+    }
+
+    // Fill in fields from what the call returned
+    protected void returned(Object result) {
+    }
+
+    // Overrides SUCCESS or FAILED for the call being recorded on this thread; nothing when none is
+    public static void setCurrentOutcome(String outcome) {
+        OperationEvent event = CURRENT.get();
+        if (event != null) {
+            event.outcome = outcome;
+        }
+    }
+
+    static <E extends OperationEvent> E current(Class<E> type) {
+        OperationEvent event = CURRENT.get();
+        return type.isInstance(event) ? type.cast(event) : null;
+    }
+
+    // Make the event current; returns the one it replaces, to hand back to exit
+    static OperationEvent enter(OperationEvent event) {
+        OperationEvent outer = CURRENT.get();
+        CURRENT.set(event);
+        return outer;
+    }
+
+    static void exit(OperationEvent outer) {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+
+    static long id(Object value) {
+        return value instanceof Long id ? id : 0;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.university.course.management.system.jfr;
+
+import com.example.university.course.management.system.index.RebuildableIndex;
+import com.example.university.course.management.system.util.RequestTiming;
+import jdk.jfr.EventType;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records calls of @Recorded methods, and every index rebuild, as Flight Recorder events. It sits
+ * outside the transaction advice, so an event includes the commit and the statements it flushes.
+ * The statement count is read from the request's RequestTiming; a call outside a timed request
+ * gets a timing of its own while it runs. Like any Spring proxy, it sees only calls that come
+ * from another bean.
+ */
+@Aspect
+@Component
+// Ahead of the transaction advice, which has the lowest precedence
+@Order(0)
+public class OperationRecorder {
+
+    private final Map<Class<?>, Constructor<? extends OperationEvent>> constructors = new ConcurrentHashMap<>();
+
+    private final Map<Class<? extends OperationEvent>, EventType> eventTypes = new ConcurrentHashMap<>();
+
+    @Around("@annotation(recorded)")
+    public Object recordOperation(ProceedingJoinPoint call, Recorded recorded) throws Throwable {
+        // With no recording taking the event, nothing is allocated or looked up reflectively
+        if (!isEnabled(recorded.value())) {
+            return call.proceed();
+        }
+        OperationEvent event = newEvent(recorded.value());
+        MethodSignature signature = (MethodSignature) call.getSignature();
+        String[] names = signature.getParameterNames();
+        Object[] values = call.getArgs();
+        Map<String, Object> arguments = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            arguments.put(names[i], values[i]);
+        }
+        event.started(recorded.operation().isEmpty() ? signature.getName() : recorded.operation(), arguments);
+        return record(event, call);
+    }
+
+    @Around("execution(void com.example.university.course.management.system.index.RebuildableIndex+.rebuild()) && target(index)")
+    public Object recordRebuild(ProceedingJoinPoint call, RebuildableIndex index) throws Throwable {
+        return isEnabled(IndexRebuildEvent.class) ? record(new IndexRebuildEvent(index.getName()), call) : call.proceed();
+    }
+
+    private boolean isEnabled(Class<? extends OperationEvent> type) {
+        return eventTypes.computeIfAbsent(type, EventType::getEventType).isEnabled();
+    }
+
+    private Object record(OperationEvent event, ProceedingJoinPoint call) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        boolean ownTiming = timing == null;
+        if (ownTiming) {
+            timing = RequestTiming.start();
+        }
+        int statementsBefore = timing.getStatements();
+        OperationEvent outer = OperationEvent.enter(event);
+        event.begin();
+        try {
+            Object result = call.proceed();
+            event.returned(result);
+            if (event.outcome == null) {
+                event.outcome = "SUCCESS";
+            }
+            return result;
+        } catch (Throwable e) {
+            if (event.outcome == null) {
+                event.outcome = "FAILED: " + e.getMessage();
+            }
+            throw e;
+        } finally {
+            event.end();
+            OperationEvent.exit(outer);
+            if (event.shouldCommit()) {
+                event.statements = timing.getStatements() - statementsBefore;
+                event.commit();
+            }
+            if (ownTiming) {
+                RequestTiming.end();
+            }
+        }
+    }
+
+    private OperationEvent newEvent(Class<? extends OperationEvent> type) {
+        try {
+            return constructors.computeIfAbsent(type, OperationRecorder::constructor).newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create " + type.getSimpleName(), e);
+        }
+    }
+
+    private static Constructor<? extends OperationEvent> constructor(Class<?> type) {
+        try {
+            return type.asSubclass(OperationEvent.class).getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(type.getSimpleName() + " needs a no-argument constructor", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.university.course.management.system.jfr;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Writes each call of the method to Java Flight Recorder as an event of the given type; see OperationRecorder
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Recorded {
+
+    Class<? extends OperationEvent> value();
+
+    // Operation name on the event; the method name when empty
+    String operation() default "";
+}
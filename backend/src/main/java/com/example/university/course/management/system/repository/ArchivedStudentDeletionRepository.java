@@ -0,0 +1,15 @@
+package com.example.university.course.management.system.repository;
+
+import com.example.university.course.management.system.entity.ArchivedStudentDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedStudentDeletionRepository extends JpaRepository<ArchivedStudentDeletion, Long> {
+
+    @Query("SELECT d.studentId FROM ArchivedStudentDeletion d")
+    List<Long> findAllStudentIds();
+}
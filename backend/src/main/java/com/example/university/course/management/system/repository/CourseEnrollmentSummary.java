@@ -0,0 +1,19 @@
+package com.example.university.course.management.system.repository;
+
+// Enrollment counts and average grade of one course, for the enrollment summary export
+public interface CourseEnrollmentSummary {
+
+    String getCourseCode();
+
+    String getCourseName();
+
+    Integer getMaxStudents();
+
+    Long getEnrolled();
+
+    Long getCompleted();
+
+    Long getDropped();
+
+    Double getAverageGrade();
+}
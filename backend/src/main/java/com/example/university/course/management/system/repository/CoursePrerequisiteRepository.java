@@ -0,0 +1,30 @@
+package com.example.university.course.management.system.repository;
+
+import com.example.university.course.management.system.entity.CoursePrerequisite;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CoursePrerequisiteRepository extends JpaRepository<CoursePrerequisite, Long> {
+
+    @Query("SELECT p FROM CoursePrerequisite p JOIN FETCH p.requiredCourse WHERE p.course.id = :courseId " +
+           "ORDER BY p.groupNumber, p.id")
+    List<CoursePrerequisite> findByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT p.course.id AS courseId, p.requiredCourse.id AS requiredCourseId, " +
+           "p.groupNumber AS groupNumber, p.minGrade AS minGrade FROM CoursePrerequisite p")
+    List<PrerequisiteRecord> findAllRecords();
+
+    @Modifying
+    @Query("DELETE FROM CoursePrerequisite p WHERE p.course.id = :courseId")
+    void deleteByCourseId(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("DELETE FROM CoursePrerequisite p WHERE p.course.id = :courseId OR p.requiredCourse.id = :courseId")
+    void deleteAllReferencing(@Param("courseId") Long courseId);
+}
@@ -0,0 +1,25 @@
+package com.example.university.course.management.system.repository;
+
+import java.time.LocalDateTime;
+
+// One student's enrollment in a course, flattened for roster and grade sheet exports
+public interface CourseReportRow {
+
+    String getStudentNumber();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    String getStatus();
+
+    LocalDateTime getEnrollmentDate();
+
+    Double getGrade();
+
+    String getGradeLetter();
+
+    String getComments();
+}
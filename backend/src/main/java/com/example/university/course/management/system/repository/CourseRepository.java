@@ -2,10 +2,13 @@ package com.example.university.course.management.system.repository;
 
 import com.example.university.course.management.system.entity.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +25,27 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findCoursesByStudentId(@Param("studentId") Long studentId);
     
     boolean existsByCourseCode(String courseCode);
+    
+    // Changed courses with their meeting slots in one statement
+    @Query("SELECT DISTINCT c FROM Course c LEFT JOIN FETCH c.meetingSlots WHERE c.updatedAt > :since")
+    List<Course> findByUpdatedAtAfter(@Param("since") LocalDateTime since);
+    
+    // Courses with their meeting slots in one statement; enrollments are read from the enrollment view
+    @Query("SELECT DISTINCT c FROM Course c LEFT JOIN FETCH c.meetingSlots ORDER BY c.id")
+    List<Course> findAllWithMeetingSlots();
+    
+    @Query("SELECT DISTINCT c FROM Course c LEFT JOIN FETCH c.meetingSlots WHERE c.term.id = :termId ORDER BY c.id")
+    List<Course> findAllWithMeetingSlotsByTermId(@Param("termId") Long termId);
+    
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.meetingSlots WHERE c.id = :id")
+    Optional<Course> findWithMeetingSlotsById(@Param("id") Long id);
+    
+    @Modifying
+    @Query("UPDATE Course c SET c.updatedAt = :now WHERE c.updatedAt IS NULL")
+    int backfillUpdatedAt(@Param("now") LocalDateTime now);
+    
+    @Query("SELECT c.id AS courseId, c.maxStudents AS maxStudents, " +
+           "(SELECT COUNT(e) FROM Enrollment e WHERE e.course = c AND e.status = 'ENROLLED') AS enrolled " +
+           "FROM Course c WHERE c.id IN :courseIds")
+    List<SeatCount> findSeatCounts(@Param("courseIds") Collection<Long> courseIds);
 } 
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.university.course.management.system.repository;
+
+// Flat projection of who is enrolled in what, used to rebuild co-enrollment counts
+public interface EnrollmentPair {
+
+    Long getStudentId();
+
+    Long getCourseId();
+}
@@ -1,21 +1,26 @@
 package com.example.university.course.management.system.repository;
 
 import com.example.university.course.management.system.entity.Enrollment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     
-    List<Enrollment> findByStudentId(Long studentId);
-    
-    List<Enrollment> findByCourseId(Long courseId);
-    
     Optional<Enrollment> findByStudentIdAndCourseId(Long studentId, Long courseId);
     
     @Query("SELECT e FROM Enrollment e WHERE e.student.id = :studentId AND e.status = 'ENROLLED'")
@@ -25,4 +30,116 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     List<Enrollment> findActiveEnrollmentsByCourseId(@Param("courseId") Long courseId);
     
     boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
-} 
\ No newline at end of file
+    
+    boolean existsByCourseId(Long courseId);
+    
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course WHERE e.updatedAt > :since")
+    List<Enrollment> findChangedSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT e.id FROM Enrollment e WHERE e.student.id = :studentId")
+    List<Long> findIdsByStudentId(@Param("studentId") Long studentId);
+    
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.updatedAt = :now WHERE e.updatedAt IS NULL")
+    int backfillUpdatedAt(@Param("now") LocalDateTime now);
+    
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId")
+    List<Long> findCourseIdsByStudentId(@Param("studentId") Long studentId);
+    
+    @Query("SELECT e.id AS enrollmentId, e.student.id AS studentId, e.course.id AS courseId, " +
+           "e.course.credits AS credits, e.grade AS grade " +
+           "FROM Enrollment e WHERE e.course.id = :courseId AND e.grade IS NOT NULL")
+    List<GradeRecord> findGradeRecordsByCourseId(@Param("courseId") Long courseId);
+    
+    @Query("SELECT e.id AS enrollmentId, e.student.id AS studentId, e.course.id AS courseId, " +
+           "e.course.credits AS credits, e.grade AS grade " +
+           "FROM Enrollment e WHERE e.student.id IN :studentIds AND e.grade IS NOT NULL")
+    List<GradeRecord> findGradeRecordsByStudentIds(@Param("studentIds") List<Long> studentIds);
+    
+    @Query("SELECT e.student.id AS studentId, c.id AS courseId, e.termId AS termId, s.dayOfWeek AS dayOfWeek, " +
+           "s.startTime AS startTime, s.endTime AS endTime " +
+           "FROM Enrollment e JOIN e.course c JOIN c.meetingSlots s " +
+           "WHERE e.student.id = :studentId AND e.status = 'ENROLLED'")
+    List<MeetingSlotRecord> findActiveSlotRecordsByStudentId(@Param("studentId") Long studentId);
+    
+    @Query("SELECT e.student.id AS studentId, c.id AS courseId, e.termId AS termId, s.dayOfWeek AS dayOfWeek, " +
+           "s.startTime AS startTime, s.endTime AS endTime " +
+           "FROM Enrollment e JOIN e.course c JOIN c.meetingSlots s " +
+           "WHERE e.termId = :termId AND e.student.id = :studentId AND e.status = 'ENROLLED'")
+    List<MeetingSlotRecord> findActiveSlotRecordsByStudentIdAndTermId(@Param("studentId") Long studentId,
+                                                                      @Param("termId") Long termId);
+    
+    // Ordered by student and term so a reader can group rows without holding a map; consume inside a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT e.student.id AS studentId, c.id AS courseId, e.termId AS termId, s.dayOfWeek AS dayOfWeek, " +
+           "s.startTime AS startTime, s.endTime AS endTime " +
+           "FROM Enrollment e JOIN e.course c JOIN c.meetingSlots s " +
+           "WHERE e.status = 'ENROLLED' ORDER BY e.student.id, e.termId")
+    Stream<MeetingSlotRecord> streamActiveSlotRecords();
+    
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT e.student.id AS studentId, c.id AS courseId, e.termId AS termId, s.dayOfWeek AS dayOfWeek, " +
+           "s.startTime AS startTime, s.endTime AS endTime " +
+           "FROM Enrollment e JOIN e.course c JOIN c.meetingSlots s " +
+           "WHERE e.termId = :termId AND e.status = 'ENROLLED' ORDER BY e.student.id")
+    Stream<MeetingSlotRecord> streamActiveSlotRecordsByTermId(@Param("termId") Long termId);
+    
+    // Ordered by student so each student's courses arrive together; consume inside a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT e.student.id AS studentId, e.course.id AS courseId FROM Enrollment e " +
+           "WHERE e.status <> 'DROPPED' ORDER BY e.student.id")
+    Stream<EnrollmentPair> streamAllEnrollmentPairs();
+    
+    // Streamed for index rebuilds; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT e.id AS enrollmentId, e.student.id AS studentId, e.course.id AS courseId, " +
+           "e.course.credits AS credits, e.grade AS grade " +
+           "FROM Enrollment e WHERE e.grade IS NOT NULL")
+    Stream<GradeRecord> streamAllGradeRecords();
+    
+    // Streamed into report files; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT s.studentId AS studentNumber, s.firstName AS firstName, s.lastName AS lastName, " +
+           "s.email AS email, e.status AS status, e.enrollmentDate AS enrollmentDate, e.grade AS grade, " +
+           "e.gradeLetter AS gradeLetter, e.comments AS comments " +
+           "FROM Enrollment e JOIN e.student s WHERE e.course.id = :courseId ORDER BY s.lastName, s.firstName, s.id")
+    Stream<CourseReportRow> streamCourseReportRows(@Param("courseId") Long courseId);
+    
+    // Courses without enrollments are included with zero counts; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT c.courseCode AS courseCode, c.courseName AS courseName, c.maxStudents AS maxStudents, " +
+           "SUM(CASE WHEN e.status = 'ENROLLED' THEN 1 ELSE 0 END) AS enrolled, " +
+           "SUM(CASE WHEN e.status = 'COMPLETED' THEN 1 ELSE 0 END) AS completed, " +
+           "SUM(CASE WHEN e.status = 'DROPPED' THEN 1 ELSE 0 END) AS dropped, " +
+           "AVG(e.grade) AS averageGrade " +
+           "FROM Course c LEFT JOIN c.enrollments e WHERE :termId IS NULL OR c.term.id = :termId " +
+           "GROUP BY c.id, c.courseCode, c.courseName, c.maxStudents ORDER BY c.courseCode")
+    Stream<CourseEnrollmentSummary> streamCourseEnrollmentSummaries(@Param("termId") Long termId);
+    
+    // Completed enrollments from before the cutoff, locked until the archiving transaction deletes them;
+    // ordered so each batch is a contiguous run of students and locks rows in the same order every run
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Enrollment e WHERE e.status = 'COMPLETED' AND e.enrollmentDate < :cutoff " +
+           "ORDER BY e.student.id, e.id")
+    List<Enrollment> findArchivable(@Param("cutoff") LocalDateTime cutoff, Pageable page);
+    
+    @Modifying
+    @Query("DELETE FROM Enrollment e WHERE e.id IN :ids")
+    int deleteArchived(@Param("ids") Collection<Long> ids);
+    
+    long countByIdIn(Collection<Long> ids);
+    
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM Enrollment e")
+    long findMaxId();
+    
+    // Follow a course moved to another term; bulk updates skip @PreUpdate, so they stamp updatedAt themselves
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.termId = :termId, e.updatedAt = :now WHERE e.course.id = :courseId")
+    int updateTermForCourse(@Param("courseId") Long courseId, @Param("termId") Long termId, @Param("now") LocalDateTime now);
+    
+    // Rows from before terms existed take the term their course has since been given
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.termId = (SELECT c.term.id FROM Course c WHERE c.id = e.course.id), e.updatedAt = :now " +
+           "WHERE e.termId IS NULL AND EXISTS (SELECT 1 FROM Course c WHERE c.id = e.course.id AND c.term IS NOT NULL)")
+    int backfillTermIds(@Param("now") LocalDateTime now);
+}
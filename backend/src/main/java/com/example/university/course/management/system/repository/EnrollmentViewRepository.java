@@ -0,0 +1,67 @@
+package com.example.university.course.management.system.repository;
+
+import com.example.university.course.management.system.entity.EnrollmentView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EnrollmentViewRepository extends JpaRepository<EnrollmentView, Long> {
+
+    List<EnrollmentView> findByStudentIdOrderById(Long studentId);
+
+    List<EnrollmentView> findByStudentIdAndTermIdOrderById(Long studentId, Long termId);
+
+    List<EnrollmentView> findByCourseIdOrderById(Long courseId);
+
+    List<EnrollmentView> findByTermIdOrderById(Long termId);
+
+    List<EnrollmentView> findAllByOrderById();
+
+    @Modifying
+    @Query("UPDATE EnrollmentView v SET v.studentName = :studentName WHERE v.studentId = :studentId")
+    int updateStudentName(@Param("studentId") Long studentId, @Param("studentName") String studentName);
+
+    @Modifying
+    @Query("UPDATE EnrollmentView v SET v.courseCode = :courseCode, v.courseName = :courseName, " +
+           "v.credits = :credits, v.termId = :termId WHERE v.courseId = :courseId")
+    int updateCourse(@Param("courseId") Long courseId, @Param("courseCode") String courseCode,
+                     @Param("courseName") String courseName, @Param("credits") Integer credits,
+                     @Param("termId") Long termId);
+
+    @Modifying
+    @Query("DELETE FROM EnrollmentView v WHERE v.studentId = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+
+    @Modifying
+    @Query("DELETE FROM EnrollmentView v WHERE v.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    // Same rule as EnrollmentRepository.backfillTermIds
+    @Modifying
+    @Query("UPDATE EnrollmentView v SET v.termId = (SELECT c.term.id FROM Course c WHERE c.id = v.courseId) " +
+           "WHERE v.termId IS NULL AND EXISTS (SELECT 1 FROM Course c WHERE c.id = v.courseId AND c.term IS NOT NULL)")
+    int backfillTermIds();
+
+    // Copy the enrollments in an id range that have no view row yet, as one INSERT ... SELECT
+    @Modifying
+    @Query("INSERT INTO EnrollmentView (id, studentId, studentName, courseId, courseCode, courseName, credits, " +
+           "termId, enrollmentDate, status, grade, gradeLetter, comments) " +
+           "SELECT e.id, s.id, CONCAT(s.firstName, ' ', s.lastName), c.id, c.courseCode, c.courseName, c.credits, " +
+           "e.termId, e.enrollmentDate, e.status, e.grade, e.gradeLetter, e.comments " +
+           "FROM Enrollment e JOIN e.student s JOIN e.course c " +
+           "WHERE e.id > :after AND e.id <= :upTo AND NOT EXISTS (SELECT 1 FROM EnrollmentView v WHERE v.id = e.id)")
+    int insertMissing(@Param("after") long after, @Param("upTo") long upTo);
+
+    @Modifying
+    @Query("DELETE FROM EnrollmentView v WHERE v.id > :after AND v.id <= :upTo")
+    int deleteRange(@Param("after") long after, @Param("upTo") long upTo);
+
+    @Query("SELECT COALESCE(MAX(v.id), 0) FROM EnrollmentView v")
+    long findMaxId();
+}
@@ -0,0 +1,15 @@
+package com.example.university.course.management.system.repository;
+
+// Flat projection of a graded enrollment, used to build grade aggregates without loading entities
+public interface GradeRecord {
+
+    Long getEnrollmentId();
+
+    Long getStudentId();
+
+    Long getCourseId();
+
+    Integer getCredits();
+
+    Double getGrade();
+}
@@ -0,0 +1,20 @@
+package com.example.university.course.management.system.repository;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+// Flat projection of one meeting slot of a course a student is currently enrolled in
+public interface MeetingSlotRecord {
+
+    Long getStudentId();
+
+    Long getCourseId();
+
+    Long getTermId();
+
+    DayOfWeek getDayOfWeek();
+
+    LocalTime getStartTime();
+
+    LocalTime getEndTime();
+}
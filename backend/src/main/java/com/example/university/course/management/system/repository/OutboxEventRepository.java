@@ -0,0 +1,38 @@
+package com.example.university.course.management.system.repository;
+
+import com.example.university.course.management.system.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("SELECT o FROM OutboxEvent o WHERE o.processedAt IS NULL ORDER BY o.id")
+    List<OutboxEvent> findPending(Pageable page);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.processedAt = :processedAt WHERE o.id IN :ids")
+    int markProcessed(@Param("ids") List<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.attempts = o.attempts + 1, o.lastError = :error WHERE o.id IN :ids")
+    int recordFailure(@Param("ids") List<Long> ids, @Param("error") String error);
+
+    @Query("SELECT COUNT(o) FROM OutboxEvent o WHERE o.processedAt IS NULL")
+    long countPending();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
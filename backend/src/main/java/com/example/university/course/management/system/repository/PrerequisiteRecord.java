@@ -0,0 +1,13 @@
+package com.example.university.course.management.system.repository;
+
+// Flat projection of a prerequisite edge used to compile the in-memory prerequisite graph
+public interface PrerequisiteRecord {
+
+    Long getCourseId();
+
+    Long getRequiredCourseId();
+
+    Integer getGroupNumber();
+
+    Double getMinGrade();
+}
@@ -0,0 +1,11 @@
+package com.example.university.course.management.system.repository;
+
+// Capacity and active enrollment count of one course
+public interface SeatCount {
+
+    Long getCourseId();
+
+    Integer getMaxStudents();
+
+    Long getEnrolled();
+}
@@ -0,0 +1,37 @@
+package com.example.university.course.management.system.repository;
+
+import com.example.university.course.management.system.entity.StudentAcademicSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StudentAcademicSummaryRepository extends JpaRepository<StudentAcademicSummary, Long> {
+
+    // Applied as an in-place increment so concurrent grade changes for one student cannot lose updates. A student
+    // without a row yet (not backfilled) gets one holding just this delta; the upsert is a single statement, so two
+    // first grades at once cannot both insert
+    @Modifying
+    @Query(value = "INSERT INTO student_academic_summaries " +
+                   "(student_id, weighted_grade_sum, quality_points, credits_attempted, credits_earned) " +
+                   "VALUES (:studentId, :weightedGradeDelta, :qualityPointsDelta, :attemptedDelta, :earnedDelta) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "weighted_grade_sum = weighted_grade_sum + :weightedGradeDelta, " +
+                   "quality_points = quality_points + :qualityPointsDelta, " +
+                   "credits_attempted = credits_attempted + :attemptedDelta, " +
+                   "credits_earned = credits_earned + :earnedDelta",
+           nativeQuery = true)
+    void applyDelta(@Param("studentId") Long studentId,
+                    @Param("weightedGradeDelta") double weightedGradeDelta,
+                    @Param("qualityPointsDelta") double qualityPointsDelta,
+                    @Param("attemptedDelta") int attemptedDelta,
+                    @Param("earnedDelta") int earnedDelta);
+
+    @Query("SELECT s.id FROM Student s WHERE NOT EXISTS " +
+           "(SELECT a FROM StudentAcademicSummary a WHERE a.studentId = s.id)")
+    List<Long> findStudentIdsWithoutSummary();
+}
@@ -2,10 +2,12 @@ package com.example.university.course.management.system.repository;
 
 import com.example.university.course.management.system.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,4 +26,22 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     boolean existsByEmail(String email);
     
     boolean existsByStudentId(String studentId);
+    
+    List<Student> findByUpdatedAtAfter(LocalDateTime since);
+    
+    // Students with at least one enrollment in the term, by way of the enrollment view's term index
+    @Query("SELECT s FROM Student s WHERE s.id IN " +
+           "(SELECT v.studentId FROM EnrollmentView v WHERE v.termId = :termId) ORDER BY s.id")
+    List<Student> findEnrolledInTerm(@Param("termId") Long termId);
+    
+    // Rows from before change tracking have no timestamp yet
+    @Modifying
+    @Query("UPDATE Student s SET s.updatedAt = :now WHERE s.updatedAt IS NULL")
+    int backfillUpdatedAt(@Param("now") LocalDateTime now);
+    
+    @Query("SELECT s.email FROM Student s")
+    List<String> findAllEmails();
+    
+    @Query("SELECT s.studentId FROM Student s")
+    List<String> findAllStudentIds();
 } 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.university.course.management.system.repository;
+
+import com.example.university.course.management.system.entity.Term;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TermRepository extends JpaRepository<Term, Long> {
+
+    boolean existsByCode(String code);
+
+    List<Term> findAllByOrderByStartDateDesc();
+
+    // Terms running on the given day, latest start first; overlapping terms are allowed
+    @Query("SELECT t FROM Term t WHERE t.startDate <= :day AND t.endDate >= :day ORDER BY t.startDate DESC")
+    List<Term> findRunningOn(@Param("day") LocalDate day);
+}
@@ -0,0 +1,180 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.config.ReportingRouting;
+import com.example.university.course.management.system.dto.AcademicSummaryDTO;
+import com.example.university.course.management.system.entity.StudentAcademicSummary;
+import com.example.university.course.management.system.jfr.BulkOperationEvent;
+import com.example.university.course.management.system.jfr.Recorded;
+import com.example.university.course.management.system.repository.EnrollmentRepository;
+import com.example.university.course.management.system.repository.GradeRecord;
+import com.example.university.course.management.system.repository.StudentAcademicSummaryRepository;
+import com.example.university.course.management.system.util.GradeScale;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class AcademicSummaryService {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    @Autowired
+    private StudentAcademicSummaryRepository summaryRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private EnrollmentArchiveService enrollmentArchiveService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Every student gets a zeroed summary row up front, so later grade changes are pure increments
+    @Transactional
+    public void createFor(Long studentId) {
+        summaryRepository.save(new StudentAcademicSummary(studentId));
+    }
+
+    @Transactional
+    public void deleteFor(Long studentId) {
+        if (summaryRepository.existsById(studentId)) {
+            summaryRepository.deleteById(studentId);
+        }
+    }
+
+    // Replace the contribution of one enrollment's old grade with its new one
+    @Transactional
+    public void applyGradeChange(Long studentId, Double oldGrade, Double newGrade, int credits) {
+        Contribution delta = Contribution.of(newGrade, credits).minus(Contribution.of(oldGrade, credits));
+        apply(studentId, delta);
+    }
+
+    // Re-weight every graded enrollment of a course whose credit value changed
+    @Transactional
+    public void applyCreditChange(Long courseId, int oldCredits, int newCredits) {
+        if (oldCredits == newCredits) {
+            return;
+        }
+        List<GradeRecord> records = new ArrayList<>(enrollmentRepository.findGradeRecordsByCourseId(courseId));
+        records.addAll(enrollmentArchiveService.findGradeRecordsByCourseId(courseId));
+        for (GradeRecord record : records) {
+            Contribution delta = Contribution.of(record.getGrade(), newCredits)
+                    .minus(Contribution.of(record.getGrade(), oldCredits));
+            apply(record.getStudentId(), delta);
+        }
+    }
+
+    public AcademicSummaryDTO getSummary(Long studentId) {
+        return summaryRepository.findById(studentId)
+                .map(this::convertToDTO)
+                .orElseGet(() -> convertToDTO(new StudentAcademicSummary(studentId)));
+    }
+
+    public Map<Long, StudentAcademicSummary> getAllSummaries() {
+        return summaryRepository.findAll().stream()
+                .collect(Collectors.toMap(StudentAcademicSummary::getStudentId, Function.identity()));
+    }
+
+    // Compute summaries for students that predate the summary table (or were bulk loaded); runs once per student.
+    // One transaction per batch keeps the persistence context small when hundreds of thousands are missing
+    @EventListener(ApplicationReadyEvent.class)
+    @Recorded(value = BulkOperationEvent.class, operation = "academicSummaryBackfill")
+    public void backfillMissing() {
+        ReportingRouting.run(() -> {
+            List<Long> missing = summaryRepository.findStudentIdsWithoutSummary();
+            BulkOperationEvent.setCurrentRows(missing.size());
+            for (int from = 0; from < missing.size(); from += BACKFILL_BATCH_SIZE) {
+                List<Long> batch = missing.subList(from, Math.min(from + BACKFILL_BATCH_SIZE, missing.size()));
+                transactionTemplate.executeWithoutResult(status -> {
+                    Map<Long, StudentAcademicSummary> summaries = new HashMap<>();
+                    for (Long studentId : batch) {
+                        summaries.put(studentId, new StudentAcademicSummary(studentId));
+                    }
+                    List<GradeRecord> records = new ArrayList<>(enrollmentRepository.findGradeRecordsByStudentIds(batch));
+                    records.addAll(enrollmentArchiveService.findGradeRecordsByStudentIds(batch));
+                    for (GradeRecord record : records) {
+                        Contribution.of(record.getGrade(), record.getCredits()).addTo(summaries.get(record.getStudentId()));
+                    }
+                    summaryRepository.saveAll(summaries.values());
+                });
+            }
+        });
+    }
+
+    private void apply(Long studentId, Contribution delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        summaryRepository.applyDelta(studentId, delta.weightedGrade, delta.qualityPoints, delta.attempted, delta.earned);
+    }
+
+    private AcademicSummaryDTO convertToDTO(StudentAcademicSummary summary) {
+        return new AcademicSummaryDTO(
+            summary.getStudentId(),
+            summary.getGpa(),
+            summary.getAverageGrade(),
+            summary.getQualityPoints(),
+            summary.getWeightedGradeSum(),
+            summary.getCreditsAttempted(),
+            summary.getCreditsEarned()
+        );
+    }
+
+    // What a single graded enrollment adds to a student's totals
+    private static final class Contribution {
+        final double weightedGrade;
+        final double qualityPoints;
+        final int attempted;
+        final int earned;
+
+        Contribution(double weightedGrade, double qualityPoints, int attempted, int earned) {
+            this.weightedGrade = weightedGrade;
+            this.qualityPoints = qualityPoints;
+            this.attempted = attempted;
+            this.earned = earned;
+        }
+
+        static Contribution of(Double grade, Integer credits) {
+            if (grade == null || credits == null) {
+                return new Contribution(0, 0, 0, 0);
+            }
+            return new Contribution(
+                grade * credits,
+                GradeScale.pointsFor(grade) * credits,
+                credits,
+                GradeScale.isPassing(grade) ? credits : 0
+            );
+        }
+
+        Contribution minus(Contribution other) {
+            return new Contribution(
+                weightedGrade - other.weightedGrade,
+                qualityPoints - other.qualityPoints,
+                attempted - other.attempted,
+                earned - other.earned
+            );
+        }
+
+        boolean isZero() {
+            return weightedGrade == 0 && qualityPoints == 0 && attempted == 0 && earned == 0;
+        }
+
+        void addTo(StudentAcademicSummary summary) {
+            summary.setWeightedGradeSum(summary.getWeightedGradeSum() + weightedGrade);
+            summary.setQualityPoints(summary.getQualityPoints() + qualityPoints);
+            summary.setCreditsAttempted(summary.getCreditsAttempted() + attempted);
+            summary.setCreditsEarned(summary.getCreditsEarned() + earned);
+        }
+    }
+}
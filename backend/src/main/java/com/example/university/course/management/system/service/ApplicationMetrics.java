@@ -0,0 +1,73 @@
+package com.example.university.course.management.system.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business counters exported on /actuator/prometheus next to the HTTP, Hikari and Hibernate meters
+ * Spring Boot binds itself. Every meter is registered once up front, so recording is a single
+ * striped-counter add with no registry lookup or tag allocation on the request path.
+ */
+@Component
+public class ApplicationMetrics {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private SeatAvailabilityService seatAvailabilityService;
+
+    private Counter enrollments;
+    private Counter capacityRejections;
+    private Counter loginSuccesses;
+    private Counter loginFailures;
+    private Counter loginsThrottled;
+
+    @PostConstruct
+    public void register() {
+        enrollments = Counter.builder("university.enrollments")
+                .description("Enrollments committed")
+                .register(registry);
+        capacityRejections = Counter.builder("university.enrollments.rejected")
+                .description("Enrollments rejected because the course was full")
+                .tag("reason", "capacity")
+                .register(registry);
+        loginSuccesses = login("success");
+        loginFailures = login("failure");
+        loginsThrottled = login("throttled");
+        Gauge.builder("university.seats.subscribers", seatAvailabilityService, SeatAvailabilityService::getSubscriberCount)
+                .description("Open seat availability streams")
+                .register(registry);
+    }
+
+    public void enrollmentCommitted() {
+        enrollments.increment();
+    }
+
+    public void capacityRejected() {
+        capacityRejections.increment();
+    }
+
+    public void loginSucceeded() {
+        loginSuccesses.increment();
+    }
+
+    public void loginFailed() {
+        loginFailures.increment();
+    }
+
+    public void loginThrottled() {
+        loginsThrottled.increment();
+    }
+
+    private Counter login(String outcome) {
+        return Counter.builder("university.logins")
+                .description("Password logins by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.dto.CourseRecommendationDTO;
+import com.example.university.course.management.system.event.DomainEvent;
+import com.example.university.course.management.system.event.DomainEventListener;
+import com.example.university.course.management.system.index.CoEnrollmentMatrix;
+import com.example.university.course.management.system.index.RebuildableIndex;
+import com.example.university.course.management.system.repository.EnrollmentPair;
+import com.example.university.course.management.system.repository.EnrollmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// "Students who took X also took Y", served entirely from the in-memory co-enrollment matrix
+@Service
+public class CoEnrollmentService implements RebuildableIndex, DomainEventListener {
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private EnrollmentArchiveService enrollmentArchiveService;
+
+    // Neighbours cached per course; also the most a caller can ask for
+    @Value("${recommendations.top-k:50}")
+    private int topK;
+
+    // Null until the first rebuild completes
+    private volatile CoEnrollmentMatrix matrix;
+
+    // Changes seen while a rebuild is reading; replayed onto the new matrix before it is published
+    private final Object publishLock = new Object();
+    private List<Consumer<CoEnrollmentMatrix>> pending;
+
+    @Override
+    public String getName() {
+        return "co-enrollment";
+    }
+
+    @Override
+    public boolean isReady() {
+        return matrix != null;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        synchronized (publishLock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            long[] studentIds = new long[1024];
+            int[][] coursesPerStudent = new int[1024][];
+            int students = 0;
+            int[] courses = new int[8];
+            int courseCount = 0;
+            Stream<EnrollmentPair> livePairs = enrollmentRepository.streamAllEnrollmentPairs();
+            try (Stream<EnrollmentPair> pairs = enrollmentArchiveService.withArchivedPairs(livePairs)) {
+                // Rows arrive ordered by student; close off each student's course list when the id changes
+                for (EnrollmentPair pair : (Iterable<EnrollmentPair>) pairs::iterator) {
+                    if (students == 0 || studentIds[students - 1] != pair.getStudentId()) {
+                        if (students > 0) {
+                            coursesPerStudent[students - 1] = Arrays.copyOf(courses, courseCount);
+                        }
+                        if (students == studentIds.length) {
+                            studentIds = Arrays.copyOf(studentIds, students * 2);
+                            coursesPerStudent = Arrays.copyOf(coursesPerStudent, students * 2);
+                        }
+                        studentIds[students++] = pair.getStudentId();
+                        courseCount = 0;
+                    }
+                    if (courseCount == courses.length) {
+                        courses = Arrays.copyOf(courses, courseCount * 2);
+                    }
+                    courses[courseCount++] = Math.toIntExact(pair.getCourseId());
+                }
+            }
+            if (students > 0) {
+                coursesPerStudent[students - 1] = Arrays.copyOf(courses, courseCount);
+            }
+            CoEnrollmentMatrix next = CoEnrollmentMatrix.build(topK,
+                    Arrays.copyOf(studentIds, students), Arrays.copyOf(coursesPerStudent, students),
+                    ForkJoinPool.commonPool());
+            synchronized (publishLock) {
+                // Updates are idempotent, so replaying one the rebuild already read is harmless
+                pending.forEach(change -> change.accept(next));
+                matrix = next;
+            }
+        } finally {
+            synchronized (publishLock) {
+                pending = null;
+            }
+        }
+    }
+
+    // Enrollments add to the counts; drops and student deletions take them back out
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            long studentId = event.getStudentId() != null ? event.getStudentId() : 0L;
+            switch (event.getType()) {
+                case ENROLLED -> {
+                    int course = Math.toIntExact(event.getCourseId());
+                    apply(m -> m.enroll(studentId, course));
+                }
+                case DROPPED -> {
+                    int course = Math.toIntExact(event.getCourseId());
+                    apply(m -> m.unenroll(studentId, course));
+                }
+                case STUDENT_DELETED -> apply(m -> m.removeStudent(studentId));
+                default -> { }
+            }
+        }
+    }
+
+    public List<CourseRecommendationDTO> getRecommendations(Long courseId, int limit) {
+        CoEnrollmentMatrix current = matrix;
+        if (current == null) {
+            throw new IllegalStateException("Course recommendations are still being built");
+        }
+        int course = Math.toIntExact(courseId);
+        int students = current.studentsIn(course);
+        return current.neighbours(course, limit).stream()
+                .map(neighbour -> new CourseRecommendationDTO(
+                    courseId,
+                    (long) neighbour.getCourseId(),
+                    neighbour.getSharedStudents(),
+                    students == 0 ? 0.0 : (double) neighbour.getSharedStudents() / students
+                ))
+                .collect(Collectors.toList());
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    private void apply(Consumer<CoEnrollmentMatrix> change) {
+        CoEnrollmentMatrix target;
+        synchronized (publishLock) {
+            if (pending != null) {
+                pending.add(change);
+            }
+            target = matrix;
+        }
+        if (target != null) {
+            change.accept(target);
+        }
+    }
+}
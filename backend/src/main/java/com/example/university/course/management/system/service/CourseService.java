@@ -1,16 +1,41 @@
 package com.example.university.course.management.system.service;
 
+import com.example.university.course.management.system.config.ReportingQuery;
 import com.example.university.course.management.system.dto.CourseDTO;
+import com.example.university.course.management.system.dto.CourseRankDTO;
+import com.example.university.course.management.system.dto.CourseRecommendationDTO;
+import com.example.university.course.management.system.dto.CourseStatisticsDTO;
 import com.example.university.course.management.system.dto.EnrollmentDTO;
+import com.example.university.course.management.system.dto.PrerequisiteDTO;
+import com.example.university.course.management.system.dto.StudentDTO;
 import com.example.university.course.management.system.entity.Course;
 import com.example.university.course.management.system.entity.Enrollment;
+import com.example.university.course.management.system.entity.EnrollmentView;
+import com.example.university.course.management.system.entity.Student;
+import com.example.university.course.management.system.event.DomainEvent;
+import com.example.university.course.management.system.event.DomainEventPublisher;
+import com.example.university.course.management.system.event.DomainEventType;
+import com.example.university.course.management.system.jfr.GradeEvent;
+import com.example.university.course.management.system.jfr.Recorded;
 import com.example.university.course.management.system.repository.CourseRepository;
 import com.example.university.course.management.system.repository.EnrollmentRepository;
+import com.example.university.course.management.system.repository.StudentRepository;
+import com.example.university.course.management.system.util.EnrollmentMapper;
+import com.example.university.course.management.system.util.GradeScale;
+import com.example.university.course.management.system.util.RequestTiming;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,7 +47,51 @@ public class CourseService {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
     
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private AcademicSummaryService academicSummaryService;
+    
+    @Autowired
+    private CourseStatisticsService courseStatisticsService;
+    
+    @Autowired
+    private PrerequisiteService prerequisiteService;
+    
+    @Autowired
+    private TimetableService timetableService;
+    
+    @Autowired
+    private CoEnrollmentService coEnrollmentService;
+    
+    @Autowired
+    private EnrollmentGraphService enrollmentGraphService;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    @Autowired
+    private SeatAvailabilityService seatAvailabilityService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private EnrollmentArchiveService enrollmentArchiveService;
+
+    @Autowired
+    private TermService termService;
+
+    @Autowired
+    private EnrollmentViewService enrollmentViewService;
+    
+    // Set once mysql/partition-enrollments.sql has run and enrollments can no longer be without a term
+    @Value("${enrollments.partitioned:false}")
+    private boolean enrollmentsPartitioned;
+    
     // Create a new course
+    @Transactional
     public CourseDTO createCourse(CourseDTO courseDTO) {
         if (courseRepository.existsByCourseCode(courseDTO.getCourseCode())) {
             throw new RuntimeException("Course with code " + courseDTO.getCourseCode() + " already exists");
@@ -37,28 +106,54 @@ public class CourseService {
             courseDTO.getMaxStudents(),
             courseDTO.getStatus() != null ? courseDTO.getStatus() : "ACTIVE"
         );
+        course.setMeetingSlots(timetableService.toMeetingSlots(courseDTO.getMeetingSlots()));
+        // Offered in the requested term, else in the one running now. Without either the course has no term,
+        // which is only allowed until enrollments are partitioned by term and their term becomes required
+        Long termId = courseDTO.getTermId() != null ? courseDTO.getTermId() : termService.currentTermId();
+        if (termId != null) {
+            course.setTerm(termService.getTerm(termId));
+        } else if (enrollmentsPartitioned) {
+            throw new RuntimeException("No term is running today; give the course a termId");
+        }
         
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publish(DomainEvent.courseChanged(DomainEventType.COURSE_CREATED, savedCourse.getId()));
         return convertToDTO(savedCourse);
     }
     
-    // Get all courses
-    public List<CourseDTO> getAllCourses() {
-        return courseRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    // Get all courses, or one term's, in two statements: courses with meeting slots, then their enrollments from the view
+    @ReportingQuery
+    @Transactional(readOnly = true)
+    public List<CourseDTO> getAllCourses(Long termId) {
+        List<Course> courses;
+        List<EnrollmentView> enrollments;
+        if (termId == null) {
+            courses = courseRepository.findAllWithMeetingSlots();
+            enrollments = enrollmentViewService.findAll();
+        } else {
+            courses = courseRepository.findAllWithMeetingSlotsByTermId(termId);
+            enrollments = enrollmentViewService.findByTermId(termId);
+        }
+        Map<Long, List<EnrollmentView>> enrollmentsByCourse = enrollments.stream()
+                .collect(Collectors.groupingBy(EnrollmentView::getCourseId));
+        return RequestTiming.mapping(() -> courses.stream()
+                .map(course -> convertToDTO(course, enrollmentsByCourse.getOrDefault(course.getId(), List.of())))
+                .collect(Collectors.toList()));
     }
     
     // Get course by ID
+    @Transactional(readOnly = true)
     public CourseDTO getCourseById(Long id) {
-        Optional<Course> course = courseRepository.findById(id);
+        Optional<Course> course = courseRepository.findWithMeetingSlotsById(id);
         if (course.isPresent()) {
-            return convertToDTO(course.get());
+            List<EnrollmentView> enrollments = enrollmentViewService.findByCourseId(id);
+            return RequestTiming.mapping(() -> convertToDTO(course.get(), enrollments));
         }
         throw new RuntimeException("Course not found with id: " + id);
     }
     
     // Update course
+    @Transactional
     public CourseDTO updateCourse(Long id, CourseDTO courseDTO) {
         Optional<Course> existingCourse = courseRepository.findById(id);
         if (existingCourse.isPresent()) {
@@ -70,6 +165,8 @@ public class CourseService {
                 throw new RuntimeException("Course with code " + courseDTO.getCourseCode() + " already exists");
             }
             
+            int oldCredits = course.getCredits();
+            
             course.setCourseCode(courseDTO.getCourseCode());
             course.setCourseName(courseDTO.getCourseName());
             course.setDescription(courseDTO.getDescription());
@@ -77,22 +174,42 @@ public class CourseService {
             course.setInstructor(courseDTO.getInstructor());
             course.setMaxStudents(courseDTO.getMaxStudents());
             course.setStatus(courseDTO.getStatus() != null ? courseDTO.getStatus() : course.getStatus());
+            // Moving a course to another term takes its enrollments along
+            Long oldTermId = course.getTerm() != null ? course.getTerm().getId() : null;
+            if (courseDTO.getTermId() != null && !courseDTO.getTermId().equals(oldTermId)) {
+                course.setTerm(termService.getTerm(courseDTO.getTermId()));
+                enrollmentRepository.updateTermForCourse(id, courseDTO.getTermId(), LocalDateTime.now());
+            }
+            // Meeting slots are only replaced when the request carries them
+            if (courseDTO.getMeetingSlots() != null) {
+                course.getMeetingSlots().clear();
+                course.getMeetingSlots().addAll(timetableService.toMeetingSlots(courseDTO.getMeetingSlots()));
+                // Collection changes alone do not fire @PreUpdate
+                course.setUpdatedAt(LocalDateTime.now());
+            }
             
             Course updatedCourse = courseRepository.save(course);
+            enrollmentViewService.courseChanged(updatedCourse);
+            // Credit changes re-weight every graded enrollment in the students' GPA totals
+            academicSummaryService.applyCreditChange(id, oldCredits, updatedCourse.getCredits());
+            eventPublisher.publish(DomainEvent.courseChanged(DomainEventType.COURSE_UPDATED, id));
             return convertToDTO(updatedCourse);
         }
         throw new RuntimeException("Course not found with id: " + id);
     }
     
     // Delete course
+    @Transactional
     public void deleteCourse(Long id) {
         if (courseRepository.existsById(id)) {
             // Check if there are any enrollments for this course
-            List<Enrollment> enrollments = enrollmentRepository.findByCourseId(id);
-            if (!enrollments.isEmpty()) {
+            if (enrollmentRepository.existsByCourseId(id) || enrollmentArchiveService.containsCourse(id)) {
                 throw new RuntimeException("Cannot delete course. There are students enrolled in this course.");
             }
+            prerequisiteService.removeCourse(id);
             courseRepository.deleteById(id);
+            syncService.recordDeletion(SyncService.COURSE, List.of(id));
+            eventPublisher.publish(DomainEvent.courseChanged(DomainEventType.COURSE_DELETED, id));
         } else {
             throw new RuntimeException("Course not found with id: " + id);
         }
@@ -104,12 +221,39 @@ public class CourseService {
             throw new RuntimeException("Course not found with id: " + courseId);
         }
         
-        return enrollmentRepository.findByCourseId(courseId).stream()
-                .map(this::convertEnrollmentToDTO)
+        List<EnrollmentView> enrollments = enrollmentViewService.findByCourseId(courseId);
+        return RequestTiming.mapping(() -> enrollments.stream()
+                .map(EnrollmentMapper::toDTO)
+                .collect(Collectors.toList()));
+    }
+    
+    // Open a live seat-count stream for the given courses
+    public SseEmitter subscribeToSeats(List<Long> courseIds) {
+        return seatAvailabilityService.subscribe(courseIds);
+    }
+    
+    // Get the students in a course (dropped excluded) from the in-memory enrollment graph
+    public List<StudentDTO> getCourseRoster(Long courseId) {
+        long[] studentIds = enrollmentGraphService.studentsIn(courseId);
+        if (studentIds.length == 0) {
+            return List.of();
+        }
+        return studentRepository.findAllById(Arrays.stream(studentIds).boxed().collect(Collectors.toList())).stream()
+                .sorted(Comparator.comparing(Student::getLastName).thenComparing(Student::getFirstName))
+                .map(student -> new StudentDTO(
+                    student.getId(),
+                    student.getFirstName(),
+                    student.getLastName(),
+                    student.getEmail(),
+                    student.getPhoneNumber(),
+                    student.getStudentId()
+                ))
                 .collect(Collectors.toList());
     }
     
     // Add result to a student in a course
+    @Transactional
+    @Recorded(GradeEvent.class)
     public EnrollmentDTO addResult(Long courseId, Long studentId, Double grade, String gradeLetter, String comments) {
         Optional<Enrollment> enrollment = enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId);
         
@@ -118,17 +262,99 @@ public class CourseService {
         }
         
         Enrollment enrollmentEntity = enrollment.get();
+        Double oldGrade = enrollmentEntity.getGrade();
         enrollmentEntity.setGrade(grade);
-        enrollmentEntity.setGradeLetter(gradeLetter);
+        // Derive the letter from the numeric grade when the lecturer did not give one
+        enrollmentEntity.setGradeLetter(gradeLetter == null && grade != null ? GradeScale.letterFor(grade) : gradeLetter);
         enrollmentEntity.setComments(comments);
         enrollmentEntity.setStatus("COMPLETED");
         
         Enrollment savedEnrollment = enrollmentRepository.save(enrollmentEntity);
-        return convertEnrollmentToDTO(savedEnrollment);
+        enrollmentViewService.save(savedEnrollment);
+        academicSummaryService.applyGradeChange(studentId, oldGrade, grade, savedEnrollment.getCourse().getCredits());
+        eventPublisher.publish(DomainEvent.graded(studentId, courseId, grade));
+        return EnrollmentMapper.toDTO(savedEnrollment);
+    }
+    
+    // Get prerequisite rules for a course
+    public List<PrerequisiteDTO> getPrerequisites(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+        return prerequisiteService.getPrerequisites(courseId);
     }
     
-    // Convert Course entity to DTO
-    private CourseDTO convertToDTO(Course course) {
+    // Replace prerequisite rules for a course
+    public List<PrerequisiteDTO> setPrerequisites(Long courseId, List<PrerequisiteDTO> prerequisites) {
+        return prerequisiteService.setPrerequisites(courseId, prerequisites);
+    }
+    
+    // Get courses most often taken by students of this course, from the in-memory co-enrollment matrix
+    public List<CourseRecommendationDTO> getRecommendations(Long courseId, int limit) {
+        return coEnrollmentService.getRecommendations(courseId, Math.min(limit, coEnrollmentService.getTopK()));
+    }
+    
+    // Get grade statistics for a course from the in-memory distribution
+    public CourseStatisticsDTO getCourseStatistics(Long courseId) {
+        return courseStatisticsService.getStatistics(courseId);
+    }
+    
+    // Get a student's rank and percentile within a course
+    public CourseRankDTO getStudentRank(Long courseId, Long studentId) {
+        CourseRankDTO rank = courseStatisticsService.getRank(courseId, studentId);
+        if (rank == null) {
+            throw new RuntimeException("Student has no grade in this course");
+        }
+        return rank;
+    }
+    
+    // Get the highest-graded students in a course
+    public List<CourseRankDTO> getTopStudents(Long courseId, int limit) {
+        return withStudentNames(courseStatisticsService.getTop(courseId, limit));
+    }
+    
+    // Get the lowest-graded students in a course
+    public List<CourseRankDTO> getBottomStudents(Long courseId, int limit) {
+        return withStudentNames(courseStatisticsService.getBottom(courseId, limit));
+    }
+    
+    // Fill in names for a bounded ranking list with a single lookup
+    private List<CourseRankDTO> withStudentNames(List<CourseRankDTO> ranks) {
+        if (ranks.isEmpty()) {
+            return ranks;
+        }
+        Map<Long, Student> students = studentRepository.findAllById(
+                ranks.stream().map(CourseRankDTO::getStudentId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        for (CourseRankDTO rank : ranks) {
+            Student student = students.get(rank.getStudentId());
+            if (student != null) {
+                rank.setStudentName(student.getFirstName() + " " + student.getLastName());
+            }
+        }
+        return ranks;
+    }
+    
+    // Convert Course entity to DTO (package-private for the mapping benchmarks)
+    CourseDTO convertToDTO(Course course) {
+        CourseDTO dto = convertFields(course);
+        dto.setEnrollments(course.getEnrollments().stream()
+                .map(EnrollmentMapper::toDTO)
+                .collect(Collectors.toList()));
+        return dto;
+    }
+    
+    // Convert a Course with the given enrollments from the view
+    private CourseDTO convertToDTO(Course course, List<EnrollmentView> enrollments) {
+        CourseDTO dto = convertFields(course);
+        dto.setEnrollments(enrollments.stream()
+                .map(EnrollmentMapper::toDTO)
+                .collect(Collectors.toList()));
+        return dto;
+    }
+    
+    private CourseDTO convertFields(Course course) {
         CourseDTO dto = new CourseDTO(
             course.getId(),
             course.getCourseCode(),
@@ -139,30 +365,9 @@ public class CourseService {
             course.getMaxStudents(),
             course.getStatus()
         );
-        
-        // Convert enrollments if needed
-        List<EnrollmentDTO> enrollmentDTOs = course.getEnrollments().stream()
-                .map(this::convertEnrollmentToDTO)
-                .collect(Collectors.toList());
-        dto.setEnrollments(enrollmentDTOs);
-        
+        dto.setMeetingSlots(timetableService.toMeetingSlotDTOs(course.getMeetingSlots()));
+        // The proxy hands out its id without loading the term
+        dto.setTermId(course.getTerm() != null ? course.getTerm().getId() : null);
         return dto;
     }
-    
-    // Convert Enrollment entity to DTO
-    private EnrollmentDTO convertEnrollmentToDTO(Enrollment enrollment) {
-        return new EnrollmentDTO(
-            enrollment.getId(),
-            enrollment.getStudent().getId(),
-            enrollment.getStudent().getFirstName() + " " + enrollment.getStudent().getLastName(),
-            enrollment.getCourse().getId(),
-            enrollment.getCourse().getCourseName(),
-            enrollment.getCourse().getCourseCode(),
-            enrollment.getEnrollmentDate(),
-            enrollment.getStatus(),
-            enrollment.getGrade(),
-            enrollment.getGradeLetter(),
-            enrollment.getComments()
-        );
-    }
 } 
\ No newline at end of file
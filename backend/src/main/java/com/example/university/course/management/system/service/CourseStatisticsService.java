@@ -0,0 +1,163 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.dto.CourseRankDTO;
+import com.example.university.course.management.system.dto.CourseStatisticsDTO;
+import com.example.university.course.management.system.event.DomainEvent;
+import com.example.university.course.management.system.event.DomainEventListener;
+import com.example.university.course.management.system.index.CourseGradeBook;
+import com.example.university.course.management.system.index.RebuildableIndex;
+import com.example.university.course.management.system.repository.EnrollmentRepository;
+import com.example.university.course.management.system.repository.GradeRecord;
+import com.example.university.course.management.system.util.GradeScale;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Per-course grade distributions and rankings kept in memory so these reads never touch the database
+@Service
+public class CourseStatisticsService implements RebuildableIndex, DomainEventListener {
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private EnrollmentArchiveService enrollmentArchiveService;
+
+    // Null until the first rebuild completes
+    private volatile ConcurrentHashMap<Long, CourseGradeBook> books;
+
+    // Published while a rebuild is loading so live grade changes also reach the new books
+    private volatile ConcurrentHashMap<Long, CourseGradeBook> building;
+
+    @Override
+    public String getName() {
+        return "course-statistics";
+    }
+
+    @Override
+    public boolean isReady() {
+        return books != null;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        ConcurrentHashMap<Long, CourseGradeBook> next = new ConcurrentHashMap<>();
+        building = next;
+        try (Stream<GradeRecord> records = enrollmentRepository.streamAllGradeRecords()) {
+            records.forEach(record -> next
+                    .computeIfAbsent(record.getCourseId(), id -> new CourseGradeBook(true))
+                    .load(record.getStudentId(), record.getGrade()));
+            enrollmentArchiveService.forEach(row -> {
+                if (row.getGrade() != null) {
+                    next.computeIfAbsent(row.getCourseId(), id -> new CourseGradeBook(true))
+                            .load(row.getStudentId(), row.getGrade());
+                }
+            });
+            books = next;
+        } finally {
+            building = null;
+        }
+        next.values().forEach(CourseGradeBook::finishLoading);
+    }
+
+    // Grade changes set the student's grade; drops and deletions clear it
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            switch (event.getType()) {
+                case GRADED -> apply(event.getCourseId(), event.getStudentId(), event.getGrade());
+                case DROPPED -> apply(event.getCourseId(), event.getStudentId(), null);
+                case STUDENT_DELETED -> event.getCourseIds().forEach(courseId -> apply(courseId, event.getStudentId(), null));
+                default -> { }
+            }
+        }
+    }
+
+    public CourseStatisticsDTO getStatistics(Long courseId) {
+        CourseGradeBook.Snapshot snapshot = book(courseId).snapshot();
+
+        Map<String, Integer> letterDistribution = new LinkedHashMap<>();
+        int[] letterCounts = snapshot.getLetterCounts();
+        for (int i = 0; i < GradeScale.LETTERS.length; i++) {
+            letterDistribution.put(GradeScale.LETTERS[i], letterCounts[i]);
+        }
+        return new CourseStatisticsDTO(
+            courseId,
+            snapshot.getCount(),
+            snapshot.getMean(),
+            snapshot.getMedian(),
+            snapshot.getStandardDeviation(),
+            snapshot.getMin(),
+            snapshot.getMax(),
+            letterDistribution
+        );
+    }
+
+    // Rank and percentile of one student's grade; null when the student has no grade in the course
+    public CourseRankDTO getRank(Long courseId, Long studentId) {
+        CourseGradeBook book = book(courseId);
+        CourseGradeBook.RankEntry entry = book.rankOf(studentId);
+        return entry == null ? null : convertToDTO(courseId, entry, book.getCount());
+    }
+
+    public List<CourseRankDTO> getTop(Long courseId, int limit) {
+        CourseGradeBook book = book(courseId);
+        return convertToDTOs(courseId, book.top(limit), book);
+    }
+
+    public List<CourseRankDTO> getBottom(Long courseId, int limit) {
+        CourseGradeBook book = book(courseId);
+        return convertToDTOs(courseId, book.bottom(limit), book);
+    }
+
+    private CourseGradeBook book(Long courseId) {
+        Map<Long, CourseGradeBook> current = books;
+        if (current == null) {
+            throw new IllegalStateException("Course statistics are still being built");
+        }
+        CourseGradeBook book = current.get(courseId);
+        return book != null ? book : new CourseGradeBook(false);
+    }
+
+    private List<CourseRankDTO> convertToDTOs(Long courseId, List<CourseGradeBook.RankEntry> entries, CourseGradeBook book) {
+        if (entries.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int gradedCount = book.getCount();
+        return entries.stream()
+                .map(entry -> convertToDTO(courseId, entry, gradedCount))
+                .collect(Collectors.toList());
+    }
+
+    private CourseRankDTO convertToDTO(Long courseId, CourseGradeBook.RankEntry entry, int gradedCount) {
+        return new CourseRankDTO(
+            courseId,
+            entry.getStudentId(),
+            entry.getGrade(),
+            entry.getRank(),
+            entry.getPercentile(),
+            gradedCount
+        );
+    }
+
+    private void apply(Long courseId, Long studentId, Double grade) {
+        // Read the in-progress map first: if it is already gone, the rebuild has published it
+        ConcurrentHashMap<Long, CourseGradeBook> inProgress = building;
+        if (inProgress != null) {
+            inProgress.computeIfAbsent(courseId, id -> new CourseGradeBook(true)).setGrade(studentId, grade);
+        }
+        ConcurrentHashMap<Long, CourseGradeBook> current = books;
+        if (current != null && current != inProgress) {
+            current.computeIfAbsent(courseId, id -> new CourseGradeBook(false)).setGrade(studentId, grade);
+        }
+    }
+}
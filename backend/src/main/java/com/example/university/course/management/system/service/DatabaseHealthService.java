@@ -0,0 +1,165 @@
+package com.example.university.course.management.system.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks the database on a fixed interval and keeps the last result, so health probes answer from
+ * memory instead of taking a pool connection per call.
+ *
+ * The check runs on its own thread rather than the shared scheduler, so a slow or hanging database
+ * cannot hold up outbox delivery or index compaction. Liveness only asks whether that thread is
+ * still making progress; readiness also needs a recent successful check.
+ */
+@Service
+public class DatabaseHealthService {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseHealthService.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${health.check-interval-ms:10000}")
+    private long checkIntervalMs;
+
+    @Value("${health.validation-timeout-seconds:2}")
+    private int validationTimeoutSeconds;
+
+    @Value("${health.stale-after-ms:60000}")
+    private long staleAfterMs;
+
+    // Null until the first check completes
+    private volatile Result result;
+    private volatile long lastAttemptNanos = System.nanoTime();
+
+    private ScheduledExecutorService checker;
+
+    @PostConstruct
+    public void start() {
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "database-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::checkSafely, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        checker.shutdownNow();
+    }
+
+    public Result getResult() {
+        return result;
+    }
+
+    // The checker is still running, whatever the database says
+    public boolean isLive() {
+        return System.nanoTime() - lastAttemptNanos < TimeUnit.MILLISECONDS.toNanos(staleAfterMs);
+    }
+
+    // The last check succeeded and is recent enough to trust
+    public boolean isReady() {
+        Result current = result;
+        return current != null && current.isUp()
+                && System.nanoTime() - current.checkedAtNanos < TimeUnit.MILLISECONDS.toNanos(staleAfterMs);
+    }
+
+    private void checkSafely() {
+        try {
+            result = check();
+        } catch (RuntimeException e) {
+            log.warn("Database health check failed", e);
+        } finally {
+            lastAttemptNanos = System.nanoTime();
+        }
+    }
+
+    private Result check() {
+        Result previous = result;
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(validationTimeoutSeconds)) {
+                return Result.down(previous, "Connection did not validate within " + validationTimeoutSeconds + "s");
+            }
+            if (previous != null && previous.databaseProduct != null) {
+                // Catalog and product do not change while the application runs
+                return Result.up(previous.databaseName, previous.databaseProduct, previous.databaseVersion);
+            }
+            DatabaseMetaData metaData = connection.getMetaData();
+            return Result.up(connection.getCatalog(), metaData.getDatabaseProductName(), metaData.getDatabaseProductVersion());
+        } catch (Exception e) {
+            if (previous == null || previous.isUp()) {
+                log.warn("Database became unavailable: {}", e.getMessage());
+            }
+            return Result.down(previous, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    public static final class Result {
+        private final boolean up;
+        private final String databaseName;
+        private final String databaseProduct;
+        private final String databaseVersion;
+        private final String error;
+        private final Instant checkedAt;
+        private final long checkedAtNanos;
+
+        private Result(boolean up, String databaseName, String databaseProduct, String databaseVersion, String error) {
+            this.up = up;
+            this.databaseName = databaseName;
+            this.databaseProduct = databaseProduct;
+            this.databaseVersion = databaseVersion;
+            this.error = error;
+            this.checkedAt = Instant.now();
+            this.checkedAtNanos = System.nanoTime();
+        }
+
+        static Result up(String databaseName, String databaseProduct, String databaseVersion) {
+            return new Result(true, databaseName, databaseProduct, databaseVersion, null);
+        }
+
+        // Keeps what was learned about the database while it was reachable
+        static Result down(Result previous, String error) {
+            return previous != null
+                    ? new Result(false, previous.databaseName, previous.databaseProduct, previous.databaseVersion, error)
+                    : new Result(false, null, null, null, error);
+        }
+
+        public boolean isUp() {
+            return up;
+        }
+
+        public String getDatabaseName() {
+            return databaseName;
+        }
+
+        public String getDatabaseProduct() {
+            return databaseProduct;
+        }
+
+        public String getDatabaseVersion() {
+            return databaseVersion;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public Instant getCheckedAt() {
+            return checkedAt;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.util.GradeScale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads a synthetic, seeded dataset when the application is started with --dataset.generate, e.g.
+ *
+ *   java -jar app.jar --dataset.generate --dataset.students=500000 --dataset.courses=20000 --dataset.enrollments=10000000
+ *
+ * Rows are written straight through JDBC as multi-row INSERTs, one transaction per chunk, with
+ * chunks loaded in parallel. Every chunk draws from its own Random derived from the seed and the
+ * chunk's first row, so the same seed gives the same data whatever the thread count. Course
+ * popularity follows a Zipf distribution, so a few courses are very full and most are small.
+ * Courses are spread round-robin over half-year terms ending with the one running on the reference
+ * date, and each enrollment is dated shortly before its course's term starts.
+ * Rows are appended after the current maximum ids; the in-memory indexes, GPA summaries and the
+ * enrollment read model are built by the usual startup listeners, which run after this.
+ * Term codes, course codes, student numbers and emails all carry the seed, so a seed can be loaded
+ * into a database once; a second run with it stops before inserting anything, and another seed
+ * adds a second dataset alongside the first.
+ */
+@Component
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final int CHUNK_SIZE = 5000;
+    private static final LocalDateTime REFERENCE_DATE = LocalDateTime.of(2025, 9, 1, 0, 0);
+
+    private static final String[] FIRST_NAMES = {"Amal", "Nimali", "Kasun", "Dilini", "Ruwan", "Sanduni", "Tharindu",
+            "Ishara", "Chamara", "Hiruni", "Nuwan", "Pavithra", "Lahiru", "Madushani", "Sahan", "Anjali"};
+    private static final String[] LAST_NAMES = {"Perera", "Fernando", "Silva", "Jayasinghe", "Bandara",
+            "Wickramasinghe", "Dissanayake", "Gunawardena", "Rathnayake", "Herath", "Karunaratne", "Senanayake"};
+    private static final String[] SUBJECTS = {"Algorithms", "Databases", "Networks", "Statistics", "Calculus",
+            "Physics", "Economics", "Psychology", "Literature", "Chemistry", "Biology", "Philosophy"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Value("${dataset.seed:42}")
+    private long seed;
+
+    @Value("${dataset.students:500000}")
+    private int studentCount;
+
+    @Value("${dataset.courses:20000}")
+    private int courseCount;
+
+    @Value("${dataset.enrollments:10000000}")
+    private long enrollmentCount;
+
+    // Half-year terms to spread the courses over; every course needs one, so at least 1
+    @Value("${dataset.terms:8}")
+    private int termCount;
+
+    @Value("${dataset.popularity-skew:1.0}")
+    private double popularitySkew;
+
+    @Value("${dataset.threads:4}")
+    private int threads;
+
+    @Value("${dataset.rows-per-insert:1000}")
+    private int rowsPerInsert;
+
+    // Every generated account shares this password; hashing one per row would take hours
+    @Value("${dataset.password:changeme}")
+    private String password;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (args.containsOption("dataset.generate")) {
+            generate();
+        }
+    }
+
+    public void generate() throws InterruptedException, ExecutionException {
+        long start = System.nanoTime();
+        long studentBase = maxId("students");
+        long courseBase = maxId("courses");
+        if (termCount < 1) {
+            throw new IllegalArgumentException("dataset.terms must be at least 1");
+        }
+        checkSeedUnused();
+        long termBase = insertTerms();
+        int lecturerCount = Math.max(1, courseCount / 8);
+        String passwordHash = passwordHashingService.hash(password);
+        Popularity popularity = new Popularity(courseCount, popularitySkew, new Random(seed));
+        double enrollmentsPerStudent = (double) enrollmentCount / studentCount;
+        log.info("Generating {} students, {} courses and about {} enrollments with seed {}",
+                studentCount, courseCount, enrollmentCount, seed);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            runChunks(pool, courseCount, (from, to) -> insertCourses(from, to, courseBase, termBase, lecturerCount, popularity));
+            runChunks(pool, lecturerCount, (from, to) -> insertLecturers(from, to, passwordHash));
+            runChunks(pool, studentCount, (from, to) ->
+                    insertStudents(from, to, studentBase, courseBase, termBase, passwordHash, popularity, enrollmentsPerStudent));
+        } finally {
+            pool.shutdown();
+        }
+        log.info("Generated dataset in {} s", (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    // Fail before the first insert when any key this seed generates is taken, rather than part way through a load
+    private void checkSeedUnused() {
+        String keys = "G" + seed + "-%";
+        String emails = "%." + seed + "@gen.university.edu";
+        int taken = count("SELECT COUNT(*) FROM terms WHERE code LIKE ?", keys)
+                + count("SELECT COUNT(*) FROM courses WHERE course_code LIKE ?", keys)
+                + count("SELECT COUNT(*) FROM students WHERE student_id LIKE ?", keys)
+                + count("SELECT COUNT(*) FROM user WHERE email LIKE ?", emails);
+        if (taken > 0) {
+            throw new IllegalStateException("A dataset with seed " + seed + " is already loaded (" + taken
+                    + " rows use its keys); start with a different dataset.seed");
+        }
+    }
+
+    private int count(String sql, String pattern) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, pattern);
+        return count != null ? count : 0;
+    }
+
+    // Terms, newest first, each starting six months after the one before; returns the id before the first
+    private long insertTerms() {
+        long termBase = maxId("terms");
+        List<Object[]> terms = new ArrayList<>();
+        for (int k = 0; k < termCount; k++) {
+            LocalDate start = REFERENCE_DATE.toLocalDate().minusMonths(6L * k);
+            terms.add(new Object[]{termBase + k + 1, String.format("G%d-T%02d", seed, k),
+                    "Generated term " + start.getYear() + "/" + start.getMonthValue(), start, start.plusMonths(6).minusDays(1)});
+        }
+        transactionTemplate.executeWithoutResult(status -> insert("terms", "id, code, name, start_date, end_date", terms));
+        return termBase;
+    }
+
+    // The term a course is offered in
+    private long termOf(long termBase, int course) {
+        return termBase + course % termCount + 1;
+    }
+
+    private void insertCourses(int from, int to, long courseBase, long termBase, int lecturerCount, Popularity popularity) {
+        Random random = chunkRandom(1, from);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> courses = new ArrayList<>();
+        List<Object[]> slots = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            long id = courseBase + i + 1;
+            String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+            // Room for the students expected to be active in the course at once, with some slack
+            int maxStudents = Math.max(30, (int) Math.ceil(popularity.share(i) * enrollmentCount * 0.4));
+            courses.add(new Object[]{id, String.format("G%d-%06d", seed, i), subject + " " + (100 + i % 400),
+                    "Generated course covering " + subject.toLowerCase() + " topics, level " + (1 + i % 4) + ".",
+                    1 + random.nextInt(4), "Lecturer " + (i % lecturerCount), maxStudents,
+                    random.nextInt(20) == 0 ? "INACTIVE" : "ACTIVE", termOf(termBase, i), now});
+            DayOfWeek day = DayOfWeek.of(1 + random.nextInt(5));
+            for (int meeting = 0; meeting < 2; meeting++) {
+                int hour = 8 + random.nextInt(9);
+                slots.add(new Object[]{id, day.plus(meeting * 2L).name(), LocalTime.of(hour, 0), LocalTime.of(hour + 1, 30)});
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            insert("courses", "id, course_code, course_name, description, credits, instructor, max_students, status, term_id, updated_at", courses);
+            insert("course_meeting_slots", "course_id, day_of_week, start_time, end_time", slots);
+        });
+    }
+
+    private void insertLecturers(int from, int to, String passwordHash) {
+        List<Object[]> users = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            users.add(new Object[]{String.format("lecturer%d.%d@gen.university.edu", i, seed), passwordHash, "lecturer", false});
+        }
+        transactionTemplate.executeWithoutResult(status -> insert("user", "email, password, role, first_login", users));
+    }
+
+    private void insertStudents(int from, int to, long studentBase, long courseBase, long termBase, String passwordHash,
+                                Popularity popularity, double enrollmentsPerStudent) {
+        Random random = chunkRandom(2, from);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> students = new ArrayList<>();
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> enrollments = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            long id = studentBase + i + 1;
+            String email = String.format("s%d.%d@gen.university.edu", i, seed);
+            students.add(new Object[]{id, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)], email, String.format("07%08d", random.nextInt(100_000_000)),
+                    String.format("G%d-%07d", seed, i), now});
+            users.add(new Object[]{email, passwordHash, "student", true});
+
+            // Between half and one and a half times the average, distinct courses drawn by popularity
+            int count = (int) Math.round(enrollmentsPerStudent * (0.5 + random.nextDouble()));
+            int[] courses = popularity.sampleDistinct(random, Math.min(count, courseCount));
+            for (int course : courses) {
+                long termId = termOf(termBase, course);
+                // Registration in the month before the course's term starts
+                LocalDateTime termStart = REFERENCE_DATE.minusMonths(6L * (termId - termBase - 1));
+                LocalDateTime enrolledAt = termStart.minusMinutes(random.nextInt(30 * 24 * 60));
+                int outcome = random.nextInt(10);
+                if (outcome < 6) {
+                    double grade = Math.max(0, Math.min(GradeScale.MAX_GRADE, Math.round(68 + random.nextGaussian() * 15)));
+                    enrollments.add(new Object[]{id, courseBase + course + 1, termId, enrolledAt, "COMPLETED", grade,
+                            GradeScale.letterFor(grade), null, now});
+                } else {
+                    enrollments.add(new Object[]{id, courseBase + course + 1, termId, enrolledAt,
+                            outcome < 9 ? "ENROLLED" : "DROPPED", null, null, null, now});
+                }
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            insert("students", "id, first_name, last_name, email, phone_number, student_id, updated_at", students);
+            insert("user", "email, password, role, first_login", users);
+            insert("enrollments", "student_id, course_id, term_id, enrollment_date, status, grade, grade_letter, comments, updated_at", enrollments);
+        });
+    }
+
+    // Multi-row INSERTs of up to rowsPerInsert rows each
+    private void insert(String table, String columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        int width = rows.get(0).length;
+        String row = "(" + String.join(", ", Collections.nCopies(width, "?")) + ")";
+        for (int from = 0; from < rows.size(); from += rowsPerInsert) {
+            int to = Math.min(from + rowsPerInsert, rows.size());
+            Object[] values = new Object[(to - from) * width];
+            for (int i = from; i < to; i++) {
+                System.arraycopy(rows.get(i), 0, values, (i - from) * width, width);
+            }
+            jdbcTemplate.update("INSERT INTO " + table + " (" + columns + ") VALUES "
+                    + String.join(", ", Collections.nCopies(to - from, row)), values);
+        }
+    }
+
+    private void runChunks(ExecutorService pool, int total, ChunkLoader loader) throws InterruptedException, ExecutionException {
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < total; from += CHUNK_SIZE) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(from + CHUNK_SIZE, total);
+            chunks.add(pool.submit(() -> loader.load(chunkFrom, chunkTo)));
+        }
+        for (Future<?> chunk : chunks) {
+            chunk.get();
+        }
+    }
+
+    private Random chunkRandom(int stream, int from) {
+        return new Random(seed * 1_000_003L + stream * 0x9E3779B97F4A7C15L + from);
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    @FunctionalInterface
+    private interface ChunkLoader {
+        void load(int from, int to);
+    }
+
+    // Zipf-distributed course popularity; ranks are shuffled so popular courses are spread over the ids
+    static final class Popularity {
+        private final double[] cumulative;
+        private final int[] courseAtRank;
+        private final double[] shareOfCourse;
+
+        Popularity(int courses, double skew, Random random) {
+            cumulative = new double[courses];
+            double total = 0;
+            for (int rank = 0; rank < courses; rank++) {
+                total += 1 / Math.pow(rank + 1, skew);
+                cumulative[rank] = total;
+            }
+            courseAtRank = new int[courses];
+            for (int i = 0; i < courses; i++) {
+                courseAtRank[i] = i;
+            }
+            for (int i = courses - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = courseAtRank[i];
+                courseAtRank[i] = courseAtRank[j];
+                courseAtRank[j] = swap;
+            }
+            shareOfCourse = new double[courses];
+            for (int rank = 0; rank < courses; rank++) {
+                shareOfCourse[courseAtRank[rank]] = (1 / Math.pow(rank + 1, skew)) / total;
+            }
+        }
+
+        double share(int course) {
+            return shareOfCourse[course];
+        }
+
+        int sample(Random random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int rank = Arrays.binarySearch(cumulative, target);
+            return courseAtRank[rank >= 0 ? rank : -rank - 1];
+        }
+
+        // Redraws on repeats; fine while count is far below the number of courses
+        int[] sampleDistinct(Random random, int count) {
+            int[] picked = new int[count];
+            int size = 0;
+            while (size < count) {
+                int course = sample(random);
+                boolean repeat = false;
+                for (int i = 0; i < size && !repeat; i++) {
+                    repeat = picked[i] == course;
+                }
+                if (!repeat) {
+                    picked[size++] = course;
+                }
+            }
+            return picked;
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.archive.ArchivedEnrollment;
+import com.example.university.course.management.system.archive.EnrollmentSegment;
+import com.example.university.course.management.system.entity.ArchivedStudentDeletion;
+import com.example.university.course.management.system.entity.Course;
+import com.example.university.course.management.system.entity.Enrollment;
+import com.example.university.course.management.system.jfr.BulkOperationEvent;
+import com.example.university.course.management.system.jfr.Recorded;
+import com.example.university.course.management.system.repository.ArchivedStudentDeletionRepository;
+import com.example.university.course.management.system.repository.CourseRepository;
+import com.example.university.course.management.system.repository.EnrollmentPair;
+import com.example.university.course.management.system.repository.EnrollmentRepository;
+import com.example.university.course.management.system.repository.GradeRecord;
+import com.example.university.course.management.system.util.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Moves completed enrollments from past years out of the enrollments table into immutable
+ * segment files (see EnrollmentSegment), and merges them back into the reads that cover a
+ * student's whole history: transcripts, prerequisite checks, duplicate enrollment checks, GPA
+ * backfills and the index rebuilds.
+ *
+ * Each batch is written, forced to disk and then deleted from the table in one transaction that
+ * holds row locks on the batch, so a row is never changed after it was copied. The segment joins
+ * the readable set just before that transaction commits. The file carries a .pending suffix until
+ * the commit; a pending file found at startup is kept if its rows are gone from the table and
+ * discarded if they are still there. Segments are never
+ * rewritten, so a deleted student's archived rows are hidden through a table of deleted student
+ * ids instead, written in the transaction that deletes the student.
+ */
+@Service
+public class EnrollmentArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentArchiveService.class);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String PENDING_SUFFIX = ".seg.pending";
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private EnrollmentViewService enrollmentViewService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ArchivedStudentDeletionRepository deletedStudentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // This bean through its proxy, so scheduled runs are recorded like calls from other beans
+    @Lazy
+    @Autowired
+    private EnrollmentArchiveService self;
+
+    @Value("${archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${archive.directory:data/enrollment-archive}")
+    private String directory;
+
+    // Calendar years kept in the live table, counting the current one
+    @Value("${archive.keep-years:1}")
+    private int keepYears;
+
+    @Value("${archive.segment-rows:10000}")
+    private int segmentRows;
+
+    @Value("${archive.max-segments-per-run:20}")
+    private int maxSegmentsPerRun;
+
+    private Path root;
+    private long nextSequence = 1;
+    private final List<EnrollmentSegment> segments = new CopyOnWriteArrayList<>();
+    private final Set<Long> deletedStudents = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Path.of(directory);
+        Files.createDirectories(root);
+        List<Path> segmentFiles = new ArrayList<>();
+        List<Path> pendingFiles = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root, "enrollments-*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(SEGMENT_SUFFIX)) {
+                    segmentFiles.add(file);
+                } else if (name.endsWith(PENDING_SUFFIX)) {
+                    pendingFiles.add(file);
+                }
+                nextSequence = Math.max(nextSequence, sequenceOf(name) + 1);
+            }
+        }
+        for (Path pending : pendingFiles) {
+            Path promoted = recover(pending);
+            if (promoted != null) {
+                segmentFiles.add(promoted);
+            }
+        }
+        segmentFiles.sort(Comparator.naturalOrder());
+        for (Path file : segmentFiles) {
+            segments.add(EnrollmentSegment.open(file));
+        }
+        deletedStudents.addAll(deletedStudentRepository.findAllStudentIds());
+        log.info("Loaded {} enrollment archive segments ({} rows)", segments.size(),
+                segments.stream().mapToLong(EnrollmentSegment::size).sum());
+    }
+
+    @Scheduled(cron = "${archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            self.archiveCompleted();
+        } catch (RuntimeException e) {
+            log.error("Enrollment archiving failed", e);
+        }
+    }
+
+    // Archive completed enrollments from before the kept years, one segment per batch; returns the rows moved
+    @Recorded(value = BulkOperationEvent.class, operation = "enrollmentArchive")
+    public synchronized long archiveCompleted() {
+        LocalDateTime cutoff = LocalDate.now().withDayOfYear(1).minusYears(keepYears - 1L).atStartOfDay();
+        long archived = 0;
+        for (int run = 0; run < maxSegmentsPerRun; run++) {
+            int rows = archiveBatch(cutoff);
+            archived += rows;
+            if (rows < segmentRows) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} completed enrollments from before {}", archived, cutoff.toLocalDate());
+        }
+        return archived;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        String name = String.format("enrollments-%06d", nextSequence);
+        Path pending = root.resolve(name + PENDING_SUFFIX);
+        Integer rows;
+        try {
+            rows = transactionTemplate.execute(status -> {
+                List<Enrollment> batch = enrollmentRepository.findArchivable(cutoff, PageRequest.of(0, segmentRows));
+                if (batch.isEmpty()) {
+                    return 0;
+                }
+                List<ArchivedEnrollment> archived = batch.stream()
+                        .map(enrollment -> new ArchivedEnrollment(
+                            enrollment.getId(),
+                            enrollment.getStudent().getId(),
+                            enrollment.getCourse().getId(),
+                            enrollment.getTermId(),
+                            enrollment.getEnrollmentDate(),
+                            enrollment.getGrade(),
+                            enrollment.getGradeLetter(),
+                            enrollment.getComments()
+                        ))
+                        .collect(Collectors.toList());
+                try {
+                    EnrollmentSegment.write(pending, archived);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                List<Long> ids = archived.stream().map(ArchivedEnrollment::getId).collect(Collectors.toList());
+                for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size()));
+                    enrollmentRepository.deleteArchived(chunk);
+                    enrollmentViewService.delete(chunk);
+                }
+                publishOnCommit(pending);
+                return batch.size();
+            });
+        } catch (RuntimeException e) {
+            deleteQuietly(pending);
+            throw e;
+        }
+        if (rows == null || rows == 0) {
+            return 0;
+        }
+        nextSequence++;
+        try {
+            Files.move(pending, root.resolve(name + SEGMENT_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The segment is already being read; the pending file is promoted at the next startup
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    // Make the batch's segment readable just before its rows' delete commits, so every row is always
+    // live, archived or (until the commit lands) briefly both, never neither; withdrawn on rollback
+    private void publishOnCommit(Path pending) {
+        EnrollmentSegment segment;
+        try {
+            segment = EnrollmentSegment.open(pending);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                segments.add(segment);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    segments.remove(segment);
+                }
+            }
+        });
+    }
+
+    // Promote a pending segment whose delete committed, or discard one whose rows are still live
+    private Path recover(Path pending) throws IOException {
+        EnrollmentSegment segment = EnrollmentSegment.open(pending);
+        List<Long> ids = new ArrayList<>();
+        for (ArchivedEnrollment row : segment) {
+            ids.add(row.getId());
+            if (ids.size() == DELETE_CHUNK_SIZE) {
+                break;
+            }
+        }
+        if (!ids.isEmpty() && enrollmentRepository.countByIdIn(ids) > 0) {
+            log.warn("Discarding archive segment {}; its rows were never deleted", pending);
+            Files.delete(pending);
+            return null;
+        }
+        String name = pending.getFileName().toString();
+        Path promoted = pending.resolveSibling(name.substring(0, name.length() - PENDING_SUFFIX.length()) + SEGMENT_SUFFIX);
+        return Files.move(pending, promoted, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Hide a deleted student's archived rows; call in the deleting transaction, so the record commits
+    // or rolls back with the delete
+    public void markStudentDeleted(Long studentId) {
+        if (deletedStudents.contains(studentId) || !hasArchivedRows(studentId)) {
+            return;
+        }
+        deletedStudentRepository.save(new ArchivedStudentDeletion(studentId));
+        AfterCommit.run(() -> deletedStudents.add(studentId));
+    }
+
+    public List<ArchivedEnrollment> findByStudentId(Long studentId) {
+        if (segments.isEmpty() || deletedStudents.contains(studentId)) {
+            return List.of();
+        }
+        List<ArchivedEnrollment> rows = new ArrayList<>();
+        for (EnrollmentSegment segment : segments) {
+            rows.addAll(segment.findByStudentId(studentId));
+        }
+        return rows;
+    }
+
+    public boolean exists(Long studentId, Long courseId) {
+        return findByStudentId(studentId).stream().anyMatch(row -> row.getCourseId().equals(courseId));
+    }
+
+    public boolean containsCourse(Long courseId) {
+        return segments.stream().anyMatch(segment -> segment.containsCourse(courseId));
+    }
+
+    // Graded archived rows of these students, shaped like the repository's grade records
+    public List<GradeRecord> findGradeRecordsByStudentIds(Collection<Long> studentIds) {
+        List<ArchivedEnrollment> rows = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            findByStudentId(studentId).stream().filter(row -> row.getGrade() != null).forEach(rows::add);
+        }
+        return toGradeRecords(rows);
+    }
+
+    public List<GradeRecord> findGradeRecordsByCourseId(Long courseId) {
+        List<ArchivedEnrollment> rows = new ArrayList<>();
+        for (EnrollmentSegment segment : segments) {
+            segment.forEachInCourse(courseId, row -> {
+                if (row.getGrade() != null && !deletedStudents.contains(row.getStudentId())) {
+                    rows.add(row);
+                }
+            });
+        }
+        return toGradeRecords(rows);
+    }
+
+    // Every visible archived row, segment by segment, for index rebuilds
+    public void forEach(Consumer<ArchivedEnrollment> action) {
+        for (EnrollmentSegment segment : segments) {
+            for (ArchivedEnrollment row : segment) {
+                if (!deletedStudents.contains(row.getStudentId())) {
+                    action.accept(row);
+                }
+            }
+        }
+    }
+
+    // Merge archived pairs into a stream of live pairs ordered by student, keeping the student order
+    public Stream<EnrollmentPair> withArchivedPairs(Stream<EnrollmentPair> live) {
+        if (segments.isEmpty()) {
+            return live;
+        }
+        List<Iterator<? extends EnrollmentPair>> sources = new ArrayList<>();
+        sources.add(live.iterator());
+        segments.forEach(segment -> sources.add(segment.iterator()));
+        Iterator<EnrollmentPair> merged = new Iterator<>() {
+            private final PriorityQueue<Head> heads = new PriorityQueue<>(
+                    Comparator.comparing((Head head) -> head.value.getStudentId()));
+
+            {
+                sources.forEach(source -> advance(source));
+            }
+
+            private void advance(Iterator<? extends EnrollmentPair> source) {
+                if (source.hasNext()) {
+                    heads.add(new Head(source.next(), source));
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public EnrollmentPair next() {
+                Head head = heads.poll();
+                if (head == null) {
+                    throw new NoSuchElementException();
+                }
+                advance(head.source);
+                return head.value;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .filter(pair -> !deletedStudents.contains(pair.getStudentId()))
+                .onClose(live::close);
+    }
+
+    public List<EnrollmentSegment> getSegments() {
+        return List.copyOf(segments);
+    }
+
+    private boolean hasArchivedRows(Long studentId) {
+        return segments.stream().anyMatch(segment -> !segment.findByStudentId(studentId).isEmpty());
+    }
+
+    // Credits come from the course as it is now, like the live grade record queries
+    private List<GradeRecord> toGradeRecords(List<ArchivedEnrollment> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> credits = courseRepository.findAllById(
+                        rows.stream().map(ArchivedEnrollment::getCourseId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Course::getId, Course::getCredits));
+        List<GradeRecord> records = new ArrayList<>(rows.size());
+        for (ArchivedEnrollment row : rows) {
+            records.add(new ArchivedGradeRecord(row, credits.get(row.getCourseId())));
+        }
+        return records;
+    }
+
+    private static long sequenceOf(String name) {
+        try {
+            return Long.parseLong(name.substring("enrollments-".length(), name.indexOf('.')));
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+
+    private static final class Head {
+        final EnrollmentPair value;
+        final Iterator<? extends EnrollmentPair> source;
+
+        Head(EnrollmentPair value, Iterator<? extends EnrollmentPair> source) {
+            this.value = value;
+            this.source = source;
+        }
+    }
+
+    private static final class ArchivedGradeRecord implements GradeRecord {
+        private final ArchivedEnrollment row;
+        private final Integer credits;
+
+        ArchivedGradeRecord(ArchivedEnrollment row, Integer credits) {
+            this.row = row;
+            this.credits = credits;
+        }
+
+        @Override
+        public Long getEnrollmentId() {
+            return row.getId();
+        }
+
+        @Override
+        public Long getStudentId() {
+            return row.getStudentId();
+        }
+
+        @Override
+        public Long getCourseId() {
+            return row.getCourseId();
+        }
+
+        @Override
+        public Integer getCredits() {
+            return credits;
+        }
+
+        @Override
+        public Double getGrade() {
+            return row.getGrade();
+        }
+    }
+}
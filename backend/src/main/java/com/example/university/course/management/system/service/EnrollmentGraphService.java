@@ -0,0 +1,239 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.event.DomainEvent;
+import com.example.university.course.management.system.event.DomainEventListener;
+import com.example.university.course.management.system.index.EnrollmentDelta;
+import com.example.university.course.management.system.index.EnrollmentGraph;
+import com.example.university.course.management.system.index.RebuildableIndex;
+import com.example.university.course.management.system.repository.EnrollmentPair;
+import com.example.university.course.management.system.repository.EnrollmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Who is enrolled in what (dropped enrollments excluded), answered from a CSR graph plus a small overlay of recent changes
+@Service
+public class EnrollmentGraphService implements RebuildableIndex, DomainEventListener {
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private EnrollmentArchiveService enrollmentArchiveService;
+
+    // Null until the first rebuild completes
+    private volatile State state;
+
+    // Serializes writes to the live overlay with rebuilds and compactions swapping it out
+    private final Object writeLock = new Object();
+
+    // Changes seen while a rebuild is reading; replayed onto its overlay before it is published
+    private List<Change> pending;
+
+    @Override
+    public String getName() {
+        return "enrollment-graph";
+    }
+
+    @Override
+    public boolean isReady() {
+        return state != null;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        synchronized (writeLock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            long[] students = new long[1024];
+            long[] courses = new long[1024];
+            int size = 0;
+            Stream<EnrollmentPair> livePairs = enrollmentRepository.streamAllEnrollmentPairs();
+            try (Stream<EnrollmentPair> pairs = enrollmentArchiveService.withArchivedPairs(livePairs)) {
+                for (EnrollmentPair pair : (Iterable<EnrollmentPair>) pairs::iterator) {
+                    if (size == students.length) {
+                        students = Arrays.copyOf(students, size * 2);
+                        courses = Arrays.copyOf(courses, size * 2);
+                    }
+                    students[size] = pair.getStudentId();
+                    courses[size] = pair.getCourseId();
+                    size++;
+                }
+            }
+            EnrollmentGraph base = EnrollmentGraph.build(students, courses, size);
+            synchronized (writeLock) {
+                EnrollmentDelta live = new EnrollmentDelta();
+                pending.forEach(change -> live.put(change.studentId, change.courseId, change.present));
+                state = new State(base, null, live);
+            }
+        } finally {
+            synchronized (writeLock) {
+                pending = null;
+            }
+        }
+    }
+
+    // Fold the overlay into a fresh CSR graph; reads keep seeing the frozen overlay until the new graph is published
+    @Scheduled(fixedDelayString = "${enrollment-graph.compaction-interval-ms:30000}")
+    public synchronized void compact() {
+        State frozenState;
+        synchronized (writeLock) {
+            State current = state;
+            if (current == null || current.live.isEmpty()) {
+                return;
+            }
+            frozenState = new State(current.base, current.live, new EnrollmentDelta());
+            state = frozenState;
+        }
+        EnrollmentGraph compacted = frozenState.base.withChanges(frozenState.frozen);
+        synchronized (writeLock) {
+            state = new State(compacted, null, state.live);
+        }
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            switch (event.getType()) {
+                case ENROLLED -> apply(new Change(event.getStudentId(), event.getCourseId(), true));
+                case DROPPED -> apply(new Change(event.getStudentId(), event.getCourseId(), false));
+                case STUDENT_DELETED -> event.getCourseIds()
+                        .forEach(courseId -> apply(new Change(event.getStudentId(), courseId, false)));
+                default -> { }
+            }
+        }
+    }
+
+    // Course ids of the student, ascending
+    public long[] coursesOf(Long studentId) {
+        return state().coursesOf(studentId);
+    }
+
+    // Student ids in the course, ascending
+    public long[] studentsIn(Long courseId) {
+        return state().studentsIn(courseId);
+    }
+
+    // Courses both students are in, by merging their sorted rows
+    public long[] sharedCourses(Long studentId, Long otherStudentId) {
+        State current = state();
+        long[] a = current.coursesOf(studentId);
+        long[] b = current.coursesOf(otherStudentId);
+        long[] shared = new long[Math.min(a.length, b.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                shared[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(shared, size);
+    }
+
+    // Students sharing at least one course, mapped to how many they share, most shared first
+    public Map<Long, Integer> classmates(Long studentId) {
+        State current = state();
+        long[] courses = current.coursesOf(studentId);
+        long[][] rosters = new long[courses.length][];
+        int total = 0;
+        for (int i = 0; i < courses.length; i++) {
+            rosters[i] = current.studentsIn(courses[i]);
+            total += rosters[i].length;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (long[] roster : rosters) {
+            System.arraycopy(roster, 0, all, offset, roster.length);
+            offset += roster.length;
+        }
+        // Sorting the concatenated rosters turns counting into run lengths
+        Arrays.sort(all);
+        List<long[]> counts = new ArrayList<>();
+        for (int i = 0; i < all.length; ) {
+            int j = i;
+            while (j < all.length && all[j] == all[i]) {
+                j++;
+            }
+            if (all[i] != studentId) {
+                counts.add(new long[]{all[i], j - i});
+            }
+            i = j;
+        }
+        counts.sort((x, y) -> x[1] != y[1] ? Long.compare(y[1], x[1]) : Long.compare(x[0], y[0]));
+        Map<Long, Integer> classmates = new LinkedHashMap<>();
+        for (long[] count : counts) {
+            classmates.put(count[0], (int) count[1]);
+        }
+        return classmates;
+    }
+
+    private State state() {
+        State current = state;
+        if (current == null) {
+            throw new IllegalStateException("Enrollment graph is still being built");
+        }
+        return current;
+    }
+
+    private void apply(Change change) {
+        synchronized (writeLock) {
+            if (pending != null) {
+                pending.add(change);
+            }
+            State current = state;
+            if (current != null) {
+                current.live.put(change.studentId, change.courseId, change.present);
+            }
+        }
+    }
+
+    private static final class Change {
+        final long studentId;
+        final long courseId;
+        final boolean present;
+
+        Change(long studentId, long courseId, boolean present) {
+            this.studentId = studentId;
+            this.courseId = courseId;
+            this.present = present;
+        }
+    }
+
+    // A compacted graph, the overlay being folded into the next one (if any), and the overlay taking new writes
+    private static final class State {
+        final EnrollmentGraph base;
+        final EnrollmentDelta frozen;
+        final EnrollmentDelta live;
+
+        State(EnrollmentGraph base, EnrollmentDelta frozen, EnrollmentDelta live) {
+            this.base = base;
+            this.frozen = frozen;
+            this.live = live;
+        }
+
+        long[] coursesOf(long studentId) {
+            return EnrollmentDelta.apply(base.coursesOf(studentId),
+                    frozen != null ? frozen.forStudent(studentId) : null, live.forStudent(studentId));
+        }
+
+        long[] studentsIn(long courseId) {
+            return EnrollmentDelta.apply(base.studentsIn(courseId),
+                    frozen != null ? frozen.forCourse(courseId) : null, live.forCourse(courseId));
+        }
+    }
+}
@@ -4,11 +4,21 @@ import com.example.university.course.management.system.dto.EnrollmentDTO;
 import com.example.university.course.management.system.entity.Course;
 import com.example.university.course.management.system.entity.Enrollment;
 import com.example.university.course.management.system.entity.Student;
+import com.example.university.course.management.system.event.DomainEvent;
+import com.example.university.course.management.system.event.DomainEventPublisher;
+import com.example.university.course.management.system.event.DomainEventType;
+import com.example.university.course.management.system.jfr.EnrollmentEvent;
+import com.example.university.course.management.system.jfr.GradeEvent;
+import com.example.university.course.management.system.jfr.Recorded;
 import com.example.university.course.management.system.repository.CourseRepository;
 import com.example.university.course.management.system.repository.EnrollmentRepository;
 import com.example.university.course.management.system.repository.StudentRepository;
+import com.example.university.course.management.system.util.AfterCommit;
+import com.example.university.course.management.system.util.EnrollmentMapper;
+import com.example.university.course.management.system.util.GradeScale;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -20,42 +30,71 @@ public class EnrollmentService {
     private StudentRepository studentRepository;
     @Autowired
     private CourseRepository courseRepository;
+    @Autowired
+    private AcademicSummaryService academicSummaryService;
+    @Autowired
+    private PrerequisiteService prerequisiteService;
+    @Autowired
+    private TimetableService timetableService;
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    @Autowired
+    private ApplicationMetrics applicationMetrics;
+    @Autowired
+    private EnrollmentArchiveService enrollmentArchiveService;
+    @Autowired
+    private EnrollmentViewService enrollmentViewService;
 
+    @Transactional
+    @Recorded(EnrollmentEvent.class)
     public EnrollmentDTO enrollStudentToCourse(Long studentId, Long courseId) {
         Optional<Student> student = studentRepository.findById(studentId);
         Optional<Course> course = courseRepository.findById(courseId);
         if (student.isEmpty() || course.isEmpty()) {
             throw new RuntimeException("Student or Course not found");
         }
-        if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+        if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)
+                || enrollmentArchiveService.exists(studentId, courseId)) {
             throw new RuntimeException("Already enrolled");
         }
+        prerequisiteService.checkEligible(studentId, courseId);
+        timetableService.checkNoClash(studentId, course.get());
         Enrollment enrollment = new Enrollment(student.get(), course.get());
         Enrollment saved = enrollmentRepository.save(enrollment);
-        return toDTO(saved);
+        enrollmentViewService.save(saved);
+        eventPublisher.publish(new DomainEvent(DomainEventType.ENROLLED, studentId, courseId));
+        AfterCommit.run(applicationMetrics::enrollmentCommitted);
+        return EnrollmentMapper.toDTO(saved);
     }
 
-    public EnrollmentDTO updateGrade(Long enrollmentId, Double grade) {
+    // Drop an ungraded enrollment; the row is kept with status DROPPED
+    @Transactional
+    public EnrollmentDTO dropEnrollment(Long enrollmentId) {
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
-        enrollment.setGrade(grade);
+        if (!"ENROLLED".equals(enrollment.getStatus()) || enrollment.getGrade() != null) {
+            throw new RuntimeException("Only ungraded active enrollments can be dropped");
+        }
+        enrollment.setStatus("DROPPED");
         Enrollment saved = enrollmentRepository.save(enrollment);
-        return toDTO(saved);
+        enrollmentViewService.save(saved);
+        eventPublisher.publish(new DomainEvent(DomainEventType.DROPPED, saved.getStudent().getId(), saved.getCourse().getId()));
+        return EnrollmentMapper.toDTO(saved);
     }
 
-    private EnrollmentDTO toDTO(Enrollment enrollment) {
-        return new EnrollmentDTO(
-            enrollment.getId(),
-            enrollment.getStudent().getId(),
-            enrollment.getStudent().getFirstName() + " " + enrollment.getStudent().getLastName(),
-            enrollment.getCourse().getId(),
-            enrollment.getCourse().getCourseName(),
-            enrollment.getCourse().getCourseCode(),
-            enrollment.getEnrollmentDate(),
-            enrollment.getStatus(),
-            enrollment.getGrade(),
-            enrollment.getGradeLetter(),
-            enrollment.getComments()
-        );
+    @Transactional
+    @Recorded(GradeEvent.class)
+    public EnrollmentDTO updateGrade(Long enrollmentId, Double grade) {
+        Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
+                .orElseThrow(() -> new RuntimeException("Enrollment not found"));
+        Double oldGrade = enrollment.getGrade();
+        enrollment.setGrade(grade);
+        // Keep the letter in step with the numeric grade
+        enrollment.setGradeLetter(grade != null ? GradeScale.letterFor(grade) : null);
+        Enrollment saved = enrollmentRepository.save(enrollment);
+        enrollmentViewService.save(saved);
+        academicSummaryService.applyGradeChange(saved.getStudent().getId(), oldGrade, grade, saved.getCourse().getCredits());
+        eventPublisher.publish(DomainEvent.graded(saved.getStudent().getId(), saved.getCourse().getId(), grade));
+        return EnrollmentMapper.toDTO(saved);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.entity.Course;
+import com.example.university.course.management.system.entity.Enrollment;
+import com.example.university.course.management.system.entity.EnrollmentView;
+import com.example.university.course.management.system.entity.Student;
+import com.example.university.course.management.system.jfr.BulkOperationEvent;
+import com.example.university.course.management.system.jfr.Recorded;
+import com.example.university.course.management.system.repository.EnrollmentRepository;
+import com.example.university.course.management.system.repository.EnrollmentViewRepository;
+import com.example.university.course.management.system.util.EnrollmentMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the enrollment_view read model in step with enrollments.
+ *
+ * Every write path that changes an enrollment, or the student or course fields copied into it,
+ * updates the view in the same transaction, so a list read right after a write sees it. Rows
+ * loaded around the application (the dataset generator, imports) are picked up at startup from
+ * above the view's highest id. Starting with --enrollment-view.rebuild recomputes the whole view
+ * from enrollments, in id ranges with one transaction each, before the application takes traffic.
+ */
+@Service
+public class EnrollmentViewService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentViewService.class);
+
+    private static final long ID_RANGE = 50_000;
+
+    @Autowired
+    private EnrollmentViewRepository viewRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // This bean through its proxy, so a rebuild at startup is recorded like calls from other beans
+    @Lazy
+    @Autowired
+    private EnrollmentViewService self;
+
+    // A student's enrollments, optionally in one term, from a single index range
+    public List<EnrollmentView> findByStudentId(Long studentId, Long termId) {
+        return termId == null
+                ? viewRepository.findByStudentIdOrderById(studentId)
+                : viewRepository.findByStudentIdAndTermIdOrderById(studentId, termId);
+    }
+
+    public List<EnrollmentView> findByCourseId(Long courseId) {
+        return viewRepository.findByCourseIdOrderById(courseId);
+    }
+
+    public List<EnrollmentView> findByTermId(Long termId) {
+        return viewRepository.findByTermIdOrderById(termId);
+    }
+
+    public List<EnrollmentView> findAll() {
+        return viewRepository.findAllByOrderById();
+    }
+
+    // Insert or overwrite the row of a new or changed enrollment
+    @Transactional
+    public void save(Enrollment enrollment) {
+        viewRepository.save(EnrollmentMapper.toView(enrollment));
+    }
+
+    @Transactional
+    public void studentChanged(Student student) {
+        viewRepository.updateStudentName(student.getId(), EnrollmentMapper.studentName(student));
+    }
+
+    @Transactional
+    public void courseChanged(Course course) {
+        viewRepository.updateCourse(course.getId(), course.getCourseCode(), course.getCourseName(),
+                course.getCredits(), course.getTerm() != null ? course.getTerm().getId() : null);
+    }
+
+    @Transactional
+    public void deleteForStudent(Long studentId) {
+        viewRepository.deleteByStudentId(studentId);
+    }
+
+    @Transactional
+    public void delete(Collection<Long> enrollmentIds) {
+        viewRepository.deleteByIds(enrollmentIds);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("enrollment-view.rebuild")) {
+            self.rebuild();
+        }
+    }
+
+    // Recompute every row from enrollments
+    @Recorded(value = BulkOperationEvent.class, operation = "enrollmentViewRebuild")
+    public void rebuild() {
+        long upTo = Math.max(enrollmentRepository.findMaxId(), viewRepository.findMaxId());
+        long rows = 0;
+        for (long after = 0; after < upTo; after += ID_RANGE) {
+            long from = after;
+            rows += transactionTemplate.execute(status -> {
+                viewRepository.deleteRange(from, from + ID_RANGE);
+                return viewRepository.insertMissing(from, from + ID_RANGE);
+            });
+        }
+        BulkOperationEvent.setCurrentRows(rows);
+        log.info("Rebuilt enrollment view: {} rows", rows);
+    }
+
+    // Add rows for enrollments written without the view; such rows can have any id (a restore, or an
+    // insert with an explicit id), so every range is checked, each an anti-join on the primary keys
+    @EventListener(ApplicationReadyEvent.class)
+    @Recorded(value = BulkOperationEvent.class, operation = "enrollmentViewBackfill")
+    public void backfillMissing() {
+        long upTo = enrollmentRepository.findMaxId();
+        long rows = 0;
+        for (long after = 0; after < upTo; after += ID_RANGE) {
+            long from = after;
+            rows += transactionTemplate.execute(status -> viewRepository.insertMissing(from, from + ID_RANGE));
+        }
+        BulkOperationEvent.setCurrentRows(rows);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.university.course.management.system.service;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One on-demand flight recording at a time, bounded in both length and size so it cannot fill the
+ * disk if nobody stops it. The recording uses the JDK's profile settings, so the university events
+ * land next to GC, allocation, lock and socket events from the same window.
+ */
+@Service
+public class FlightRecorderService {
+
+    @Value("${jfr.settings:profile}")
+    private String settings;
+
+    @Value("${jfr.max-duration-seconds:600}")
+    private long maxDurationSeconds;
+
+    @Value("${jfr.max-size-mb:200}")
+    private long maxSizeMb;
+
+    private Recording recording;
+    private Path lastDump;
+
+    // Start a recording that stops by itself after the given (capped) number of seconds
+    public synchronized Map<String, Object> start(Long durationSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        close();
+        long seconds = durationSeconds != null && durationSeconds > 0
+                ? Math.min(durationSeconds, maxDurationSeconds)
+                : maxDurationSeconds;
+        try {
+            recording = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new RuntimeException("Cannot load JFR settings " + settings + ": " + e.getMessage());
+        }
+        recording.setName("university");
+        recording.setToDisk(true);
+        recording.setMaxSize(maxSizeMb * 1024 * 1024);
+        recording.setDuration(Duration.ofSeconds(seconds));
+        recording.start();
+        return status();
+    }
+
+    // Write what has been recorded so far to a file; a running recording keeps going
+    public synchronized Path dump() {
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            throw new RuntimeException("No recording to dump");
+        }
+        deleteLastDump();
+        try {
+            lastDump = Files.createTempFile("university-", ".jfr");
+            recording.dump(lastDump);
+            return lastDump;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime() != null ? recording.getStartTime().toString() : null);
+        status.put("durationSeconds", recording.getDuration() != null ? recording.getDuration().toSeconds() : null);
+        status.put("maxSizeBytes", recording.getMaxSize());
+        status.put("sizeBytes", recording.getSize());
+        return status;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        deleteLastDump();
+    }
+
+    private void deleteLastDump() {
+        if (lastDump != null) {
+            try {
+                Files.deleteIfExists(lastDump);
+            } catch (IOException e) {
+                // A leftover temp file is harmless
+            }
+            lastDump = null;
+        }
+    }
+}
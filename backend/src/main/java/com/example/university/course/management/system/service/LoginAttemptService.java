@@ -0,0 +1,80 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.exception.LoginThrottledException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class LoginAttemptService {
+
+    @Value("${auth.backoff.free-attempts:3}")
+    private int freeAttempts;
+
+    @Value("${auth.backoff.base-ms:1000}")
+    private long baseDelayMs;
+
+    @Value("${auth.backoff.max-ms:900000}")
+    private long maxDelayMs;
+
+    @Value("${auth.backoff.max-tracked-accounts:100000}")
+    private int maxTrackedAccounts;
+
+    private final ConcurrentHashMap<String, FailureState> failures = new ConcurrentHashMap<>();
+
+    // Reject the attempt before any hashing work if the account is still backing off
+    public void checkAllowed(String email) {
+        FailureState state = failures.get(key(email));
+        if (state == null) {
+            return;
+        }
+        long remainingMs = state.blockedUntil - System.currentTimeMillis();
+        if (remainingMs > 0) {
+            throw new LoginThrottledException((remainingMs + 999) / 1000);
+        }
+    }
+
+    // Each failure past the free attempts doubles the lockout, up to the configured maximum
+    public void recordFailure(String email) {
+        long now = System.currentTimeMillis();
+        failures.compute(key(email), (k, state) -> {
+            FailureState next = state == null ? new FailureState() : state;
+            next.count++;
+            next.lastFailure = now;
+            int excess = next.count - freeAttempts;
+            if (excess > 0) {
+                long delay = baseDelayMs << Math.min(excess - 1, 30);
+                next.blockedUntil = now + Math.min(delay, maxDelayMs);
+            }
+            return next;
+        });
+        if (failures.size() > maxTrackedAccounts) {
+            purgeExpired(now);
+        }
+    }
+
+    public void recordSuccess(String email) {
+        failures.remove(key(email));
+    }
+
+    public int getTrackedAccounts() {
+        return failures.size();
+    }
+
+    private void purgeExpired(long now) {
+        failures.entrySet().removeIf(entry ->
+            entry.getValue().blockedUntil < now && now - entry.getValue().lastFailure > maxDelayMs);
+    }
+
+    private String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class FailureState {
+        int count;
+        long lastFailure;
+        long blockedUntil;
+    }
+}
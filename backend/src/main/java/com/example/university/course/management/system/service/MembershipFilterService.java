@@ -0,0 +1,176 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.index.BloomFilter;
+import com.example.university.course.management.system.index.IndexBootstrapper;
+import com.example.university.course.management.system.index.RebuildableIndex;
+import com.example.university.course.management.system.repository.StudentRepository;
+import com.example.university.course.management.system.repository.UserRepository;
+import com.example.university.course.management.system.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Bloom filters over user emails, student emails and student IDs. A "no" from the filter is
+ * definite, so most existence checks on the create paths skip the database. A "maybe" still
+ * goes to the database, and the unique constraints remain the final guard. Only duplicate checks
+ * consult the filter; lookups that authenticate a user always read the database.
+ */
+@Service
+public class MembershipFilterService implements RebuildableIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ReportingExecutor reportingExecutor;
+
+    @Lazy
+    @Autowired
+    private IndexBootstrapper indexBootstrapper;
+
+    // Rebuilds go through the proxy so they are recorded like any other index rebuild
+    @Lazy
+    @Autowired
+    private MembershipFilterService self;
+
+    @Value("${membership-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${membership-filter.min-capacity:10000}")
+    private long minCapacity;
+
+    // Null until the first rebuild completes; callers then fall back to the database
+    private volatile Filters current;
+
+    // Published while a rebuild is loading so concurrent writes land in both filter sets
+    private volatile Filters building;
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    @Override
+    public String getName() {
+        return "membership-filter";
+    }
+
+    @Override
+    public boolean isReady() {
+        return current != null;
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        long userCount = userRepository.count();
+        long studentCount = studentRepository.count();
+        Filters next = new Filters(capacityFor(userCount), capacityFor(studentCount));
+        building = next;
+        try {
+            userRepository.findAllEmails().forEach(email -> next.userEmails.put(normalize(email)));
+            studentRepository.findAllEmails().forEach(email -> next.studentEmails.put(normalize(email)));
+            studentRepository.findAllStudentIds().forEach(id -> next.studentIds.put(normalize(id)));
+            current = next;
+        } finally {
+            building = null;
+            rebuildScheduled.set(false);
+        }
+    }
+
+    public boolean mightContainUserEmail(String email) {
+        Filters filters = current;
+        return email == null || filters == null || filters.userEmails.mightContain(normalize(email));
+    }
+
+    public boolean mightContainStudentEmail(String email) {
+        Filters filters = current;
+        return email == null || filters == null || filters.studentEmails.mightContain(normalize(email));
+    }
+
+    public boolean mightContainStudentId(String studentId) {
+        Filters filters = current;
+        return studentId == null || filters == null || filters.studentIds.mightContain(normalize(studentId));
+    }
+
+    public void addUserEmail(String email) {
+        AfterCommit.run(() -> add(email, f -> f.userEmails));
+    }
+
+    public void addStudent(String email, String studentId) {
+        AfterCommit.run(() -> {
+            add(email, f -> f.studentEmails);
+            add(studentId, f -> f.studentIds);
+        });
+    }
+
+    private void add(String value, Function<Filters, BloomFilter> selector) {
+        if (value == null) {
+            return;
+        }
+        String key = normalize(value);
+        // Read the in-progress set first: if it is already gone, the rebuild has published it as current
+        Filters inProgress = building;
+        if (inProgress != null) {
+            selector.apply(inProgress).put(key);
+        }
+        Filters filters = current;
+        if (filters != null) {
+            BloomFilter filter = selector.apply(filters);
+            filter.put(key);
+            if (filter.isSaturated() && rebuildScheduled.compareAndSet(false, true)) {
+                scheduleRebuild();
+            }
+        }
+    }
+
+    // A saturated filter is rebuilt larger in the background. It reads whole tables, so it runs on the
+    // reporting executor and pool, never on the transactional pool and its statement time limit
+    private void scheduleRebuild() {
+        try {
+            reportingExecutor.submit(() -> {
+                indexBootstrapper.rebuild(self);
+                return null;
+            });
+        } catch (IllegalStateException e) {
+            // Reporting queue is full; the next insert into the saturated filter tries again
+            rebuildScheduled.set(false);
+        }
+    }
+
+    // Leave headroom so normal growth does not saturate the filter between rebuilds
+    private long capacityFor(long rows) {
+        return Math.max(minCapacity, rows * 2);
+    }
+
+    // MySQL's default collation, utf8mb4_0900_ai_ci, ignores case and accents but not trailing
+    // spaces (it is NO PAD). Values it treats as equal must share a key, or a "no" would be wrong;
+    // folding further than it does (compatibility forms, upper-then-lower for ß/ss) only adds false positives
+    private static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .toUpperCase(Locale.ROOT)
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private class Filters {
+        final BloomFilter userEmails;
+        final BloomFilter studentEmails;
+        final BloomFilter studentIds;
+
+        Filters(long userCapacity, long studentCapacity) {
+            userEmails = new BloomFilter(userCapacity, falsePositiveRate);
+            studentEmails = new BloomFilter(studentCapacity, falsePositiveRate);
+            studentIds = new BloomFilter(studentCapacity, falsePositiveRate);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.university.course.management.system.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+@Service
+public class PasswordHashingService {
+
+    // Matches BCrypt hashes ($2a$, $2b$, $2y$); anything else is a legacy plaintext password
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+    @Value("${auth.bcrypt.strength:10}")
+    private int strength;
+
+    @Value("${auth.hashing.threads:2}")
+    private int threads;
+
+    @Value("${auth.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${auth.hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private BCryptPasswordEncoder encoder;
+
+    // Hash of a random password at the configured strength, checked when there is no account or only a
+    // plaintext password to check against
+    private String dummyHash;
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private final AtomicLong completedCount = new AtomicLong();
+
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        encoder = new BCryptPasswordEncoder(strength);
+        dummyHash = encoder.encode(UUID.randomUUID().toString());
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Hashing runs on a small fixed pool so a login surge cannot take every CPU from request threads.
+        // Work beyond the queue capacity is rejected immediately instead of piling up.
+        executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // Hash a raw password on the hashing pool
+    public String hash(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    // Check a raw password against a stored value, which may still be a legacy plaintext password
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        if (!isHashed(storedPassword)) {
+            // Pay for a BCrypt check anyway, so a quick answer does not mark the account as not yet migrated
+            submit(() -> encoder.matches(rawPassword, dummyHash));
+            return MessageDigest.isEqual(
+                rawPassword.getBytes(StandardCharsets.UTF_8),
+                storedPassword.getBytes(StandardCharsets.UTF_8)
+            );
+        }
+        return submit(() -> encoder.matches(rawPassword, storedPassword));
+    }
+
+    // Do the same hashing work as matches() for an email with no account, so the response time does
+    // not tell a caller which emails are registered; always false
+    public boolean matchesNoAccount(String rawPassword) {
+        if (rawPassword == null) {
+            return false;
+        }
+        submit(() -> encoder.matches(rawPassword, dummyHash));
+        return false;
+    }
+
+    // True when the stored value is plaintext or was hashed with a weaker strength than configured
+    public boolean needsRehash(String storedPassword) {
+        return !isHashed(storedPassword) || encoder.upgradeEncoding(storedPassword);
+    }
+
+    public boolean isHashed(String storedPassword) {
+        return storedPassword != null && BCRYPT_PATTERN.matcher(storedPassword).matches();
+    }
+
+    // Queue depth and throughput figures for the hashing pool
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        long completed = completedCount.get();
+        metrics.put("queueDepth", executor.getQueue().size());
+        metrics.put("queueCapacity", queueCapacity);
+        metrics.put("activeThreads", executor.getActiveCount());
+        metrics.put("poolSize", threads);
+        metrics.put("completed", completed);
+        metrics.put("rejected", rejectedCount.get());
+        metrics.put("averageQueueWaitMs", completed == 0 ? 0.0 : totalWaitNanos.get() / (double) completed / 1_000_000.0);
+        return metrics;
+    }
+
+    private <T> T submit(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                totalWaitNanos.addAndGet(System.nanoTime() - enqueuedAt);
+                try {
+                    return task.call();
+                } finally {
+                    completedCount.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            throw e;
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RejectedExecutionException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+}
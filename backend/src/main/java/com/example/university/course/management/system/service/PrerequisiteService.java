@@ -0,0 +1,218 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.dto.PrerequisiteDTO;
+import com.example.university.course.management.system.entity.Course;
+import com.example.university.course.management.system.entity.CoursePrerequisite;
+import com.example.university.course.management.system.event.DomainEvent;
+import com.example.university.course.management.system.event.DomainEventListener;
+import com.example.university.course.management.system.index.PrerequisiteGraph;
+import com.example.university.course.management.system.index.RebuildableIndex;
+import com.example.university.course.management.system.repository.CoursePrerequisiteRepository;
+import com.example.university.course.management.system.repository.CourseRepository;
+import com.example.university.course.management.system.repository.EnrollmentRepository;
+import com.example.university.course.management.system.repository.GradeRecord;
+import com.example.university.course.management.system.repository.PrerequisiteRecord;
+import com.example.university.course.management.system.util.AfterCommit;
+import com.example.university.course.management.system.util.GradeScale;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Service
+public class PrerequisiteService implements RebuildableIndex, DomainEventListener {
+
+    @Autowired
+    private CoursePrerequisiteRepository prerequisiteRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private EnrollmentArchiveService enrollmentArchiveService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // The compiled graph together with the student bitsets built against it; swapped as a unit
+    private volatile CompiledState state;
+
+    @Override
+    public String getName() {
+        return "prerequisite-graph";
+    }
+
+    @Override
+    public boolean isReady() {
+        return state != null;
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        List<PrerequisiteGraph.Edge> edges = new ArrayList<>();
+        for (PrerequisiteRecord record : prerequisiteRepository.findAllRecords()) {
+            edges.add(new PrerequisiteGraph.Edge(
+                record.getCourseId(),
+                record.getRequiredCourseId(),
+                record.getGroupNumber(),
+                record.getMinGrade() != null ? record.getMinGrade() : GradeScale.PASSING_GRADE
+            ));
+        }
+        // Bit positions and levels may have moved, so cached student bitsets start over with the new graph
+        state = new CompiledState(PrerequisiteGraph.compile(edges));
+    }
+
+    // Throws when the student has not met the course's prerequisites; no queries for courses without any
+    public void checkEligible(Long studentId, Long courseId) {
+        CompiledState current = state();
+        if (!current.graph.hasPrerequisites(courseId)) {
+            return;
+        }
+        if (!current.graph.isSatisfied(courseId, current.completionFor(studentId))) {
+            throw new RuntimeException("Prerequisites not met for course with id: " + courseId);
+        }
+    }
+
+    // Filter candidate courses down to those whose prerequisites the student has met
+    public List<Long> filterEligible(Long studentId, Collection<Long> courseIds) {
+        CompiledState current = state();
+        long[][] completion = null;
+        List<Long> eligible = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            if (current.graph.hasPrerequisites(courseId)) {
+                if (completion == null) {
+                    completion = current.completionFor(studentId);
+                }
+                if (!current.graph.isSatisfied(courseId, completion)) {
+                    continue;
+                }
+            }
+            eligible.add(courseId);
+        }
+        return eligible;
+    }
+
+    public List<PrerequisiteDTO> getPrerequisites(Long courseId) {
+        return prerequisiteRepository.findByCourseId(courseId).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Replace a course's prerequisites; rejected if it would make the graph cyclic. The monitor is
+    // held until the change has committed and the graph is rebuilt, so the next edit checks for
+    // cycles against it; a transaction inside the lock would still be committing after release
+    public synchronized List<PrerequisiteDTO> setPrerequisites(Long courseId, List<PrerequisiteDTO> prerequisites) {
+        List<PrerequisiteDTO> result = transactionTemplate.execute(status -> replacePrerequisites(courseId, prerequisites));
+        rebuild();
+        return result;
+    }
+
+    private List<PrerequisiteDTO> replacePrerequisites(Long courseId, List<PrerequisiteDTO> prerequisites) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
+
+        List<Long> requiredIds = prerequisites.stream()
+                .map(PrerequisiteDTO::getRequiredCourseId)
+                .collect(Collectors.toList());
+        if (requiredIds.contains(null) || requiredIds.contains(courseId)) {
+            throw new RuntimeException("A course cannot require itself or an unspecified course");
+        }
+        if (state().graph.wouldCreateCycle(courseId, requiredIds)) {
+            throw new RuntimeException("Prerequisites would create a cycle for course with id: " + courseId);
+        }
+        Map<Long, Course> requiredCourses = new HashMap<>();
+        for (Course required : courseRepository.findAllById(requiredIds)) {
+            requiredCourses.put(required.getId(), required);
+        }
+        if (requiredCourses.size() != requiredIds.stream().distinct().count()) {
+            throw new RuntimeException("One or more required courses do not exist");
+        }
+
+        prerequisiteRepository.deleteByCourseId(courseId);
+        List<CoursePrerequisite> saved = new ArrayList<>();
+        for (PrerequisiteDTO dto : prerequisites) {
+            saved.add(prerequisiteRepository.save(new CoursePrerequisite(
+                course,
+                requiredCourses.get(dto.getRequiredCourseId()),
+                dto.getGroupNumber() != null ? dto.getGroupNumber() : 0,
+                dto.getMinGrade()
+            )));
+        }
+        return saved.stream().map(this::convertToDTO).collect(Collectors.toList());
+    }
+
+    // Remove every rule mentioning a course that is being deleted
+    @Transactional
+    public void removeCourse(Long courseId) {
+        prerequisiteRepository.deleteAllReferencing(courseId);
+        AfterCommit.run(this::rebuild);
+    }
+
+    // Drop a student's cached bitsets after one of their grades changes
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        CompiledState current = state;
+        if (current == null) {
+            return;
+        }
+        for (DomainEvent event : events) {
+            switch (event.getType()) {
+                case GRADED, STUDENT_DELETED -> current.completionByStudent.remove(event.getStudentId());
+                default -> { }
+            }
+        }
+    }
+
+    // Compiled lazily if a request arrives before the startup build
+    private CompiledState state() {
+        CompiledState current = state;
+        if (current == null) {
+            rebuild();
+            current = state;
+        }
+        return current;
+    }
+
+    private class CompiledState {
+        final PrerequisiteGraph graph;
+        final ConcurrentHashMap<Long, long[][]> completionByStudent = new ConcurrentHashMap<>();
+
+        CompiledState(PrerequisiteGraph graph) {
+            this.graph = graph;
+        }
+
+        // One query per student, then cached until one of their grades changes
+        long[][] completionFor(Long studentId) {
+            return completionByStudent.computeIfAbsent(studentId, id -> {
+                Map<Long, Double> bestGrades = new HashMap<>();
+                for (GradeRecord record : enrollmentRepository.findGradeRecordsByStudentIds(List.of(id))) {
+                    bestGrades.merge(record.getCourseId(), record.getGrade(), Math::max);
+                }
+                for (GradeRecord record : enrollmentArchiveService.findGradeRecordsByStudentIds(List.of(id))) {
+                    bestGrades.merge(record.getCourseId(), record.getGrade(), Math::max);
+                }
+                return graph.completionBits(bestGrades);
+            });
+        }
+    }
+
+    private PrerequisiteDTO convertToDTO(CoursePrerequisite prerequisite) {
+        return new PrerequisiteDTO(
+            prerequisite.getRequiredCourse().getId(),
+            prerequisite.getRequiredCourse().getCourseCode(),
+            prerequisite.getGroupNumber(),
+            prerequisite.getMinGrade()
+        );
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.dto.ReportJobDTO;
+import com.example.university.course.management.system.dto.ReportRequestDTO;
+import com.example.university.course.management.system.repository.CourseEnrollmentSummary;
+import com.example.university.course.management.system.repository.CourseReportRow;
+import com.example.university.course.management.system.repository.CourseRepository;
+import com.example.university.course.management.system.repository.EnrollmentRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Report exports built on the server as CSV files.
+ *
+ * A submitted job runs on the reporting executor, so it reads through the reporting connection
+ * pool. Rows are streamed from the database straight into a temporary file, which is renamed into
+ * place when complete, so a download never sees a half-written report. A request for the same
+ * report within the TTL gets the existing job, whether it is still running or already finished.
+ * Jobs are kept in memory; files left from a previous run are removed at startup.
+ */
+@Service
+public class ReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+
+    public static final String ROSTER = "ROSTER";
+    public static final String GRADE_SHEET = "GRADE_SHEET";
+    public static final String ENROLLMENT_SUMMARY = "ENROLLMENT_SUMMARY";
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private static final Set<String> TYPES = Set.of(ROSTER, GRADE_SHEET, ENROLLMENT_SUMMARY);
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ReportingExecutor reportingExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${reports.directory:${java.io.tmpdir}/university-reports}")
+    private String directory;
+
+    @Value("${reports.ttl-minutes:15}")
+    private long ttlMinutes;
+
+    private Path root;
+    private TransactionTemplate readOnlyTransaction;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // The current job for each distinct report, used to hand out existing results
+    private final Map<String, Job> jobsByKey = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Path.of(directory);
+        Files.createDirectories(root);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(root, "*.{csv,part}")) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Start a report, or return the matching one that is running or finished within the TTL
+    public ReportJobDTO submit(ReportRequestDTO request) {
+        String type = request.getType();
+        if (type == null || !TYPES.contains(type)) {
+            throw new RuntimeException("Unknown report type: " + type);
+        }
+        Long courseId = ENROLLMENT_SUMMARY.equals(type) ? null : request.getCourseId();
+        Long termId = ENROLLMENT_SUMMARY.equals(type) ? request.getTermId() : null;
+        if (!ENROLLMENT_SUMMARY.equals(type)) {
+            if (courseId == null) {
+                throw new RuntimeException(type + " report needs a courseId");
+            }
+            if (!courseRepository.existsById(courseId)) {
+                throw new RuntimeException("Course not found with id: " + courseId);
+            }
+        }
+
+        String key = type + ":" + courseId + ":" + termId;
+        Job[] created = new Job[1];
+        Job job = jobsByKey.compute(key, (k, existing) -> {
+            if (existing != null && existing.isReusable()) {
+                return existing;
+            }
+            created[0] = new Job(UUID.randomUUID().toString(), key, type, courseId, termId);
+            return created[0];
+        });
+        if (created[0] != null) {
+            jobs.put(job.id, job);
+            try {
+                reportingExecutor.submit(() -> {
+                    run(job);
+                    return null;
+                });
+            } catch (IllegalStateException e) {
+                jobs.remove(job.id);
+                jobsByKey.remove(key, job);
+                throw e;
+            }
+        }
+        return job.toDTO();
+    }
+
+    public ReportJobDTO getJob(String id) {
+        return find(id).toDTO();
+    }
+
+    // The finished file of a completed, unexpired job
+    public Path getReportFile(String id) {
+        Job job = find(id);
+        if (!COMPLETED.equals(job.status) || !Files.exists(job.file)) {
+            throw new RuntimeException("Report is not ready: " + id);
+        }
+        return job.file;
+    }
+
+    @Scheduled(fixedDelayString = "${reports.cleanup-interval-ms:60000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Job job : jobs.values()) {
+            if (job.expiresAt != null && job.expiresAt.isBefore(now)) {
+                jobs.remove(job.id);
+                jobsByKey.remove(job.key, job);
+                try {
+                    Files.deleteIfExists(job.file);
+                } catch (IOException e) {
+                    log.warn("Could not delete expired report {}", job.file, e);
+                }
+            }
+        }
+    }
+
+    private Job find(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new RuntimeException("Report not found with id: " + id);
+        }
+        return job;
+    }
+
+    private void run(Job job) {
+        job.status = RUNNING;
+        Path part = root.resolve(job.id + ".part");
+        try {
+            long rows = readOnlyTransaction.execute(status -> write(job, part));
+            Files.move(part, job.file, StandardCopyOption.ATOMIC_MOVE);
+            job.rows = rows;
+            job.sizeBytes = Files.size(job.file);
+            job.completedAt = LocalDateTime.now();
+            job.expiresAt = job.completedAt.plusMinutes(ttlMinutes);
+            job.status = COMPLETED;
+        } catch (RuntimeException | IOException e) {
+            log.warn("Report {} ({}) failed", job.id, job.type, e);
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException ignored) {
+                // The startup sweep removes it
+            }
+            job.error = e.getMessage();
+            job.completedAt = LocalDateTime.now();
+            // Failed jobs stay visible for a TTL but are never handed out again
+            job.expiresAt = job.completedAt.plusMinutes(ttlMinutes);
+            job.status = FAILED;
+        }
+    }
+
+    private long write(Job job, Path part) {
+        try (BufferedWriter out = Files.newBufferedWriter(part, StandardCharsets.UTF_8)) {
+            long rows = 0;
+            switch (job.type) {
+                case ROSTER -> {
+                    line(out, "Student ID", "First Name", "Last Name", "Email", "Status", "Enrolled On");
+                    try (Stream<CourseReportRow> stream = enrollmentRepository.streamCourseReportRows(job.courseId)) {
+                        for (CourseReportRow row : (Iterable<CourseReportRow>) stream::iterator) {
+                            if (!"DROPPED".equals(row.getStatus())) {
+                                line(out, row.getStudentNumber(), row.getFirstName(), row.getLastName(), row.getEmail(),
+                                        row.getStatus(), row.getEnrollmentDate());
+                                rows++;
+                            }
+                        }
+                    }
+                }
+                case GRADE_SHEET -> {
+                    line(out, "Student ID", "First Name", "Last Name", "Status", "Grade", "Letter", "Comments");
+                    try (Stream<CourseReportRow> stream = enrollmentRepository.streamCourseReportRows(job.courseId)) {
+                        for (CourseReportRow row : (Iterable<CourseReportRow>) stream::iterator) {
+                            line(out, row.getStudentNumber(), row.getFirstName(), row.getLastName(), row.getStatus(),
+                                    row.getGrade(), row.getGradeLetter(), row.getComments());
+                            rows++;
+                        }
+                    }
+                }
+                default -> {
+                    line(out, "Course Code", "Course Name", "Capacity", "Enrolled", "Completed", "Dropped", "Average Grade");
+                    try (Stream<CourseEnrollmentSummary> stream = enrollmentRepository.streamCourseEnrollmentSummaries(job.termId)) {
+                        for (CourseEnrollmentSummary row : (Iterable<CourseEnrollmentSummary>) stream::iterator) {
+                            line(out, row.getCourseCode(), row.getCourseName(), row.getMaxStudents(), row.getEnrolled(),
+                                    row.getCompleted(), row.getDropped(), row.getAverageGrade());
+                            rows++;
+                        }
+                    }
+                }
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // One CSV line; fields with commas, quotes or line breaks are quoted
+    private static void line(BufferedWriter out, Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String value = fields[i] == null ? "" : fields[i].toString();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(value.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(value);
+            }
+        }
+        out.write("\r\n");
+    }
+
+    private final class Job {
+        final String id;
+        final String key;
+        final String type;
+        final Long courseId;
+        final Long termId;
+        final Path file;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        volatile String status = QUEUED;
+        volatile LocalDateTime completedAt;
+        volatile LocalDateTime expiresAt;
+        volatile Long rows;
+        volatile Long sizeBytes;
+        volatile String error;
+
+        Job(String id, String key, String type, Long courseId, Long termId) {
+            this.id = id;
+            this.key = key;
+            this.type = type;
+            this.courseId = courseId;
+            this.termId = termId;
+            this.file = root.resolve(id + ".csv");
+        }
+
+        // Queued, running, or completed and not yet expired
+        boolean isReusable() {
+            return !FAILED.equals(status) && (expiresAt == null || expiresAt.isAfter(LocalDateTime.now()));
+        }
+
+        ReportJobDTO toDTO() {
+            ReportJobDTO dto = new ReportJobDTO(id, type, courseId, status, createdAt);
+            dto.setCompletedAt(completedAt);
+            dto.setExpiresAt(expiresAt);
+            dto.setRows(rows);
+            dto.setSizeBytes(sizeBytes);
+            dto.setError(error);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.config.ReportingRouting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Background reporting work on a small fixed pool whose database access always goes to the reporting connection pool
+@Service
+public class ReportingExecutor {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${reporting.executor.threads:2}")
+    private int threads;
+
+    @Value("${reporting.executor.queue-capacity:20}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Work beyond the queue capacity is rejected immediately instead of piling up
+        executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "reporting-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        new ExecutorServiceMetrics(executor, "reporting", List.of()).bindTo(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Queue reporting work; throws IllegalStateException when the queue is full
+    public <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(() -> ReportingRouting.call(() -> {
+                try {
+                    return task.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Reporting queue is full");
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.dto.SeatAvailabilityDTO;
+import com.example.university.course.management.system.event.DomainEvent;
+import com.example.university.course.management.system.event.DomainEventListener;
+import com.example.university.course.management.system.repository.CourseRepository;
+import com.example.university.course.management.system.repository.SeatCount;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes seat counts to subscribed clients over Server-Sent Events.
+ *
+ * Enrollment events only mark a course dirty. One broadcaster thread wakes once per coalescing
+ * window, loads seat counts for every dirty course that has subscribers in a single query, and
+ * queues an update to each subscriber only when the numbers actually changed. New subscribers are
+ * loaded by the same thread, so subscribing never touches the database on the request thread.
+ *
+ * The broadcaster never writes to a connection. Each subscriber keeps only the latest pending count
+ * per course, and a small sender pool drains one subscriber at a time, so a slow client falls behind
+ * by skipping intermediate counts rather than holding up everyone else. A subscriber whose write
+ * has been stuck for longer than seats.max-send-stall-ms is dropped. Emitters are async servlet
+ * responses, so an idle open connection holds no thread.
+ */
+@Service
+public class SeatAvailabilityService implements DomainEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatAvailabilityService.class);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Value("${seats.coalesce-window-ms:250}")
+    private long coalesceWindowMs;
+
+    @Value("${seats.heartbeat-interval-ms:20000}")
+    private long heartbeatIntervalMs;
+
+    @Value("${seats.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${seats.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${seats.max-courses-per-subscription:50}")
+    private int maxCoursesPerSubscription;
+
+    @Value("${seats.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${seats.max-send-stall-ms:10000}")
+    private long maxSendStallMs;
+
+    private final ConcurrentHashMap<Long, Set<Subscription>> subscribersByCourse = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Set<Long> dirtyCourses = ConcurrentHashMap.newKeySet();
+    // Subscribers still waiting for their first counts
+    private final ConcurrentLinkedQueue<Subscription> newSubscriptions = new ConcurrentLinkedQueue<>();
+    // Last (maxStudents, enrolled) pushed per course, packed into one long, to skip no-op updates
+    private final Map<Long, Long> lastSent = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService broadcaster;
+    private ExecutorService senders;
+
+    @PostConstruct
+    public void start() {
+        broadcaster = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger senderNumber = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "seat-sender-" + senderNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        broadcaster.scheduleWithFixedDelay(this::flushSafely, coalesceWindowMs, coalesceWindowMs, TimeUnit.MILLISECONDS);
+        broadcaster.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        broadcaster.shutdown();
+        senders.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    // Open a stream for the given courses; their current counts follow with the next flush
+    public SseEmitter subscribe(Collection<Long> courseIds) {
+        Set<Long> courses = new LinkedHashSet<>(courseIds);
+        if (courses.isEmpty() || courses.size() > maxCoursesPerSubscription) {
+            throw new RuntimeException("Subscribe to between 1 and " + maxCoursesPerSubscription + " courses");
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many seat subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscription subscription = new Subscription(emitter, courses);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(error -> unsubscribe(subscription));
+        subscriptions.add(subscription);
+        for (Long courseId : courses) {
+            // compute, not computeIfAbsent, so a concurrent unsubscribe cannot drop the set we add to
+            subscribersByCourse.compute(courseId, (id, subscribers) -> {
+                Set<Subscription> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                set.add(subscription);
+                return set;
+            });
+        }
+        newSubscriptions.add(subscription);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // Any change that can move a seat count marks the course for the next flush
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            switch (event.getType()) {
+                case ENROLLED, DROPPED, GRADED, COURSE_UPDATED -> dirtyCourses.add(event.getCourseId());
+                case STUDENT_DELETED -> dirtyCourses.addAll(event.getCourseIds());
+                case COURSE_DELETED -> lastSent.remove(event.getCourseId());
+                default -> { }
+            }
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Seat availability flush failed", e);
+        }
+    }
+
+    private void flush() {
+        flushDirtyCourses();
+        sendFirstCounts();
+    }
+
+    private void flushDirtyCourses() {
+        if (dirtyCourses.isEmpty()) {
+            return;
+        }
+        List<Long> watched = new ArrayList<>();
+        for (Long courseId : new ArrayList<>(dirtyCourses)) {
+            dirtyCourses.remove(courseId);
+            if (subscribersByCourse.containsKey(courseId)) {
+                watched.add(courseId);
+            } else {
+                // Nobody is listening; the next subscriber gets a fresh snapshot anyway
+                lastSent.remove(courseId);
+            }
+        }
+        if (watched.isEmpty()) {
+            return;
+        }
+        for (SeatCount count : courseRepository.findSeatCounts(watched)) {
+            long packed = ((long) count.getMaxStudents() << 32) | count.getEnrolled();
+            Long previous = lastSent.put(count.getCourseId(), packed);
+            if (previous != null && previous == packed) {
+                continue;
+            }
+            Set<Subscription> subscribers = subscribersByCourse.get(count.getCourseId());
+            if (subscribers != null) {
+                SeatAvailabilityDTO update = toDTO(count);
+                for (Subscription subscription : subscribers) {
+                    subscription.pending.put(update.getCourseId(), update);
+                    schedule(subscription);
+                }
+            }
+        }
+    }
+
+    // One query for the courses of everyone who subscribed since the last flush
+    private void sendFirstCounts() {
+        List<Subscription> waiting = new ArrayList<>();
+        Set<Long> courses = new LinkedHashSet<>();
+        for (Subscription subscription = newSubscriptions.poll(); subscription != null; subscription = newSubscriptions.poll()) {
+            if (subscriptions.contains(subscription)) {
+                waiting.add(subscription);
+                courses.addAll(subscription.courseIds);
+            }
+        }
+        if (waiting.isEmpty()) {
+            return;
+        }
+        Map<Long, SeatAvailabilityDTO> counts = new HashMap<>();
+        for (SeatCount count : courseRepository.findSeatCounts(courses)) {
+            counts.put(count.getCourseId(), toDTO(count));
+        }
+        for (Subscription subscription : waiting) {
+            for (Long courseId : subscription.courseIds) {
+                SeatAvailabilityDTO count = counts.get(courseId);
+                if (count != null) {
+                    // A change flushed just before is at most as new as this count
+                    subscription.pending.put(courseId, count);
+                }
+            }
+            schedule(subscription);
+        }
+    }
+
+    // Comment lines keep proxies from closing idle streams and reveal dead connections; a subscriber
+    // still stuck in a write since well before this is dropped instead
+    private void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscription subscription : subscriptions) {
+            long sendingSince = subscription.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > TimeUnit.MILLISECONDS.toNanos(maxSendStallMs)) {
+                // Completing the emitter would wait for the stuck write, so only stop feeding it;
+                // the write fails or the emitter times out on its own
+                log.debug("Dropping seat subscriber stalled for over {} ms", maxSendStallMs);
+                unsubscribe(subscription);
+                continue;
+            }
+            subscription.ping = true;
+            schedule(subscription);
+        }
+    }
+
+    // Hand the subscriber to a sender unless one is already draining it
+    private void schedule(Subscription subscription) {
+        if (subscription.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscription));
+            } catch (RejectedExecutionException e) {
+                subscription.draining.set(false);
+            }
+        }
+    }
+
+    // Runs on a sender thread; writes whatever is pending, then checks again after letting go so
+    // nothing queued in between is left behind
+    private void drain(Subscription subscription) {
+        do {
+            try {
+                if (subscription.ping) {
+                    subscription.ping = false;
+                    write(subscription, SseEmitter.event().comment("ping"));
+                }
+                for (Long courseId : subscription.pending.keySet()) {
+                    SeatAvailabilityDTO update = subscription.pending.remove(courseId);
+                    if (update != null) {
+                        write(subscription, SseEmitter.event().name("seats").data(update, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscription.pending.clear();
+                subscription.emitter.completeWithError(e);
+                unsubscribe(subscription);
+                return;
+            } finally {
+                subscription.draining.set(false);
+            }
+        } while ((subscription.ping || !subscription.pending.isEmpty())
+                && subscriptions.contains(subscription)
+                && subscription.draining.compareAndSet(false, true));
+    }
+
+    private void write(Subscription subscription, SseEmitter.SseEventBuilder event) throws IOException {
+        if (!subscriptions.contains(subscription)) {
+            throw new IllegalStateException("Seat subscriber is gone");
+        }
+        subscription.sendingSince = System.nanoTime();
+        try {
+            subscription.emitter.send(event);
+        } finally {
+            subscription.sendingSince = 0;
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        if (!subscriptions.remove(subscription)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        for (Long courseId : subscription.courseIds) {
+            subscribersByCourse.computeIfPresent(courseId, (id, subscribers) -> {
+                subscribers.remove(subscription);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    private SeatAvailabilityDTO toDTO(SeatCount count) {
+        return new SeatAvailabilityDTO(count.getCourseId(), count.getMaxStudents(), count.getEnrolled());
+    }
+
+    private static final class Subscription {
+        final SseEmitter emitter;
+        final Set<Long> courseIds;
+        // Latest count waiting to be written per course; older ones are overwritten
+        final Map<Long, SeatAvailabilityDTO> pending = new ConcurrentHashMap<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean ping;
+        // When the write in progress started, 0 when none is
+        volatile long sendingSince;
+
+        Subscription(SseEmitter emitter, Set<Long> courseIds) {
+            this.emitter = emitter;
+            this.courseIds = courseIds;
+        }
+    }
+}
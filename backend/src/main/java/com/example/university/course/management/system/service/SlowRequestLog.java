@@ -0,0 +1,54 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.dto.SlowRequestDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// The most recent timed requests over the slow threshold, in a fixed ring that overwrites the oldest
+@Service
+public class SlowRequestLog {
+
+    @Value("${timing.slow-request-threshold-ms:500}")
+    private long thresholdMs;
+
+    private final AtomicReferenceArray<SlowRequestDTO> ring;
+    private final AtomicLong next = new AtomicLong();
+
+    public SlowRequestLog(@Value("${timing.slow-request-capacity:200}") int capacity) {
+        this.ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    public boolean isSlow(double totalMs) {
+        return totalMs >= thresholdMs;
+    }
+
+    public void record(SlowRequestDTO request) {
+        int slot = (int) (next.getAndIncrement() % ring.length());
+        ring.set(slot, request);
+    }
+
+    // Slowest first
+    public List<SlowRequestDTO> getSlowest() {
+        List<SlowRequestDTO> requests = new ArrayList<>(ring.length());
+        for (int i = 0; i < ring.length(); i++) {
+            SlowRequestDTO request = ring.get(i);
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        requests.sort(Comparator.comparing(SlowRequestDTO::getTotalMs).reversed());
+        return requests;
+    }
+
+    public void clear() {
+        for (int i = 0; i < ring.length(); i++) {
+            ring.set(i, null);
+        }
+    }
+}
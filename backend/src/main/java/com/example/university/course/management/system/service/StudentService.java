@@ -1,19 +1,43 @@
 package com.example.university.course.management.system.service;
 
+import com.example.university.course.management.system.archive.ArchivedEnrollment;
+import com.example.university.course.management.system.config.ReportingQuery;
+import com.example.university.course.management.system.dto.AcademicSummaryDTO;
+import com.example.university.course.management.system.dto.ClassmateDTO;
+import com.example.university.course.management.system.dto.CourseDTO;
 import com.example.university.course.management.system.dto.EnrollmentDTO;
 import com.example.university.course.management.system.dto.StudentDTO;
 import com.example.university.course.management.system.entity.Course;
 import com.example.university.course.management.system.entity.Enrollment;
+import com.example.university.course.management.system.entity.EnrollmentView;
 import com.example.university.course.management.system.entity.Student;
+import com.example.university.course.management.system.entity.StudentAcademicSummary;
+import com.example.university.course.management.system.event.DomainEvent;
+import com.example.university.course.management.system.event.DomainEventPublisher;
+import com.example.university.course.management.system.event.DomainEventType;
+import com.example.university.course.management.system.jfr.EnrollmentEvent;
+import com.example.university.course.management.system.jfr.Recorded;
 import com.example.university.course.management.system.repository.CourseRepository;
 import com.example.university.course.management.system.repository.EnrollmentRepository;
 import com.example.university.course.management.system.repository.StudentRepository;
 import com.example.university.course.management.system.repository.UserRepository;
+import com.example.university.course.management.system.util.AfterCommit;
+import com.example.university.course.management.system.util.EnrollmentMapper;
+import com.example.university.course.management.system.util.RequestTiming;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,13 +54,59 @@ public class StudentService {
 
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private MembershipFilterService membershipFilterService;
+
+    @Autowired
+    private AcademicSummaryService academicSummaryService;
+
+    @Autowired
+    private PrerequisiteService prerequisiteService;
+    
+    @Autowired
+    private TimetableService timetableService;
     
-    // Create a new student
+    @Autowired
+    private EnrollmentGraphService enrollmentGraphService;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private EnrollmentArchiveService enrollmentArchiveService;
+
+    @Autowired
+    private EnrollmentViewService enrollmentViewService;
+
+    @Autowired
+    private ApplicationMetrics applicationMetrics;
+
+    @Lazy
+    @Autowired
+    private StudentService self;
+    
+    // Create a new student. The temporary password (the student ID) is hashed before the transaction
+    // opens, so waiting on the hashing pool never holds a database connection
     public StudentDTO createStudent(StudentDTO studentDTO) {
-        if (studentRepository.existsByEmail(studentDTO.getEmail())) {
+        return self.createStudent(studentDTO, passwordHashingService.hash(studentDTO.getStudentId()));
+    }
+    
+    @Transactional
+    public StudentDTO createStudent(StudentDTO studentDTO, String passwordHash) {
+        // The membership filter answers most of these checks without a database round trip
+        if (membershipFilterService.mightContainStudentEmail(studentDTO.getEmail()) &&
+            studentRepository.existsByEmail(studentDTO.getEmail())) {
             throw new RuntimeException("Student with email " + studentDTO.getEmail() + " already exists");
         }
-        if (studentRepository.existsByStudentId(studentDTO.getStudentId())) {
+        if (membershipFilterService.mightContainStudentId(studentDTO.getStudentId()) &&
+            studentRepository.existsByStudentId(studentDTO.getStudentId())) {
             throw new RuntimeException("Student with ID " + studentDTO.getStudentId() + " already exists");
         }
         Student student = new Student(
@@ -47,37 +117,89 @@ public class StudentService {
             studentDTO.getStudentId()
         );
         Student savedStudent = studentRepository.save(student);
+        membershipFilterService.addStudent(savedStudent.getEmail(), savedStudent.getStudentId());
+        academicSummaryService.createFor(savedStudent.getId());
         // Also create a User entity for login
-        if (!userRepository.findByEmail(studentDTO.getEmail()).isPresent()) {
+        if (!membershipFilterService.mightContainUserEmail(studentDTO.getEmail()) ||
+            !userRepository.findByEmail(studentDTO.getEmail()).isPresent()) {
             com.example.university.course.management.system.entity.User user =
                 new com.example.university.course.management.system.entity.User(
                     studentDTO.getEmail(),
-                    studentDTO.getStudentId(), // Use studentId as temporary password
+                    passwordHash, // studentId as temporary password
                     "student"
                 );
             // User will be marked as firstLogin=true by default for students
             userRepository.save(user);
+            membershipFilterService.addUserEmail(user.getEmail());
         }
+        eventPublisher.publish(DomainEvent.studentChanged(DomainEventType.STUDENT_CREATED,
+                savedStudent.getId(), savedStudent.getEmail(), savedStudent.getStudentId()));
         return convertToDTO(savedStudent);
     }
     
-    // Get all students
-    public List<StudentDTO> getAllStudents() {
-        return studentRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    // Get all students, or those enrolled in a term together with that term's enrollments; the
+    // enrollments come from the view, so neither list joins enrollments to courses
+    @ReportingQuery
+    @Transactional(readOnly = true)
+    public List<StudentDTO> getAllStudents(Long termId) {
+        // Load all GPA summaries in one query rather than one per student
+        Map<Long, StudentAcademicSummary> summaries = academicSummaryService.getAllSummaries();
+        List<Student> students;
+        List<EnrollmentView> enrollments;
+        if (termId == null) {
+            students = studentRepository.findAll(Sort.by("id"));
+            enrollments = enrollmentViewService.findAll();
+        } else {
+            students = studentRepository.findEnrolledInTerm(termId);
+            enrollments = enrollmentViewService.findByTermId(termId);
+        }
+        Map<Long, List<EnrollmentView>> enrollmentsByStudent = enrollments.stream()
+                .collect(Collectors.groupingBy(EnrollmentView::getStudentId));
+        return RequestTiming.mapping(() -> students.stream()
+                .map(student -> {
+                    StudentDTO dto = convertToDTO(student, enrollmentsByStudent.getOrDefault(student.getId(), List.of()));
+                    StudentAcademicSummary summary = summaries.get(student.getId());
+                    if (summary != null) {
+                        dto.setGpa(summary.getGpa());
+                        dto.setCreditsAttempted(summary.getCreditsAttempted());
+                        dto.setCreditsEarned(summary.getCreditsEarned());
+                    }
+                    return dto;
+                })
+                .collect(Collectors.toList()));
     }
     
     // Get student by ID
+    @Transactional(readOnly = true)
     public StudentDTO getStudentById(Long id) {
         Optional<Student> student = studentRepository.findById(id);
         if (student.isPresent()) {
-            return convertToDTO(student.get());
+            List<EnrollmentView> enrollments = enrollmentViewService.findByStudentId(id, null);
+            StudentDTO dto = RequestTiming.mapping(() -> convertToDTO(student.get(), enrollments));
+            List<EnrollmentDTO> history = archivedEnrollmentDTOs(student.get(), null);
+            if (!history.isEmpty()) {
+                history.addAll(dto.getEnrollments());
+                dto.setEnrollments(history);
+            }
+            AcademicSummaryDTO summary = academicSummaryService.getSummary(id);
+            dto.setGpa(summary.getGpa());
+            dto.setCreditsAttempted(summary.getCreditsAttempted());
+            dto.setCreditsEarned(summary.getCreditsEarned());
+            return dto;
         }
         throw new RuntimeException("Student not found with id: " + id);
     }
     
+    // Get GPA and credit totals for a student
+    public AcademicSummaryDTO getAcademicSummary(Long studentId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found with id: " + studentId);
+        }
+        return academicSummaryService.getSummary(studentId);
+    }
+    
     // Update student
+    @Transactional
     public StudentDTO updateStudent(Long id, StudentDTO studentDTO) {
         Optional<Student> existingStudent = studentRepository.findById(id);
         if (existingStudent.isPresent()) {
@@ -85,16 +207,20 @@ public class StudentService {
             
             // Check if email is being changed and if it already exists
             if (!student.getEmail().equals(studentDTO.getEmail()) && 
+                membershipFilterService.mightContainStudentEmail(studentDTO.getEmail()) &&
                 studentRepository.existsByEmail(studentDTO.getEmail())) {
                 throw new RuntimeException("Student with email " + studentDTO.getEmail() + " already exists");
             }
             
             // Check if student ID is being changed and if it already exists
             if (!student.getStudentId().equals(studentDTO.getStudentId()) && 
+                membershipFilterService.mightContainStudentId(studentDTO.getStudentId()) &&
                 studentRepository.existsByStudentId(studentDTO.getStudentId())) {
                 throw new RuntimeException("Student with ID " + studentDTO.getStudentId() + " already exists");
             }
             
+            boolean renamed = !student.getFirstName().equals(studentDTO.getFirstName())
+                    || !student.getLastName().equals(studentDTO.getLastName());
             student.setFirstName(studentDTO.getFirstName());
             student.setLastName(studentDTO.getLastName());
             student.setEmail(studentDTO.getEmail());
@@ -102,32 +228,57 @@ public class StudentService {
             student.setStudentId(studentDTO.getStudentId());
             
             Student updatedStudent = studentRepository.save(student);
+            if (renamed) {
+                enrollmentViewService.studentChanged(updatedStudent);
+            }
+            membershipFilterService.addStudent(updatedStudent.getEmail(), updatedStudent.getStudentId());
+            eventPublisher.publish(DomainEvent.studentChanged(DomainEventType.STUDENT_UPDATED,
+                    updatedStudent.getId(), updatedStudent.getEmail(), updatedStudent.getStudentId()));
             return convertToDTO(updatedStudent);
         }
         throw new RuntimeException("Student not found with id: " + id);
     }
     
     // Delete student
+    @Transactional
     public void deleteStudent(Long id) {
         if (studentRepository.existsById(id)) {
+            List<Long> courseIds = new ArrayList<>(enrollmentRepository.findCourseIdsByStudentId(id));
+            List<Long> enrollmentIds = new ArrayList<>(enrollmentRepository.findIdsByStudentId(id));
+            for (ArchivedEnrollment archived : enrollmentArchiveService.findByStudentId(id)) {
+                courseIds.add(archived.getCourseId());
+                enrollmentIds.add(archived.getId());
+            }
+            syncService.recordDeletion(SyncService.ENROLLMENT, enrollmentIds);
+            syncService.recordDeletion(SyncService.STUDENT, List.of(id));
             studentRepository.deleteById(id);
+            enrollmentViewService.deleteForStudent(id);
+            academicSummaryService.deleteFor(id);
+            enrollmentArchiveService.markStudentDeleted(id);
+            eventPublisher.publish(DomainEvent.studentDeleted(id, courseIds));
         } else {
             throw new RuntimeException("Student not found with id: " + id);
         }
     }
     
-    // Get student enrollments
-    public List<EnrollmentDTO> getStudentEnrollments(Long studentId) {
-        if (!studentRepository.existsById(studentId)) {
+    // Get student enrollments, optionally only those of one term
+    public List<EnrollmentDTO> getStudentEnrollments(Long studentId, Long termId) {
+        Optional<Student> student = studentRepository.findById(studentId);
+        if (student.isEmpty()) {
             throw new RuntimeException("Student not found with id: " + studentId);
         }
         
-        return enrollmentRepository.findByStudentId(studentId).stream()
-                .map(this::convertEnrollmentToDTO)
-                .collect(Collectors.toList());
+        List<EnrollmentView> enrollments = enrollmentViewService.findByStudentId(studentId, termId);
+        List<EnrollmentDTO> history = archivedEnrollmentDTOs(student.get(), termId);
+        return RequestTiming.mapping(() -> {
+            enrollments.stream().map(EnrollmentMapper::toDTO).forEach(history::add);
+            return history;
+        });
     }
     
     // Enroll student in a course
+    @Transactional
+    @Recorded(EnrollmentEvent.class)
     public EnrollmentDTO enrollStudentInCourse(Long studentId, Long courseId) {
         Optional<Student> student = studentRepository.findById(studentId);
         Optional<Course> course = courseRepository.findById(courseId);
@@ -140,25 +291,125 @@ public class StudentService {
             throw new RuntimeException("Course not found with id: " + courseId);
         }
         
-        // Check if already enrolled
-        if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+        // Check if already enrolled, including completed enrollments that have been archived
+        if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)
+                || enrollmentArchiveService.exists(studentId, courseId)) {
             throw new RuntimeException("Student is already enrolled in this course");
         }
         
+        // Check prerequisites against the student's compiled completion bitsets
+        prerequisiteService.checkEligible(studentId, courseId);
+        
+        // Check the course's meetings against the student's current timetable
+        timetableService.checkNoClash(studentId, course.get());
+        
         // Check if course is full
         long enrolledCount = enrollmentRepository.findActiveEnrollmentsByCourseId(courseId).size();
         if (enrolledCount >= course.get().getMaxStudents()) {
+            applicationMetrics.capacityRejected();
             throw new RuntimeException("Course is full. Cannot enroll more students");
         }
         
         Enrollment enrollment = new Enrollment(student.get(), course.get());
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
-        return convertEnrollmentToDTO(savedEnrollment);
+        enrollmentViewService.save(savedEnrollment);
+        eventPublisher.publish(new DomainEvent(DomainEventType.ENROLLED, studentId, courseId));
+        AfterCommit.run(applicationMetrics::enrollmentCommitted);
+        return EnrollmentMapper.toDTO(savedEnrollment);
+    }
+    
+    // Get active courses the student is not yet enrolled in and has the prerequisites for
+    public List<CourseDTO> getEligibleCourses(Long studentId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found with id: " + studentId);
+        }
+        Set<Long> enrolledCourseIds = new HashSet<>(enrollmentRepository.findCourseIdsByStudentId(studentId));
+        enrollmentArchiveService.findByStudentId(studentId).forEach(archived -> enrolledCourseIds.add(archived.getCourseId()));
+        Map<Long, Course> candidates = courseRepository.findAll().stream()
+                .filter(course -> "ACTIVE".equals(course.getStatus()) && !enrolledCourseIds.contains(course.getId()))
+                .collect(Collectors.toMap(Course::getId, course -> course));
+        return prerequisiteService.filterEligible(studentId, candidates.keySet()).stream()
+                .map(candidates::get)
+                .map(course -> new CourseDTO(
+                    course.getId(),
+                    course.getCourseCode(),
+                    course.getCourseName(),
+                    course.getDescription(),
+                    course.getCredits(),
+                    course.getInstructor(),
+                    course.getMaxStudents(),
+                    course.getStatus()
+                ))
+                .collect(Collectors.toList());
+    }
+    
+    // Get students sharing a course with this student, most shared courses first
+    public List<ClassmateDTO> getClassmates(Long studentId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found with id: " + studentId);
+        }
+        Map<Long, Integer> sharedCounts = enrollmentGraphService.classmates(studentId);
+        Map<Long, Student> students = studentRepository.findAllById(sharedCounts.keySet()).stream()
+                .collect(Collectors.toMap(Student::getId, student -> student));
+        return sharedCounts.entrySet().stream()
+                .filter(entry -> students.containsKey(entry.getKey()))
+                .map(entry -> {
+                    Student student = students.get(entry.getKey());
+                    return new ClassmateDTO(
+                        student.getId(),
+                        student.getStudentId(),
+                        student.getFirstName(),
+                        student.getLastName(),
+                        entry.getValue()
+                    );
+                })
+                .collect(Collectors.toList());
     }
     
-    // Convert Student entity to DTO
-    private StudentDTO convertToDTO(Student student) {
-        StudentDTO dto = new StudentDTO(
+    // Get courses both students are enrolled in
+    public List<CourseDTO> getSharedCourses(Long studentId, Long otherStudentId) {
+        if (!studentRepository.existsById(studentId) || !studentRepository.existsById(otherStudentId)) {
+            throw new RuntimeException("Student not found");
+        }
+        long[] courseIds = enrollmentGraphService.sharedCourses(studentId, otherStudentId);
+        if (courseIds.length == 0) {
+            return List.of();
+        }
+        return courseRepository.findAllById(Arrays.stream(courseIds).boxed().collect(Collectors.toList())).stream()
+                .sorted(Comparator.comparing(Course::getId))
+                .map(course -> new CourseDTO(
+                    course.getId(),
+                    course.getCourseCode(),
+                    course.getCourseName(),
+                    course.getDescription(),
+                    course.getCredits(),
+                    course.getInstructor(),
+                    course.getMaxStudents(),
+                    course.getStatus()
+                ))
+                .collect(Collectors.toList());
+    }
+    
+    // Convert Student entity to DTO (package-private for the mapping benchmarks)
+    StudentDTO convertToDTO(Student student) {
+        StudentDTO dto = convertFields(student);
+        dto.setEnrollments(student.getEnrollments().stream()
+                .map(EnrollmentMapper::toDTO)
+                .collect(Collectors.toList()));
+        return dto;
+    }
+    
+    // Convert a Student with the given enrollments from the view
+    private StudentDTO convertToDTO(Student student, List<EnrollmentView> enrollments) {
+        StudentDTO dto = convertFields(student);
+        dto.setEnrollments(enrollments.stream()
+                .map(EnrollmentMapper::toDTO)
+                .collect(Collectors.toList()));
+        return dto;
+    }
+    
+    private StudentDTO convertFields(Student student) {
+        return new StudentDTO(
             student.getId(),
             student.getFirstName(),
             student.getLastName(),
@@ -166,30 +417,26 @@ public class StudentService {
             student.getPhoneNumber(),
             student.getStudentId()
         );
-        
-        // Convert enrollments if needed
-        List<EnrollmentDTO> enrollmentDTOs = student.getEnrollments().stream()
-                .map(this::convertEnrollmentToDTO)
-                .collect(Collectors.toList());
-        dto.setEnrollments(enrollmentDTOs);
-        
-        return dto;
     }
     
-    // Convert Enrollment entity to DTO
-    private EnrollmentDTO convertEnrollmentToDTO(Enrollment enrollment) {
-        return new EnrollmentDTO(
-            enrollment.getId(),
-            enrollment.getStudent().getId(),
-            enrollment.getStudent().getFirstName() + " " + enrollment.getStudent().getLastName(),
-            enrollment.getCourse().getId(),
-            enrollment.getCourse().getCourseName(),
-            enrollment.getCourse().getCourseCode(),
-            enrollment.getEnrollmentDate(),
-            enrollment.getStatus(),
-            enrollment.getGrade(),
-            enrollment.getGradeLetter(),
-            enrollment.getComments()
-        );
+    // Archived enrollments of a student, oldest first, ahead of any live ones; all terms when termId is null
+    private List<EnrollmentDTO> archivedEnrollmentDTOs(Student student, Long termId) {
+        List<ArchivedEnrollment> archived = enrollmentArchiveService.findByStudentId(student.getId());
+        if (termId != null) {
+            archived = archived.stream()
+                    .filter(row -> termId.equals(row.getTermId()))
+                    .collect(Collectors.toList());
+        }
+        if (archived.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Course> courses = courseRepository.findAllById(archived.stream()
+                        .map(ArchivedEnrollment::getCourseId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Course::getId, course -> course));
+        return archived.stream()
+                .sorted(Comparator.comparing(ArchivedEnrollment::getEnrollmentDate))
+                .map(row -> EnrollmentMapper.toDTO(row, student, courses.get(row.getCourseId())))
+                .collect(Collectors.toCollection(ArrayList::new));
     }
 }
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.config.OpenWriteTransactions;
+import com.example.university.course.management.system.config.ReportingQuery;
+import com.example.university.course.management.system.dto.CourseDTO;
+import com.example.university.course.management.system.dto.EnrollmentDTO;
+import com.example.university.course.management.system.dto.StudentDTO;
+import com.example.university.course.management.system.dto.SyncResponseDTO;
+import com.example.university.course.management.system.entity.Course;
+import com.example.university.course.management.system.entity.Enrollment;
+import com.example.university.course.management.system.entity.Student;
+import com.example.university.course.management.system.entity.Tombstone;
+import com.example.university.course.management.system.jfr.BulkOperationEvent;
+import com.example.university.course.management.system.jfr.Recorded;
+import com.example.university.course.management.system.repository.CourseRepository;
+import com.example.university.course.management.system.repository.EnrollmentRepository;
+import com.example.university.course.management.system.repository.StudentRepository;
+import com.example.university.course.management.system.repository.TombstoneRepository;
+import com.example.university.course.management.system.util.EnrollmentMapper;
+import com.example.university.course.management.system.util.RequestTiming;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync for clients that keep local copies of the student, course and enrollment lists.
+ *
+ * The token is the server time (epoch millis) at which the previous sync started, moved back to the
+ * start of the oldest write transaction still open then. A transaction stamps its rows after it
+ * starts but they only show once it commits, so the next delta still picks them up however long the
+ * commit took: term moves and archive batches included. The safety window before the token only
+ * covers writes this process cannot see open: other instances and the dataset generator. Clients
+ * upsert by id, so the overlap only costs a few repeated rows.
+ */
+@Service
+public class SyncService {
+
+    public static final String STUDENT = "STUDENT";
+    public static final String COURSE = "COURSE";
+    public static final String ENROLLMENT = "ENROLLMENT";
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private TimetableService timetableService;
+
+    @Autowired
+    private EnrollmentArchiveService enrollmentArchiveService;
+
+    @Autowired
+    private OpenWriteTransactions openWriteTransactions;
+
+    @Value("${sync.safety-window-ms:5000}")
+    private long safetyWindowMs;
+
+    @Value("${sync.tombstone-retention-days:30}")
+    private long tombstoneRetentionDays;
+
+    // Everything changed since the token; a missing or expired token returns the full lists
+    @ReportingQuery
+    @Transactional(readOnly = true)
+    public SyncResponseDTO getChangesSince(String token) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime oldestOpen = openWriteTransactions.oldestStart();
+        LocalDateTime next = oldestOpen != null && oldestOpen.isBefore(now) ? oldestOpen : now;
+        LocalDateTime since = token != null ? fromToken(token) : null;
+        // Deletions older than the tombstone retention are gone, so such a client has to start over
+        boolean fullResync = since == null || since.isBefore(now.minusDays(tombstoneRetentionDays));
+
+        SyncResponseDTO response = new SyncResponseDTO();
+        response.setToken(toToken(next));
+        response.setFullResync(fullResync);
+        List<Long> deletedStudentIds = new ArrayList<>();
+        List<Long> deletedCourseIds = new ArrayList<>();
+        List<Long> deletedEnrollmentIds = new ArrayList<>();
+        if (fullResync) {
+            List<Student> students = studentRepository.findAll();
+            List<Course> courses = courseRepository.findAllWithMeetingSlots();
+            List<EnrollmentDTO> enrollments = convertArchived(students, courses);
+            enrollments.addAll(convertEnrollments(enrollmentRepository.findChangedSince(BEGINNING)));
+            response.setStudents(convertStudents(students));
+            response.setCourses(convertCourses(courses));
+            response.setEnrollments(enrollments);
+        } else {
+            LocalDateTime from = since.minusNanos(safetyWindowMs * 1_000_000);
+            response.setStudents(convertStudents(studentRepository.findByUpdatedAtAfter(from)));
+            response.setCourses(convertCourses(courseRepository.findByUpdatedAtAfter(from)));
+            response.setEnrollments(convertEnrollments(enrollmentRepository.findChangedSince(from)));
+            for (Tombstone tombstone : tombstoneRepository.findByDeletedAtAfter(from)) {
+                switch (tombstone.getEntityType()) {
+                    case STUDENT -> deletedStudentIds.add(tombstone.getEntityId());
+                    case COURSE -> deletedCourseIds.add(tombstone.getEntityId());
+                    case ENROLLMENT -> deletedEnrollmentIds.add(tombstone.getEntityId());
+                    default -> { }
+                }
+            }
+        }
+        response.setDeletedStudentIds(deletedStudentIds);
+        response.setDeletedCourseIds(deletedCourseIds);
+        response.setDeletedEnrollmentIds(deletedEnrollmentIds);
+        return response;
+    }
+
+    // Record deletions in the caller's transaction
+    public void recordDeletion(String entityType, List<Long> entityIds) {
+        List<Tombstone> tombstones = entityIds.stream()
+                .map(id -> new Tombstone(entityType, id))
+                .collect(Collectors.toList());
+        tombstoneRepository.saveAll(tombstones);
+    }
+
+    // Stamp rows created before change tracking existed so they appear in the next delta
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillUpdatedAt() {
+        LocalDateTime now = LocalDateTime.now();
+        studentRepository.backfillUpdatedAt(now);
+        courseRepository.backfillUpdatedAt(now);
+        enrollmentRepository.backfillUpdatedAt(now);
+    }
+
+    @Scheduled(fixedDelayString = "${sync.tombstone-cleanup-interval-ms:86400000}")
+    @Recorded(value = BulkOperationEvent.class, operation = "tombstonePurge")
+    public void purgeTombstones() {
+        BulkOperationEvent.setCurrentRows(tombstoneRepository.deleteOlderThan(LocalDateTime.now().minusDays(tombstoneRetentionDays)));
+    }
+
+    private static String toToken(LocalDateTime time) {
+        return Long.toString(time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private static LocalDateTime fromToken(String token) {
+        try {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(token)), ZoneId.systemDefault());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid sync token: " + token);
+        }
+    }
+
+    private List<StudentDTO> convertStudents(List<Student> students) {
+        return RequestTiming.mapping(() -> students.stream()
+                .map(student -> new StudentDTO(
+                    student.getId(),
+                    student.getFirstName(),
+                    student.getLastName(),
+                    student.getEmail(),
+                    student.getPhoneNumber(),
+                    student.getStudentId()
+                ))
+                .collect(Collectors.toList()));
+    }
+
+    private List<CourseDTO> convertCourses(List<Course> courses) {
+        return RequestTiming.mapping(() -> courses.stream()
+                .map(course -> {
+                    CourseDTO dto = new CourseDTO(
+                        course.getId(),
+                        course.getCourseCode(),
+                        course.getCourseName(),
+                        course.getDescription(),
+                        course.getCredits(),
+                        course.getInstructor(),
+                        course.getMaxStudents(),
+                        course.getStatus()
+                    );
+                    dto.setMeetingSlots(timetableService.toMeetingSlotDTOs(course.getMeetingSlots()));
+                    return dto;
+                })
+                .collect(Collectors.toList()));
+    }
+
+    // Archiving moves a row out of enrollments without changing it, so clients keep what they have
+    // and deltas need nothing; a full resync has to send the archived rows alongside the live ones
+    private List<EnrollmentDTO> convertArchived(List<Student> students, List<Course> courses) {
+        Map<Long, Student> studentsById = students.stream().collect(Collectors.toMap(Student::getId, student -> student));
+        Map<Long, Course> coursesById = courses.stream().collect(Collectors.toMap(Course::getId, course -> course));
+        return RequestTiming.mapping(() -> {
+            List<EnrollmentDTO> archived = new ArrayList<>();
+            enrollmentArchiveService.forEach(row -> archived.add(
+                    EnrollmentMapper.toDTO(row, studentsById.get(row.getStudentId()), coursesById.get(row.getCourseId()))));
+            return archived;
+        });
+    }
+
+    private List<EnrollmentDTO> convertEnrollments(List<Enrollment> enrollments) {
+        return RequestTiming.mapping(() -> enrollments.stream()
+                .map(EnrollmentMapper::toDTO)
+                .collect(Collectors.toList()));
+    }
+}
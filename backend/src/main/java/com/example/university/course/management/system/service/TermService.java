@@ -0,0 +1,99 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.dto.TermDTO;
+import com.example.university.course.management.system.entity.Term;
+import com.example.university.course.management.system.repository.EnrollmentRepository;
+import com.example.university.course.management.system.repository.EnrollmentViewRepository;
+import com.example.university.course.management.system.repository.TermRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class TermService {
+
+    @Autowired
+    private TermRepository termRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private EnrollmentViewRepository enrollmentViewRepository;
+
+    // Create a new term
+    @Transactional
+    public TermDTO createTerm(TermDTO termDTO) {
+        if (termDTO.getCode() == null || termDTO.getName() == null
+                || termDTO.getStartDate() == null || termDTO.getEndDate() == null) {
+            throw new RuntimeException("A term needs a code, a name, a start date and an end date");
+        }
+        if (termDTO.getEndDate().isBefore(termDTO.getStartDate())) {
+            throw new RuntimeException("A term cannot end before it starts");
+        }
+        if (termRepository.existsByCode(termDTO.getCode())) {
+            throw new RuntimeException("Term with code " + termDTO.getCode() + " already exists");
+        }
+        Term term = termRepository.save(new Term(termDTO.getCode(), termDTO.getName(),
+                termDTO.getStartDate(), termDTO.getEndDate()));
+        return convertToDTO(term, currentTermId());
+    }
+
+    // Get all terms, latest first
+    public List<TermDTO> getAllTerms() {
+        Long currentId = currentTermId();
+        return termRepository.findAllByOrderByStartDateDesc().stream()
+                .map(term -> convertToDTO(term, currentId))
+                .collect(Collectors.toList());
+    }
+
+    public TermDTO getTermById(Long id) {
+        return convertToDTO(getTerm(id), currentTermId());
+    }
+
+    // The term running today
+    public TermDTO getCurrentTerm() {
+        List<Term> running = termRepository.findRunningOn(LocalDate.now());
+        if (running.isEmpty()) {
+            throw new RuntimeException("No term is running today");
+        }
+        return convertToDTO(running.get(0), running.get(0).getId());
+    }
+
+    // The term running today, or null between terms or before any are set up
+    public Long currentTermId() {
+        List<Term> running = termRepository.findRunningOn(LocalDate.now());
+        return running.isEmpty() ? null : running.get(0).getId();
+    }
+
+    public Term getTerm(Long id) {
+        return termRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Term not found with id: " + id));
+    }
+
+    // Enrollments from before terms existed take the term their course has since been given
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillEnrollmentTerms() {
+        enrollmentRepository.backfillTermIds(LocalDateTime.now());
+        enrollmentViewRepository.backfillTermIds();
+    }
+
+    private TermDTO convertToDTO(Term term, Long currentId) {
+        return new TermDTO(
+            term.getId(),
+            term.getCode(),
+            term.getName(),
+            term.getStartDate(),
+            term.getEndDate(),
+            term.getId().equals(currentId)
+        );
+    }
+}
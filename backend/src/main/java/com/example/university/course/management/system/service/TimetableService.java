@@ -0,0 +1,121 @@
+package com.example.university.course.management.system.service;
+
+import com.example.university.course.management.system.config.ReportingQuery;
+import com.example.university.course.management.system.dto.MeetingSlotDTO;
+import com.example.university.course.management.system.dto.TimetableClashDTO;
+import com.example.university.course.management.system.entity.Course;
+import com.example.university.course.management.system.entity.MeetingSlot;
+import com.example.university.course.management.system.index.Timetable;
+import com.example.university.course.management.system.repository.EnrollmentRepository;
+import com.example.university.course.management.system.repository.MeetingSlotRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@Service
+public class TimetableService {
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    // Throws if any meeting of the course overlaps a course the student is currently enrolled in that same term
+    public void checkNoClash(Long studentId, Course course) {
+        List<MeetingSlot> slots = course.getMeetingSlots();
+        if (slots.isEmpty()) {
+            return;
+        }
+        // A course without a term is checked against everything, as before terms existed
+        List<MeetingSlotRecord> records = course.getTerm() == null
+                ? enrollmentRepository.findActiveSlotRecordsByStudentId(studentId)
+                : enrollmentRepository.findActiveSlotRecordsByStudentIdAndTermId(studentId, course.getTerm().getId());
+        Timetable.Builder builder = new Timetable.Builder();
+        for (MeetingSlotRecord record : records) {
+            builder.add(record.getCourseId(), record.getDayOfWeek(), record.getStartTime(), record.getEndTime());
+        }
+        Timetable timetable = builder.build();
+        if (timetable.size() == 0) {
+            return;
+        }
+        for (MeetingSlot slot : slots) {
+            Timetable.Clash clash = timetable.findClash(course.getId(),
+                    Timetable.minuteOfWeek(slot.getDayOfWeek(), slot.getStartTime()),
+                    Timetable.minuteOfWeek(slot.getDayOfWeek(), slot.getEndTime()));
+            if (clash != null) {
+                throw new RuntimeException("Timetable clash with course id: " + clash.getOtherCourseId());
+            }
+        }
+    }
+
+    // Every clash among current enrollments, optionally in one term; one timetable per student and
+    // term is built in one pass and the timetables are swept in parallel
+    @ReportingQuery
+    @Transactional(readOnly = true)
+    public List<TimetableClashDTO> getClashReport(Long termId) {
+        List<Long> studentIds = new ArrayList<>();
+        List<Long> termIds = new ArrayList<>();
+        List<Timetable.Builder> builders = new ArrayList<>();
+        try (Stream<MeetingSlotRecord> records = termId == null
+                ? enrollmentRepository.streamActiveSlotRecords()
+                : enrollmentRepository.streamActiveSlotRecordsByTermId(termId)) {
+            records.forEach(record -> {
+                // Rows arrive ordered by student and term, so each timetable's slots are contiguous
+                int last = studentIds.size() - 1;
+                if (last < 0 || !studentIds.get(last).equals(record.getStudentId())
+                        || !Objects.equals(termIds.get(last), record.getTermId())) {
+                    studentIds.add(record.getStudentId());
+                    termIds.add(record.getTermId());
+                    builders.add(new Timetable.Builder());
+                }
+                builders.get(builders.size() - 1).add(record.getCourseId(), record.getDayOfWeek(),
+                        record.getStartTime(), record.getEndTime());
+            });
+        }
+        return IntStream.range(0, studentIds.size()).parallel()
+                .boxed()
+                .flatMap(i -> builders.get(i).build().findAllClashes().stream()
+                        .map(clash -> convertToDTO(studentIds.get(i), termIds.get(i), clash)))
+                .collect(Collectors.toList());
+    }
+
+    // Convert and validate meeting slots from a course request
+    public List<MeetingSlot> toMeetingSlots(List<MeetingSlotDTO> slotDTOs) {
+        List<MeetingSlot> slots = new ArrayList<>();
+        if (slotDTOs == null) {
+            return slots;
+        }
+        for (MeetingSlotDTO dto : slotDTOs) {
+            if (dto.getDayOfWeek() == null || dto.getStartTime() == null || dto.getEndTime() == null
+                    || !dto.getStartTime().isBefore(dto.getEndTime())) {
+                throw new RuntimeException("Meeting slots need a day and a start time before the end time");
+            }
+            slots.add(new MeetingSlot(dto.getDayOfWeek(), dto.getStartTime(), dto.getEndTime()));
+        }
+        return slots;
+    }
+
+    public List<MeetingSlotDTO> toMeetingSlotDTOs(List<MeetingSlot> slots) {
+        return slots.stream()
+                .map(slot -> new MeetingSlotDTO(slot.getDayOfWeek(), slot.getStartTime(), slot.getEndTime()))
+                .collect(Collectors.toList());
+    }
+
+    private TimetableClashDTO convertToDTO(Long studentId, Long termId, Timetable.Clash clash) {
+        TimetableClashDTO dto = new TimetableClashDTO(
+            studentId,
+            clash.getCourseId(),
+            clash.getOtherCourseId(),
+            Timetable.dayOf(clash.getOverlapStart()),
+            Timetable.timeOf(clash.getOverlapStart()),
+            Timetable.timeOf(clash.getOverlapEnd())
+        );
+        dto.setTermId(termId);
+        return dto;
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.university.course.management.system.service;
 
 import com.example.university.course.management.system.entity.User;
+import com.example.university.course.management.system.exception.LoginThrottledException;
+import com.example.university.course.management.system.jfr.LoginEvent;
+import com.example.university.course.management.system.jfr.OperationEvent;
+import com.example.university.course.management.system.jfr.Recorded;
 import com.example.university.course.management.system.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -12,22 +16,63 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private MembershipFilterService membershipFilterService;
+
+    @Autowired
+    private ApplicationMetrics applicationMetrics;
+
     // Only lecturers can be registered via this method
     public User registerLecturer(String email, String password) {
-        if (userRepository.findByEmail(email).isPresent()) {
+        if (membershipFilterService.mightContainUserEmail(email) && userRepository.findByEmail(email).isPresent()) {
             throw new RuntimeException("User already exists");
         }
-        User user = new User(email, password, "lecturer");
-        return userRepository.save(user);
+        User user = new User(email, passwordHashingService.hash(password), "lecturer");
+        User savedUser = userRepository.save(user);
+        membershipFilterService.addUserEmail(savedUser.getEmail());
+        return savedUser;
     }
 
     // Login detects role internally
+    @Recorded(LoginEvent.class)
     public Optional<User> login(String email, String password) {
+        // Accounts in their backoff window are rejected before any lookup or hashing
+        try {
+            loginAttemptService.checkAllowed(email);
+        } catch (LoginThrottledException e) {
+            applicationMetrics.loginThrottled();
+            OperationEvent.setCurrentOutcome("THROTTLED");
+            throw e;
+        }
+
         Optional<User> userOpt = userRepository.findByEmail(email);
-        if (userOpt.isPresent() && userOpt.get().getPassword().equals(password)) {
-            return userOpt;
+        boolean matched = userOpt.isPresent()
+                ? passwordHashingService.matches(password, userOpt.get().getPassword())
+                : passwordHashingService.matchesNoAccount(password);
+        if (!matched) {
+            loginAttemptService.recordFailure(email);
+            applicationMetrics.loginFailed();
+            LoginEvent.setCurrentUserId(userOpt.map(User::getId).orElse(null));
+            OperationEvent.setCurrentOutcome("FAILURE");
+            return Optional.empty();
         }
-        return Optional.empty();
+        loginAttemptService.recordSuccess(email);
+        applicationMetrics.loginSucceeded();
+        LoginEvent.setCurrentUserId(userOpt.get().getId());
+
+        // Migrate legacy plaintext (or under-strength) passwords now that we know the raw value
+        User user = userOpt.get();
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashingService.hash(password));
+            user = userRepository.save(user);
+        }
+        return Optional.of(user);
     }
 
     // Check if student needs first-time setup (only email provided)
@@ -44,7 +89,7 @@ public class UserService {
         Optional<User> userOpt = userRepository.findByEmail(email);
         if (userOpt.isPresent() && userOpt.get().getRole().equals("student") && userOpt.get().isFirstLogin()) {
             User user = userOpt.get();
-            user.setPassword(newPassword);
+            user.setPassword(passwordHashingService.hash(newPassword));
             user.setFirstLogin(false);
             return userRepository.save(user);
         }
@@ -0,0 +1,74 @@
+package com.example.university.course.management.system.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that adapts to latency: additive increase while requests finish within the
+ * target latency, multiplicative decrease when one is slower or reports overload. The limit
+ * grows by about one per limit's worth of good responses, and it only grows while it is actually
+ * being used, so a quiet period does not leave it inflated for the next spike. It backs off once
+ * per congestion episode: a slow request that started before the last decrease was already in
+ * flight when the limit was cut, so a burst of them counts once, as it would in TCP.
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastBackoffNanos = System.nanoTime();
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    // Take a slot if fewer than the given share of the limit are in use
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        if (inFlight.incrementAndGet() > allowed) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(1.0);
+    }
+
+    // Return a slot taken by tryAcquire, with how long the request took and whether it signalled overload
+    public void release(long latencyNanos, boolean overloaded) {
+        int used = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (overloaded || latencyNanos > targetLatencyNanos) {
+                long now = System.nanoTime();
+                if (now - latencyNanos - lastBackoffNanos >= 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastBackoffNanos = now;
+                }
+            } else if (used * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+
+    // Return a slot without counting it as a sample, for a request that never ran or whose latency says nothing about load
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
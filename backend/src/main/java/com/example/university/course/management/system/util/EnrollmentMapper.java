@@ -0,0 +1,85 @@
+package com.example.university.course.management.system.util;
+
+import com.example.university.course.management.system.archive.ArchivedEnrollment;
+import com.example.university.course.management.system.dto.EnrollmentDTO;
+import com.example.university.course.management.system.entity.Course;
+import com.example.university.course.management.system.entity.Enrollment;
+import com.example.university.course.management.system.entity.EnrollmentView;
+import com.example.university.course.management.system.entity.Student;
+
+// The one place enrollments become DTOs and read-model rows, so every endpoint shows the same fields
+public final class EnrollmentMapper {
+
+    private EnrollmentMapper() {}
+
+    public static String studentName(Student student) {
+        return student.getFirstName() + " " + student.getLastName();
+    }
+
+    public static EnrollmentDTO toDTO(Enrollment enrollment) {
+        return new EnrollmentDTO(
+            enrollment.getId(),
+            enrollment.getStudent().getId(),
+            studentName(enrollment.getStudent()),
+            enrollment.getCourse().getId(),
+            enrollment.getCourse().getCourseName(),
+            enrollment.getCourse().getCourseCode(),
+            enrollment.getEnrollmentDate(),
+            enrollment.getStatus(),
+            enrollment.getGrade(),
+            enrollment.getGradeLetter(),
+            enrollment.getComments()
+        );
+    }
+
+    public static EnrollmentDTO toDTO(EnrollmentView view) {
+        return new EnrollmentDTO(
+            view.getId(),
+            view.getStudentId(),
+            view.getStudentName(),
+            view.getCourseId(),
+            view.getCourseName(),
+            view.getCourseCode(),
+            view.getEnrollmentDate(),
+            view.getStatus(),
+            view.getGrade(),
+            view.getGradeLetter(),
+            view.getComments()
+        );
+    }
+
+    // The segment files keep ids only; names come from the student and the course, which may since be gone
+    public static EnrollmentDTO toDTO(ArchivedEnrollment archived, Student student, Course course) {
+        return new EnrollmentDTO(
+            archived.getId(),
+            archived.getStudentId(),
+            student != null ? studentName(student) : null,
+            archived.getCourseId(),
+            course != null ? course.getCourseName() : null,
+            course != null ? course.getCourseCode() : null,
+            archived.getEnrollmentDate(),
+            ArchivedEnrollment.STATUS,
+            archived.getGrade(),
+            archived.getGradeLetter(),
+            archived.getComments()
+        );
+    }
+
+    public static EnrollmentView toView(Enrollment enrollment) {
+        return new EnrollmentView(
+            enrollment.getId(),
+            enrollment.getStudent().getId(),
+            studentName(enrollment.getStudent()),
+            enrollment.getCourse().getId(),
+            enrollment.getCourse().getCourseCode(),
+            enrollment.getCourse().getCourseName(),
+            enrollment.getCourse().getCredits(),
+            enrollment.getTermId(),
+            enrollment.getEnrollmentDate(),
+            enrollment.getStatus(),
+            enrollment.getGrade(),
+            enrollment.getGradeLetter(),
+            enrollment.getComments()
+        );
+    }
+}
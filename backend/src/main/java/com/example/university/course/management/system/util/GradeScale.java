@@ -0,0 +1,38 @@
+package com.example.university.course.management.system.util;
+
+// Percentage grade to letter and grade-point mapping used for GPA and grade statistics
+public final class GradeScale {
+
+    public static final double PASSING_GRADE = 60.0;
+
+    public static final double MAX_GRADE = 100.0;
+
+    // Letters in index order used by letter histograms
+    public static final String[] LETTERS = {"A", "B", "C", "D", "F"};
+
+    private GradeScale() {}
+
+    public static String letterFor(double grade) {
+        return LETTERS[letterIndex(grade)];
+    }
+
+    public static int letterIndex(double grade) {
+        if (grade >= 90) return 0;
+        if (grade >= 80) return 1;
+        if (grade >= 70) return 2;
+        if (grade >= 60) return 3;
+        return 4;
+    }
+
+    public static double pointsFor(double grade) {
+        if (grade >= 90) return 4.0;
+        if (grade >= 80) return 3.0;
+        if (grade >= 70) return 2.0;
+        if (grade >= 60) return 1.0;
+        return 0.0;
+    }
+
+    public static boolean isPassing(double grade) {
+        return grade >= PASSING_GRADE;
+    }
+}
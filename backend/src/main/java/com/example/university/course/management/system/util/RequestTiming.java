@@ -0,0 +1,92 @@
+package com.example.university.course.management.system.util;
+
+import java.util.function.Supplier;
+
+/**
+ * Where the time of the current request went, collected on the request thread. Nothing is recorded
+ * unless ServerTimingFilter started a timing for the thread, so every hook is a ThreadLocal read
+ * when timing is off. OperationRecorder also starts one around a recorded call outside a timed
+ * request; this is the one place SQL statements are counted.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private long connectionNanos;
+    private long sqlNanos;
+    private int statements;
+    private long mappingNanos;
+    private long serializationNanos;
+    // Mappers call each other; only the outermost call is counted
+    private int mappingDepth;
+
+    private RequestTiming() {}
+
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    // Time an entity-to-DTO conversion; lazy loads it triggers count as both mapping and SQL
+    public static <T> T mapping(Supplier<T> mapper) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null || timing.mappingDepth > 0) {
+            return mapper.get();
+        }
+        timing.mappingDepth++;
+        long start = System.nanoTime();
+        try {
+            return mapper.get();
+        } finally {
+            timing.mappingNanos += System.nanoTime() - start;
+            timing.mappingDepth--;
+        }
+    }
+
+    public void addConnection(long nanos) {
+        connectionNanos += nanos;
+    }
+
+    public void addStatement(long nanos) {
+        sqlNanos += nanos;
+        statements++;
+    }
+
+    public void addSerialization(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getConnectionNanos() {
+        return connectionNanos;
+    }
+
+    public long getSqlNanos() {
+        return sqlNanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getMappingNanos() {
+        return mappingNanos;
+    }
+
+    public long getSerializationNanos() {
+        return serializationNanos;
+    }
+}
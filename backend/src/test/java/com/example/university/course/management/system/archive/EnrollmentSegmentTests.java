@@ -0,0 +1,144 @@
+package com.example.university.course.management.system.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips through the segment file format: every code width, optional columns left null and a
+ * segment with no students.
+ */
+class EnrollmentSegmentTests {
+
+    private static final LocalDateTime ENROLLED = LocalDateTime.of(2020, 9, 1, 9, 0);
+
+    @TempDir
+    Path directory;
+
+    // Every row has its own course, grade, letter, comment and term, so the row count sets each dictionary's code width
+    @ParameterizedTest
+    @CsvSource({"10, 1", "1000, 2", "70000, 4"})
+    void rowsRoundTripAtEachCodeWidth(int rowCount, int width) throws IOException {
+        List<ArchivedEnrollment> rows = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new ArchivedEnrollment((long) i + 1, 1L + i % 97, 1000L + i, 500L + i, ENROLLED.plusMinutes(i),
+                    i / 4.0, "L" + i, "Comment " + i));
+        }
+        Path file = directory.resolve("widths.seg");
+        EnrollmentSegment.write(file, rows);
+
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file));
+        for (int at : new int[] {64, 65, 66, 67, 88}) {
+            assertEquals(width, header.get(at), "code width at header byte " + at);
+        }
+        EnrollmentSegment segment = EnrollmentSegment.open(file);
+        assertEquals(rowCount, segment.size());
+        assertEquals(1L, segment.getMinStudentId());
+        assertEquals(Math.min(rowCount, 97), segment.getMaxStudentId());
+        assertEquals(ENROLLED, segment.getMinEnrollmentDate());
+        assertEquals(ENROLLED.plusMinutes(rowCount - 1), segment.getMaxEnrollmentDate());
+        assertEquals(0.0, segment.getMinGrade());
+        assertEquals((rowCount - 1) / 4.0, segment.getMaxGrade());
+        assertRows(sorted(rows), segment);
+
+        List<ArchivedEnrollment> ofStudent = rows.stream().filter(row -> row.getStudentId() == 3L).toList();
+        assertRows(ofStudent, segment.findByStudentId(3L));
+        long lastCourse = 1000L + rowCount - 1;
+        assertTrue(segment.containsCourse(lastCourse));
+        List<ArchivedEnrollment> inCourse = new ArrayList<>();
+        segment.forEachInCourse(lastCourse, inCourse::add);
+        assertRows(List.of(rows.get(rowCount - 1)), inCourse);
+    }
+
+    @Test
+    void optionalColumnsReadBackAsNull() throws IOException {
+        List<ArchivedEnrollment> rows = List.of(
+                new ArchivedEnrollment(1L, 7L, 100L, null, ENROLLED, null, null, null),
+                new ArchivedEnrollment(2L, 7L, 200L, 40L, ENROLLED, 65.5, "C", "Late submission"),
+                new ArchivedEnrollment(3L, 9L, 100L, null, ENROLLED, 80.0, null, null));
+        Path file = directory.resolve("nulls.seg");
+        EnrollmentSegment.write(file, rows);
+
+        EnrollmentSegment segment = EnrollmentSegment.open(file);
+        assertRows(rows, segment);
+        ArchivedEnrollment ungraded = segment.findByStudentId(7L).get(0);
+        assertNull(ungraded.getTermId());
+        assertNull(ungraded.getGrade());
+        assertNull(ungraded.getGradeLetter());
+        assertNull(ungraded.getComments());
+    }
+
+    @Test
+    void segmentWithoutStudentsFindsNothing() throws IOException {
+        Path file = directory.resolve("empty.seg");
+        EnrollmentSegment.write(file, List.of());
+
+        EnrollmentSegment segment = EnrollmentSegment.open(file);
+        assertEquals(0, segment.size());
+        assertFalse(segment.iterator().hasNext());
+        assertTrue(segment.findByStudentId(0L).isEmpty());
+        assertTrue(segment.findByStudentId(1L).isEmpty());
+        assertFalse(segment.containsCourse(100L));
+        assertNull(segment.getMinEnrollmentDate());
+        assertNull(segment.getMaxEnrollmentDate());
+        assertNull(segment.getMinGrade());
+        assertNull(segment.getMaxGrade());
+    }
+
+    @Test
+    void studentsMissingFromTheIdRangeFindNothing() throws IOException {
+        Path file = directory.resolve("gaps.seg");
+        EnrollmentSegment.write(file, List.of(
+                new ArchivedEnrollment(1L, 10L, 100L, 1L, ENROLLED, 70.0, "B", null),
+                new ArchivedEnrollment(2L, 30L, 100L, 1L, ENROLLED, 60.0, "C", null)));
+
+        EnrollmentSegment segment = EnrollmentSegment.open(file);
+        assertTrue(segment.findByStudentId(5L).isEmpty());
+        assertTrue(segment.findByStudentId(20L).isEmpty());
+        assertTrue(segment.findByStudentId(40L).isEmpty());
+        assertEquals(1, segment.findByStudentId(30L).size());
+    }
+
+    // Segments keep rows by student, then course, then id
+    private static List<ArchivedEnrollment> sorted(List<ArchivedEnrollment> rows) {
+        List<ArchivedEnrollment> copy = new ArrayList<>(rows);
+        copy.sort(Comparator.comparing(ArchivedEnrollment::getStudentId)
+                .thenComparing(ArchivedEnrollment::getCourseId)
+                .thenComparing(ArchivedEnrollment::getId));
+        return copy;
+    }
+
+    private static void assertRows(List<ArchivedEnrollment> expected, Iterable<ArchivedEnrollment> actual) {
+        List<ArchivedEnrollment> rows = new ArrayList<>();
+        actual.forEach(rows::add);
+        assertEquals(expected.size(), rows.size());
+        for (int i = 0; i < expected.size(); i++) {
+            ArchivedEnrollment want = expected.get(i);
+            ArchivedEnrollment got = rows.get(i);
+            String row = "row " + i;
+            assertEquals(want.getId(), got.getId(), row);
+            assertEquals(want.getStudentId(), got.getStudentId(), row);
+            assertEquals(want.getCourseId(), got.getCourseId(), row);
+            assertEquals(want.getTermId(), got.getTermId(), row);
+            assertEquals(want.getEnrollmentDate(), got.getEnrollmentDate(), row);
+            assertEquals(want.getGrade(), got.getGrade(), row);
+            assertEquals(want.getGradeLetter(), got.getGradeLetter(), row);
+            assertEquals(want.getComments(), got.getComments(), row);
+        }
+    }
+}
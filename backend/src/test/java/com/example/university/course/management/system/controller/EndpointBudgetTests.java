@@ -0,0 +1,247 @@
+package com.example.university.course.management.system.controller;
+
+import com.example.university.course.management.system.entity.Course;
+import com.example.university.course.management.system.entity.Enrollment;
+import com.example.university.course.management.system.entity.MeetingSlot;
+import com.example.university.course.management.system.entity.Student;
+import com.example.university.course.management.system.entity.Term;
+import com.example.university.course.management.system.index.IndexBootstrapper;
+import com.example.university.course.management.system.repository.CourseRepository;
+import com.example.university.course.management.system.repository.EnrollmentRepository;
+import com.example.university.course.management.system.repository.StudentRepository;
+import com.example.university.course.management.system.repository.TermRepository;
+import com.example.university.course.management.system.service.EnrollmentViewService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * SQL statement budgets for the read endpoints. Every endpoint is called against a small and a
+ * much larger data set; it fails when an endpoint runs more statements than its budget, or more
+ * statements on the larger set (an N+1). Counts are read from the Server-Timing header, so the
+ * test sees the same number the application reports. Bytes allocated per request are written next
+ * to the counts in target/endpoint-budgets.csv so allocation growth shows up between builds.
+ */
+@SpringBootTest(properties = "timing.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EndpointBudgetTests {
+
+    private static final Path REPORT = Path.of("target", "endpoint-budgets.csv");
+    private static final int RUNS = 5;
+    private static final Pattern STATEMENTS = Pattern.compile("desc=\"(\\d+) statements\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private TermRepository termRepository;
+
+    @Autowired
+    private IndexBootstrapper indexBootstrapper;
+
+    @Autowired
+    private EnrollmentViewService enrollmentViewService;
+
+    private final List<Student> students = new ArrayList<>();
+    private final List<Course> courses = new ArrayList<>();
+    private Term term;
+
+    @Test
+    void readEndpointsStayWithinStatementBudgets() throws Exception {
+        seed(10, 5, 3);
+        Map<String, Measurement> small = measureAll();
+        seed(300, 40, 4);
+        Map<String, Measurement> large = measureAll();
+        writeReport(small, large);
+
+        Map<String, Integer> budgets = budgets();
+        List<Executable> checks = new ArrayList<>();
+        for (Map.Entry<String, Integer> budget : budgets.entrySet()) {
+            String endpoint = budget.getKey();
+            checks.add(() -> assertTrue(large.get(endpoint).statements <= budget.getValue(),
+                    endpoint + " ran " + large.get(endpoint).statements + " statements, budget is " + budget.getValue()));
+            checks.add(() -> assertEquals(small.get(endpoint).statements, large.get(endpoint).statements,
+                    endpoint + " runs more statements as the data grows"));
+        }
+        assertAll(checks);
+    }
+
+    // Statements allowed per request, whatever the data size
+    private Map<String, Integer> budgets() {
+        Map<String, Integer> budgets = new LinkedHashMap<>();
+        budgets.put("/api/courses", 2);
+        budgets.put("/api/courses?termId={termId}", 2);
+        budgets.put("/api/courses/{id}", 2);
+        budgets.put("/api/courses/{id}/enrollments", 2);
+        budgets.put("/api/courses/{id}/prerequisites", 2);
+        budgets.put("/api/courses/{id}/statistics", 1);
+        budgets.put("/api/courses/{id}/students/{gradedId}/rank", 1);
+        budgets.put("/api/courses/{id}/top", 1);
+        budgets.put("/api/courses/{id}/bottom", 1);
+        budgets.put("/api/courses/{id}/recommendations", 1);
+        budgets.put("/api/courses/{id}/roster", 1);
+        // Students, their enrollments from the view, and their GPA summaries
+        budgets.put("/api/students", 3);
+        budgets.put("/api/students?termId={termId}", 3);
+        budgets.put("/api/students/{id}", 3);
+        budgets.put("/api/students/{id}/enrollments", 2);
+        budgets.put("/api/students/{id}/enrollments?termId={termId}", 2);
+        budgets.put("/api/students/{id}/academic-summary", 2);
+        budgets.put("/api/students/{id}/eligible-courses", 3);
+        budgets.put("/api/students/{id}/classmates", 2);
+        budgets.put("/api/students/{id}/shared-courses/{otherId}", 3);
+        budgets.put("/api/sync", 3);
+        budgets.put("/api/sync?since={token}", 4);
+        budgets.put("/api/timetable/clashes", 1);
+        budgets.put("/api/timetable/clashes?termId={termId}", 1);
+        budgets.put("/api/terms", 2);
+        return budgets;
+    }
+
+    private Map<String, Measurement> measureAll() throws Exception {
+        Long courseId = courses.get(0).getId();
+        Long studentId = students.get(0).getId();
+        Long otherId = students.get(1).getId();
+        // Even-numbered seeds are graded, which makes the second student ranked in the first course
+        Long gradedId = otherId;
+        String token = Long.toString(System.currentTimeMillis() - 60_000);
+        Map<String, Measurement> results = new LinkedHashMap<>();
+        for (String endpoint : budgets().keySet()) {
+            String uri = endpoint
+                    .replace("{id}", endpoint.startsWith("/api/courses") ? courseId.toString() : studentId.toString())
+                    .replace("{gradedId}", gradedId.toString())
+                    .replace("{otherId}", otherId.toString())
+                    .replace("{termId}", term.getId().toString())
+                    .replace("{token}", token);
+            results.put(endpoint, measure(uri));
+        }
+        return results;
+    }
+
+    private Measurement measure(String uri) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        // The first call pays for class loading and caches
+        assertEquals(200, mockMvc.perform(get(uri)).andReturn().getResponse().getStatus(), uri);
+        int statements = 0;
+        long bytes = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            MvcResult result = mockMvc.perform(get(uri)).andReturn();
+            bytes = Math.min(bytes, threads.getThreadAllocatedBytes(threadId) - before);
+            statements = Math.max(statements, statements(result.getResponse().getHeader("Server-Timing")));
+        }
+        return new Measurement(statements, bytes);
+    }
+
+    // The statement count in the sql entry, e.g. sql;dur=1.20;desc="3 statements"
+    private static int statements(String serverTiming) {
+        Matcher matcher = STATEMENTS.matcher(serverTiming != null ? serverTiming : "");
+        assertTrue(matcher.find(), "No statement count in Server-Timing: " + serverTiming);
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    // Add students and courses, all in one term; every student takes the first course, and the first student also takes each new course
+    private void seed(int newStudents, int newCourses, int coursesPerStudent) {
+        if (term == null) {
+            term = termRepository.save(new Term("BUD-T1", "Budget term", LocalDate.now().minusMonths(1),
+                    LocalDate.now().plusMonths(3)));
+        }
+        int firstCourse = courses.size();
+        for (int i = 0; i < newCourses; i++) {
+            int number = courses.size() + 1;
+            Course course = new Course(String.format("BUD%04d", number), "Course " + number, "Budget test course",
+                    1 + number % 4, "Instructor " + number % 7, 500, "ACTIVE");
+            course.getMeetingSlots().add(new MeetingSlot(DayOfWeek.of(number % 5 + 1),
+                    LocalTime.of(8 + number % 9, 0), LocalTime.of(9 + number % 9, 0)));
+            course.setTerm(term);
+            courses.add(courseRepository.save(course));
+        }
+        List<Enrollment> enrollments = new ArrayList<>();
+        for (int i = 0; i < newStudents; i++) {
+            int number = students.size() + 1;
+            Student student = studentRepository.save(new Student("First" + number, "Last" + number,
+                    "budget" + number + "@university.edu", "0700000000", String.format("B%06d", number)));
+            students.add(student);
+            for (int j = 0; j < coursesPerStudent; j++) {
+                int course = j == 0 ? 0 : 1 + (number + j) % (courses.size() - 1);
+                enrollments.add(enrollment(student, courses.get(course), number + j));
+            }
+        }
+        if (firstCourse > 0) {
+            for (int i = firstCourse; i < courses.size(); i++) {
+                enrollments.add(enrollment(students.get(0), courses.get(i), i));
+            }
+        }
+        enrollmentRepository.saveAll(enrollments);
+        indexBootstrapper.rebuildAll();
+        // Seeded straight through the repository, so the read model is rebuilt as after a bulk load
+        enrollmentViewService.rebuild();
+    }
+
+    private static Enrollment enrollment(Student student, Course course, int seed) {
+        Enrollment enrollment = new Enrollment(student, course);
+        if (seed % 2 == 0) {
+            enrollment.setStatus("COMPLETED");
+            enrollment.setGrade(50.0 + seed % 50);
+        }
+        return enrollment;
+    }
+
+    private static void writeReport(Map<String, Measurement> small, Map<String, Measurement> large) throws IOException {
+        StringBuilder csv = new StringBuilder("endpoint,statements_small,statements_large,bytes_small,bytes_large\n");
+        for (String endpoint : small.keySet()) {
+            csv.append(endpoint).append(',')
+                    .append(small.get(endpoint).statements).append(',')
+                    .append(large.get(endpoint).statements).append(',')
+                    .append(small.get(endpoint).bytes).append(',')
+                    .append(large.get(endpoint).bytes).append('\n');
+        }
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, csv);
+    }
+
+    private static final class Measurement {
+        final int statements;
+        final long bytes;
+
+        Measurement(int statements, long bytes) {
+            this.statements = statements;
+            this.bytes = bytes;
+        }
+    }
+}
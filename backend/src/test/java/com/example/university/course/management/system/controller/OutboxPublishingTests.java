@@ -0,0 +1,102 @@
+package com.example.university.course.management.system.controller;
+
+import com.example.university.course.management.system.entity.Term;
+import com.example.university.course.management.system.repository.OutboxEventRepository;
+import com.example.university.course.management.system.repository.TermRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Every write endpoint publishes its domain event through the outbox, which needs the caller's
+ * transaction. A service method without one fails inside the controller's catch and comes back as
+ * a plain 400, so each endpoint is checked for both its status and the outbox row it leaves.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OutboxPublishingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TermRepository termRepository;
+
+    @Test
+    void writeEndpointsPublishThroughTheOutbox() throws Exception {
+        termRepository.save(new Term("OUT-T1", "Outbox term", LocalDate.now().minusMonths(1), LocalDate.now().plusMonths(3)));
+
+        long studentId = id(publishes(201, post("/api/students").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Out\",\"lastName\":\"Box\",\"email\":\"outbox1@university.edu\","
+                        + "\"phoneNumber\":\"0700000000\",\"studentId\":\"O000001\"}")));
+        long otherId = id(publishes(201, post("/api/students").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Out\",\"lastName\":\"Two\",\"email\":\"outbox2@university.edu\","
+                        + "\"phoneNumber\":\"0700000000\",\"studentId\":\"O000002\"}")));
+        publishes(200, put("/api/students/" + studentId).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Outer\",\"lastName\":\"Box\",\"email\":\"outbox1@university.edu\","
+                        + "\"phoneNumber\":\"0711111111\",\"studentId\":\"O000001\"}"));
+
+        long courseId = id(publishes(201, post("/api/courses").contentType(MediaType.APPLICATION_JSON)
+                .content(course("OUT101", 30))));
+        long otherCourseId = id(publishes(201, post("/api/courses").contentType(MediaType.APPLICATION_JSON)
+                .content(course("OUT102", 30))));
+        long emptyCourseId = id(publishes(201, post("/api/courses").contentType(MediaType.APPLICATION_JSON)
+                .content(course("OUT103", 30))));
+        publishes(200, put("/api/courses/" + courseId).contentType(MediaType.APPLICATION_JSON)
+                .content(course("OUT101", 40)));
+
+        long enrollmentId = id(publishes(201, post("/api/enrollments").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"studentId\":" + studentId + ",\"courseId\":" + courseId + "}")));
+        publishes(200, put("/api/enrollments/" + enrollmentId + "/grade").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"grade\":85}"));
+        long droppedId = id(publishes(201, post("/api/students/" + otherId + "/enroll/" + courseId)));
+        publishes(200, put("/api/enrollments/" + droppedId + "/drop"));
+        publishes(201, post("/api/students/" + otherId + "/enroll/" + otherCourseId));
+        publishes(200, post("/api/courses/" + otherCourseId + "/students/" + otherId + "/result")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"grade\":70}"));
+
+        publishes(204, delete("/api/students/" + otherId));
+        publishes(204, delete("/api/courses/" + emptyCourseId));
+    }
+
+    private MvcResult publishes(int status, RequestBuilder request) throws Exception {
+        long before = outboxEventRepository.count();
+        MvcResult result = mockMvc.perform(request).andReturn();
+        String call = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        assertEquals(status, result.getResponse().getStatus(), call);
+        assertEquals(before + 1, outboxEventRepository.count(), call + " published no event");
+        return result;
+    }
+
+    private long id(MvcResult result) throws Exception {
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        return body.get("id").asLong();
+    }
+
+    private static String course(String code, int maxStudents) {
+        return "{\"courseCode\":\"" + code + "\",\"courseName\":\"Outbox " + code + "\",\"description\":\"Outbox test course\","
+                + "\"credits\":3,\"instructor\":\"Instructor\",\"maxStudents\":" + maxStudents + "}";
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.university.course.management.system.index;
+
+import com.example.university.course.management.system.index.CourseGradeBook.RankEntry;
+import com.example.university.course.management.system.index.CourseGradeBook.Snapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rank, percentile, top/bottom-k and the exact minimum, median and maximum of a grade book: grades
+ * at the 0 and 100 bucket boundaries, several fractional grades sharing one bucket, ties, an empty
+ * book, and grades that are changed, removed and given again.
+ */
+class CourseGradeBookTests {
+
+    @Test
+    void emptyBookHasNoStatisticsOrRanks() {
+        CourseGradeBook book = new CourseGradeBook(false);
+
+        Snapshot snapshot = book.snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertNull(snapshot.getMin());
+        assertNull(snapshot.getMedian());
+        assertNull(snapshot.getMax());
+        assertNull(snapshot.getMean());
+        assertNull(snapshot.getStandardDeviation());
+        assertTrue(book.top(5).isEmpty());
+        assertTrue(book.bottom(5).isEmpty());
+        assertNull(book.rankOf(1L));
+    }
+
+    @Test
+    void gradesAtTheScaleBoundariesLandInTheEndBuckets() {
+        CourseGradeBook book = bookOf(0.0, 100.0, 99.5);
+
+        Snapshot snapshot = book.snapshot();
+        assertEquals(0.0, snapshot.getMin());
+        assertEquals(99.5, snapshot.getMedian());
+        assertEquals(100.0, snapshot.getMax());
+        int[] histogram = snapshot.getHistogram();
+        assertEquals(CourseGradeBook.BUCKETS, histogram.length);
+        assertEquals(1, histogram[0]);
+        assertEquals(1, histogram[99]);
+        assertEquals(1, histogram[100]);
+        assertArrayEquals(new int[] {2, 0, 0, 0, 1}, snapshot.getLetterCounts());
+        assertEquals(1, book.rankOf(2L).getRank());
+        assertEquals(3, book.rankOf(1L).getRank());
+    }
+
+    // All three share bucket 70, so only sorting within the bucket tells them apart
+    @Test
+    void fractionalGradesInOneBucketGiveExactStatistics() {
+        CourseGradeBook book = bookOf(70.8, 70.2, 70.5);
+
+        Snapshot snapshot = book.snapshot();
+        assertEquals(70.2, snapshot.getMin());
+        assertEquals(70.5, snapshot.getMedian());
+        assertEquals(70.8, snapshot.getMax());
+        assertEquals(70.5, snapshot.getMean(), 1e-9);
+        assertEquals(3, snapshot.getHistogram()[70]);
+
+        assertEquals(1, book.rankOf(1L).getRank());
+        assertEquals(2, book.rankOf(3L).getRank());
+        assertEquals(3, book.rankOf(2L).getRank());
+        assertEquals(50.0, book.rankOf(3L).getPercentile(), 1e-9);
+    }
+
+    @Test
+    void evenCountMedianAveragesTheMiddleGrades() {
+        CourseGradeBook book = bookOf(90.0, 60.0, 80.0, 70.25);
+
+        assertEquals(75.125, book.snapshot().getMedian());
+    }
+
+    // Tied students share the rank of the first of them, and each counts as half below the others
+    @Test
+    void tiedGradesShareARank() {
+        CourseGradeBook book = bookOf(90.0, 80.0, 80.0, 70.0);
+
+        assertEquals(1, book.rankOf(1L).getRank());
+        assertEquals(2, book.rankOf(2L).getRank());
+        assertEquals(2, book.rankOf(3L).getRank());
+        assertEquals(4, book.rankOf(4L).getRank());
+        assertEquals(50.0, book.rankOf(2L).getPercentile(), 1e-9);
+        assertEquals(12.5, book.rankOf(4L).getPercentile(), 1e-9);
+        assertEquals(87.5, book.rankOf(1L).getPercentile(), 1e-9);
+    }
+
+    @Test
+    void topAndBottomCrossBucketsAndKeepTieRanks() {
+        CourseGradeBook book = bookOf(90.0, 80.0, 80.0, 70.0, 85.5);
+
+        List<RankEntry> top = book.top(3);
+        assertEquals(List.of(1L, 5L), List.of(top.get(0).getStudentId(), top.get(1).getStudentId()));
+        assertEquals(List.of(1, 2, 3), top.stream().map(RankEntry::getRank).toList());
+        assertEquals(80.0, top.get(2).getGrade());
+
+        List<RankEntry> bottom = book.bottom(3);
+        assertEquals(4L, bottom.get(0).getStudentId());
+        assertEquals(List.of(5, 3, 3), bottom.stream().map(RankEntry::getRank).toList());
+        assertEquals(List.of(70.0, 80.0, 80.0), bottom.stream().map(RankEntry::getGrade).toList());
+
+        // Each entry matches what rankOf says for the same student
+        for (RankEntry entry : book.top(10)) {
+            RankEntry single = book.rankOf(entry.getStudentId());
+            assertEquals(single.getRank(), entry.getRank());
+            assertEquals(single.getPercentile(), entry.getPercentile(), 1e-9);
+        }
+        assertEquals(5, book.bottom(10).size());
+    }
+
+    @Test
+    void changedAndRemovedGradesLeaveTheirOldBucket() {
+        CourseGradeBook book = bookOf(50.0, 60.0, 70.0);
+
+        book.setGrade(1L, 95.0);
+        book.setGrade(1L, 95.0);
+        Snapshot snapshot = book.snapshot();
+        assertEquals(3, snapshot.getCount());
+        assertEquals(0, snapshot.getHistogram()[50]);
+        assertEquals(1, snapshot.getHistogram()[95]);
+        assertEquals(60.0, snapshot.getMin());
+        assertEquals(95.0, snapshot.getMax());
+        assertEquals(1, book.rankOf(1L).getRank());
+
+        book.setGrade(1L, null);
+        assertNull(book.getGrade(1L));
+        assertNull(book.rankOf(1L));
+        snapshot = book.snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(0, snapshot.getHistogram()[95]);
+        assertEquals(65.0, snapshot.getMedian());
+        assertEquals(70.0, snapshot.getMax());
+
+        book.setGrade(1L, 65.5);
+        snapshot = book.snapshot();
+        assertEquals(3, snapshot.getCount());
+        assertEquals(65.5, snapshot.getMedian());
+        assertEquals(2, book.rankOf(1L).getRank());
+        assertEquals(195.5 / 3, snapshot.getMean(), 1e-9);
+    }
+
+    // A removal during a rebuild must win over the older row the rebuild loads afterwards
+    @Test
+    void removalWhileLoadingIsNotResurrectedByTheLoad() {
+        CourseGradeBook book = new CourseGradeBook(true);
+        book.setGrade(1L, 80.0);
+        book.setGrade(1L, null);
+        book.load(1L, 80.0);
+        book.load(2L, 60.0);
+        book.finishLoading();
+
+        assertNull(book.getGrade(1L));
+        assertEquals(1, book.getCount());
+        assertEquals(60.0, book.snapshot().getMax());
+    }
+
+    // Student ids 1, 2, 3... get the grades in order
+    private static CourseGradeBook bookOf(double... grades) {
+        CourseGradeBook book = new CourseGradeBook(false);
+        for (int i = 0; i < grades.length; i++) {
+            book.setGrade(i + 1, grades[i]);
+        }
+        return book;
+    }
+}
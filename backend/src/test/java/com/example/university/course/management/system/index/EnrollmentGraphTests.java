@@ -0,0 +1,131 @@
+package com.example.university.course.management.system.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The CSR enrollment graph from both sides, the overlay of changes read on top of it (newer changes
+ * winning over older ones), and compaction folding an overlay into a new graph.
+ */
+class EnrollmentGraphTests {
+
+    @Test
+    void rowsAreSortedFromBothSides() {
+        EnrollmentGraph graph = graphOf(30, 300, 10, 200, 10, 100, 20, 100);
+
+        assertEquals(4, graph.edgeCount());
+        assertArrayEquals(new long[] {100, 200}, graph.coursesOf(10));
+        assertArrayEquals(new long[] {100}, graph.coursesOf(20));
+        assertArrayEquals(new long[] {10, 20}, graph.studentsIn(100));
+        assertArrayEquals(new long[] {30}, graph.studentsIn(300));
+        assertArrayEquals(new long[0], graph.coursesOf(99));
+        assertArrayEquals(new long[0], graph.studentsIn(999));
+        assertTrue(graph.contains(20, 100));
+        assertFalse(graph.contains(20, 200));
+        assertFalse(graph.contains(99, 100));
+        assertEquals(0, EnrollmentGraph.empty().edgeCount());
+    }
+
+    @Test
+    void repeatedChangesCountOncePerPair() {
+        EnrollmentDelta delta = new EnrollmentDelta();
+        assertTrue(delta.isEmpty());
+
+        delta.put(10, 100, true);
+        delta.put(10, 100, true);
+        delta.put(10, 100, false);
+        delta.put(20, 100, true);
+
+        assertEquals(2, delta.size());
+        assertEquals(Map.of(100L, false), delta.forStudent(10));
+        assertEquals(Map.of(10L, false, 20L, true), delta.forCourse(100));
+    }
+
+    // The newer overlay is the live one, so its drop beats an enroll still waiting to be compacted
+    @Test
+    void newerChangesWinOverOlderOnes() {
+        long[] row = {100, 200, 300};
+
+        assertSame(row, EnrollmentDelta.apply(row, null, Map.of()));
+        assertArrayEquals(new long[] {50, 100, 300, 400},
+                EnrollmentDelta.apply(row, Map.of(200L, false, 400L, true), Map.of(50L, true)));
+        assertArrayEquals(new long[] {100, 200, 300},
+                EnrollmentDelta.apply(row, Map.of(400L, true), Map.of(400L, false)));
+        assertArrayEquals(new long[] {100, 200, 300},
+                EnrollmentDelta.apply(row, Map.of(200L, false), Map.of(200L, true)));
+        assertArrayEquals(new long[] {100, 200, 300},
+                EnrollmentDelta.apply(row, Map.of(), Map.of(300L, true, 500L, false)));
+    }
+
+    @Test
+    void compactionFoldsChangesIntoANewGraph() {
+        EnrollmentGraph graph = graphOf(10, 100, 10, 200, 20, 100);
+        EnrollmentDelta delta = new EnrollmentDelta();
+        delta.put(10, 200, false);
+        delta.put(20, 100, true);
+        delta.put(30, 300, true);
+        delta.put(40, 100, false);
+
+        EnrollmentGraph compacted = graph.withChanges(delta);
+
+        assertEquals(3, compacted.edgeCount());
+        assertArrayEquals(new long[] {100}, compacted.coursesOf(10));
+        assertArrayEquals(new long[] {10, 20}, compacted.studentsIn(100));
+        assertArrayEquals(new long[] {30}, compacted.studentsIn(300));
+        assertArrayEquals(new long[0], compacted.studentsIn(200));
+        assertArrayEquals(new long[0], compacted.coursesOf(40));
+        // The old graph is untouched, so readers holding it still see the frozen overlay on top
+        assertEquals(3, graph.edgeCount());
+        assertTrue(graph.contains(10, 200));
+    }
+
+    // Compaction gives the same rows that reading the overlay on top of the old graph did
+    @Test
+    void compactedRowsMatchTheOverlayReads() {
+        List<Long> pairs = new ArrayList<>();
+        for (long student = 1; student <= 20; student++) {
+            for (long course = 1; course <= 8; course++) {
+                if ((student + course) % 3 == 0) {
+                    pairs.add(student);
+                    pairs.add(course);
+                }
+            }
+        }
+        EnrollmentGraph graph = graphOf(pairs.stream().mapToLong(Long::longValue).toArray());
+        EnrollmentDelta delta = new EnrollmentDelta();
+        for (long student = 1; student <= 25; student += 2) {
+            delta.put(student, student % 8 + 1, student % 4 == 1);
+        }
+
+        EnrollmentGraph compacted = graph.withChanges(delta);
+
+        for (long student = 1; student <= 25; student++) {
+            assertArrayEquals(EnrollmentDelta.apply(graph.coursesOf(student), delta.forStudent(student), null),
+                    compacted.coursesOf(student), "student " + student);
+        }
+        for (long course = 1; course <= 8; course++) {
+            assertArrayEquals(EnrollmentDelta.apply(graph.studentsIn(course), delta.forCourse(course), null),
+                    compacted.studentsIn(course), "course " + course);
+        }
+    }
+
+    // Alternating student and course ids
+    private static EnrollmentGraph graphOf(long... pairs) {
+        long[] students = new long[pairs.length / 2];
+        long[] courses = new long[pairs.length / 2];
+        for (int i = 0; i < students.length; i++) {
+            students[i] = pairs[2 * i];
+            courses[i] = pairs[2 * i + 1];
+        }
+        return EnrollmentGraph.build(students, courses, students.length);
+    }
+}
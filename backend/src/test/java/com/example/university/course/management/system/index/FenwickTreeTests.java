@@ -0,0 +1,79 @@
+package com.example.university.course.management.system.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prefix sums and rank search over a tree the size of a grade book's histogram, which is not a
+ * power of two, with counts at both ends and runs of empty positions between them.
+ */
+class FenwickTreeTests {
+
+    private static final int SIZE = CourseGradeBook.BUCKETS;
+
+    @Test
+    void prefixSumsCountEveryPositionUpToTheIndex() {
+        FenwickTree tree = new FenwickTree(SIZE);
+        tree.add(0, 2);
+        tree.add(50, 3);
+        tree.add(100, 1);
+
+        assertEquals(2, tree.prefixSum(0));
+        assertEquals(2, tree.prefixSum(49));
+        assertEquals(5, tree.prefixSum(50));
+        assertEquals(5, tree.prefixSum(99));
+        assertEquals(6, tree.prefixSum(100));
+        assertEquals(6, tree.prefixSum(SIZE + 10), "indexes past the end are clamped");
+        assertEquals(6, tree.total());
+    }
+
+    @Test
+    void findByRankSkipsEmptyPositions() {
+        FenwickTree tree = new FenwickTree(SIZE);
+        tree.add(0, 2);
+        tree.add(50, 3);
+        tree.add(100, 1);
+
+        assertEquals(0, tree.findByRank(0));
+        assertEquals(0, tree.findByRank(1));
+        assertEquals(50, tree.findByRank(2));
+        assertEquals(50, tree.findByRank(4));
+        assertEquals(100, tree.findByRank(5));
+        assertEquals(SIZE, tree.findByRank(6), "a rank past the total finds no position");
+    }
+
+    @Test
+    void removalsAreNegativeCounts() {
+        FenwickTree tree = new FenwickTree(SIZE);
+        tree.add(10, 1);
+        tree.add(20, 1);
+        tree.add(10, -1);
+
+        assertEquals(1, tree.total());
+        assertEquals(0, tree.prefixSum(19));
+        assertEquals(20, tree.findByRank(0));
+
+        tree.add(20, -1);
+        assertEquals(0, tree.total());
+        assertEquals(SIZE, tree.findByRank(0));
+    }
+
+    // Every rank lands on the position a linear scan of the counts would find
+    @Test
+    void findByRankMatchesALinearScan() {
+        FenwickTree tree = new FenwickTree(SIZE);
+        int[] counts = new int[SIZE];
+        for (int i = 0; i < SIZE; i += 7) {
+            counts[i] = i % 3 + 1;
+            tree.add(i, counts[i]);
+        }
+        int rank = 0;
+        for (int position = 0; position < SIZE; position++) {
+            for (int k = 0; k < counts[position]; k++, rank++) {
+                assertEquals(position, tree.findByRank(rank), "rank " + rank);
+            }
+        }
+        assertEquals(rank, tree.total());
+    }
+}
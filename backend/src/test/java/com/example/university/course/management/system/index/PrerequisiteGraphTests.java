@@ -0,0 +1,126 @@
+package com.example.university.course.management.system.index;
+
+import com.example.university.course.management.system.index.PrerequisiteGraph.Edge;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compiled prerequisite rules: alternatives within a group and all groups together, minimum grades
+ * as separate bitset levels, requirement bits past the first 64-bit word, and the cycle check run
+ * before new rules are saved.
+ */
+class PrerequisiteGraphTests {
+
+    @Test
+    void noRulesLeaveEveryCourseOpen() {
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(List.of());
+
+        assertSame(PrerequisiteGraph.empty(), graph);
+        assertFalse(graph.hasPrerequisites(10L));
+        assertTrue(graph.isSatisfied(10L, graph.completionBits(Map.of(1L, 90.0))));
+    }
+
+    // Course 10 needs (1 or 2) and 3
+    @Test
+    void everyGroupNeedsOneOfItsCourses() {
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(List.of(
+                new Edge(10L, 1L, 1, 50.0),
+                new Edge(10L, 2L, 1, 50.0),
+                new Edge(10L, 3L, 2, 50.0)));
+
+        assertTrue(graph.hasPrerequisites(10L));
+        assertTrue(satisfied(graph, 10L, Map.of(2L, 60.0, 3L, 55.0)));
+        assertTrue(satisfied(graph, 10L, Map.of(1L, 60.0, 2L, 60.0, 3L, 50.0)));
+        assertFalse(satisfied(graph, 10L, Map.of(1L, 60.0, 2L, 60.0)));
+        assertFalse(satisfied(graph, 10L, Map.of(3L, 60.0)));
+        assertFalse(satisfied(graph, 10L, Map.of()));
+    }
+
+    // The same course passed at 60 opens a rule asking for 50 but not one asking for 70
+    @Test
+    void minimumGradesAreCheckedPerLevel() {
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(List.of(
+                new Edge(10L, 1L, 1, 70.0),
+                new Edge(11L, 1L, 1, 50.0),
+                // Either course 1 at 80 or course 2 at 40
+                new Edge(12L, 1L, 1, 80.0),
+                new Edge(12L, 2L, 1, 40.0)));
+
+        Map<Long, Double> history = Map.of(1L, 60.0);
+        assertFalse(satisfied(graph, 10L, history));
+        assertTrue(satisfied(graph, 11L, history));
+        assertFalse(satisfied(graph, 12L, history));
+        assertTrue(satisfied(graph, 12L, Map.of(1L, 80.0)));
+        assertTrue(satisfied(graph, 12L, Map.of(1L, 10.0, 2L, 40.0)));
+        assertFalse(satisfied(graph, 12L, Map.of(2L, 39.5)));
+    }
+
+    @Test
+    void ungradedAndUnrelatedCoursesSetNoBits() {
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(List.of(new Edge(10L, 1L, 1, 0.0)));
+
+        Map<Long, Double> history = new HashMap<>();
+        history.put(1L, null);
+        history.put(99L, 100.0);
+        assertFalse(satisfied(graph, 10L, history));
+        assertTrue(satisfied(graph, 10L, Map.of(1L, 0.0)));
+    }
+
+    // 70 required courses take two words per level; the last one sits in the second word
+    @Test
+    void requirementsPastTheFirstWordAreChecked() {
+        List<Edge> edges = new ArrayList<>();
+        for (long required = 1; required <= 70; required++) {
+            edges.add(new Edge(required == 70 ? 500L : 400L, required, 1, 50.0));
+        }
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(edges);
+
+        assertTrue(satisfied(graph, 500L, Map.of(70L, 50.0)));
+        assertFalse(satisfied(graph, 500L, Map.of(69L, 50.0, 6L, 90.0)));
+        assertTrue(satisfied(graph, 400L, Map.of(64L, 50.0)));
+        assertFalse(satisfied(graph, 400L, Map.of(70L, 90.0)));
+    }
+
+    // Only direct requirements are checked; each level of a chain is its own rule
+    @Test
+    void chainsAreCheckedOneLevelAtATime() {
+        PrerequisiteGraph graph = chain();
+
+        assertTrue(satisfied(graph, 2L, Map.of(1L, 60.0)));
+        assertFalse(satisfied(graph, 3L, Map.of(1L, 60.0)));
+        assertTrue(satisfied(graph, 3L, Map.of(2L, 60.0)));
+        assertTrue(satisfied(graph, 1L, Map.of()));
+    }
+
+    @Test
+    void cyclesThroughAnyNumberOfLevelsAreRejected() {
+        PrerequisiteGraph graph = chain();
+
+        assertTrue(graph.wouldCreateCycle(1L, List.of(3L)), "1 <- 3 <- 2 <- 1");
+        assertTrue(graph.wouldCreateCycle(2L, List.of(3L)), "2 <- 3 <- 2");
+        assertTrue(graph.wouldCreateCycle(5L, List.of(5L)), "a course requiring itself");
+        assertTrue(graph.wouldCreateCycle(1L, List.of(4L, 3L)));
+        assertFalse(graph.wouldCreateCycle(3L, List.of(1L)), "a shortcut along the chain is not a cycle");
+        assertFalse(graph.wouldCreateCycle(4L, List.of(3L, 1L)));
+        assertFalse(graph.wouldCreateCycle(1L, List.of()));
+    }
+
+    // 3 needs 2, which needs 1
+    private static PrerequisiteGraph chain() {
+        return PrerequisiteGraph.compile(List.of(
+                new Edge(2L, 1L, 1, 50.0),
+                new Edge(3L, 2L, 1, 50.0)));
+    }
+
+    private static boolean satisfied(PrerequisiteGraph graph, long courseId, Map<Long, Double> bestGrades) {
+        return graph.isSatisfied(courseId, graph.completionBits(bestGrades));
+    }
+}
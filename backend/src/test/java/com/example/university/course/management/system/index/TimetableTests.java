@@ -0,0 +1,122 @@
+package com.example.university.course.management.system.index;
+
+import com.example.university.course.management.system.index.Timetable.Clash;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static java.time.DayOfWeek.TUESDAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Clash lookups against a student's timetable: back-to-back meetings, overlap and containment, the
+ * same hours on different days, a long meeting hidden behind later short ones, and the sweep that
+ * lists every clashing pair.
+ */
+class TimetableTests {
+
+    @Test
+    void emptyTimetableHasNoClashes() {
+        Timetable timetable = new Timetable.Builder().build();
+
+        assertEquals(0, timetable.size());
+        assertNull(findClash(timetable, MONDAY, "09:00", "10:00"));
+        assertTrue(timetable.findAllClashes().isEmpty());
+    }
+
+    // Meetings are half-open, so one ending at 10:00 leaves 10:00 free
+    @Test
+    void backToBackMeetingsDoNotClash() {
+        Timetable timetable = new Timetable.Builder()
+                .add(1L, MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0))
+                .build();
+
+        assertNull(findClash(timetable, MONDAY, "10:00", "11:00"));
+        assertNull(findClash(timetable, MONDAY, "08:00", "09:00"));
+        assertNull(findClash(timetable, TUESDAY, "09:00", "10:00"));
+    }
+
+    @Test
+    void overlapsReportTheSharedMinutes() {
+        Timetable timetable = new Timetable.Builder()
+                .add(1L, MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0))
+                .build();
+
+        Clash clash = findClash(timetable, MONDAY, "09:30", "11:00");
+        assertNotNull(clash);
+        assertEquals(7L, clash.getCourseId());
+        assertEquals(1L, clash.getOtherCourseId());
+        assertEquals(Timetable.minuteOfWeek(MONDAY, LocalTime.of(9, 30)), clash.getOverlapStart());
+        assertEquals(Timetable.minuteOfWeek(MONDAY, LocalTime.of(10, 0)), clash.getOverlapEnd());
+
+        // Containment either way round
+        clash = findClash(timetable, MONDAY, "09:15", "09:45");
+        assertEquals(Timetable.minuteOfWeek(MONDAY, LocalTime.of(9, 15)), clash.getOverlapStart());
+        assertEquals(Timetable.minuteOfWeek(MONDAY, LocalTime.of(9, 45)), clash.getOverlapEnd());
+        clash = findClash(timetable, MONDAY, "08:00", "12:00");
+        assertEquals(Timetable.minuteOfWeek(MONDAY, LocalTime.of(9, 0)), clash.getOverlapStart());
+        assertEquals(Timetable.minuteOfWeek(MONDAY, LocalTime.of(10, 0)), clash.getOverlapEnd());
+    }
+
+    // The all-day lab starts first, so the walk back has to pass both short lectures to reach it
+    @Test
+    void longMeetingIsFoundBehindLaterShortOnes() {
+        Timetable timetable = new Timetable.Builder()
+                .add(3L, MONDAY, LocalTime.of(11, 0), LocalTime.of(12, 0))
+                .add(1L, MONDAY, LocalTime.of(8, 0), LocalTime.of(18, 0))
+                .add(2L, MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0))
+                .add(4L, TUESDAY, LocalTime.of(8, 0), LocalTime.of(9, 0))
+                .build();
+
+        Clash clash = findClash(timetable, MONDAY, "13:00", "14:00");
+        assertEquals(1L, clash.getOtherCourseId());
+        assertEquals(Timetable.minuteOfWeek(MONDAY, LocalTime.of(13, 0)), clash.getOverlapStart());
+        assertNull(findClash(timetable, MONDAY, "18:00", "19:00"));
+        assertNull(findClash(timetable, TUESDAY, "09:00", "10:00"));
+    }
+
+    @Test
+    void allClashesSkipMeetingsOfTheSameCourse() {
+        Timetable timetable = new Timetable.Builder()
+                .add(1L, MONDAY, LocalTime.of(9, 0), LocalTime.of(11, 0))
+                .add(1L, MONDAY, LocalTime.of(10, 0), LocalTime.of(12, 0))
+                .add(2L, MONDAY, LocalTime.of(10, 30), LocalTime.of(11, 30))
+                .add(3L, MONDAY, LocalTime.of(12, 0), LocalTime.of(13, 0))
+                .add(4L, TUESDAY, LocalTime.of(10, 0), LocalTime.of(11, 0))
+                .build();
+
+        List<Clash> clashes = timetable.findAllClashes();
+        assertEquals(2, clashes.size());
+        for (Clash clash : clashes) {
+            assertEquals(1L, clash.getCourseId());
+            assertEquals(2L, clash.getOtherCourseId());
+            assertEquals(Timetable.minuteOfWeek(MONDAY, LocalTime.of(10, 30)), clash.getOverlapStart());
+        }
+        assertEquals(Timetable.minuteOfWeek(MONDAY, LocalTime.of(11, 0)), clashes.get(0).getOverlapEnd());
+        assertEquals(Timetable.minuteOfWeek(MONDAY, LocalTime.of(11, 30)), clashes.get(1).getOverlapEnd());
+    }
+
+    @Test
+    void minutesOfTheWeekRoundTrip() {
+        int lastMinute = Timetable.minuteOfWeek(SUNDAY, LocalTime.of(23, 59));
+
+        assertEquals(7 * 24 * 60 - 1, lastMinute);
+        assertEquals(SUNDAY, Timetable.dayOf(lastMinute));
+        assertEquals(LocalTime.of(23, 59), Timetable.timeOf(lastMinute));
+        assertEquals(MONDAY, Timetable.dayOf(0));
+        assertEquals(LocalTime.MIDNIGHT, Timetable.timeOf(0));
+    }
+
+    // Course 7 asking for the given slot
+    private static Clash findClash(Timetable timetable, DayOfWeek day, String start, String end) {
+        return timetable.findClash(7L, Timetable.minuteOfWeek(day, LocalTime.parse(start)),
+                Timetable.minuteOfWeek(day, LocalTime.parse(end)));
+    }
+}
@@ -0,0 +1,72 @@
+-- Partition the enrollments table by term, so term-scoped queries read a single partition.
+--
+-- Run once, by hand, against an existing database after the backend has created the schema and
+-- every course has been given a term:
+--
+--   mysql -u root -p university_db < mysql/partition-enrollments.sql
+--
+-- MySQL needs the partitioning column in every unique key and does not allow foreign keys on a
+-- partitioned table, so the primary key becomes (id, term_id) and the foreign keys to students
+-- and courses are dropped. The backend no longer declares them; it removes a student's
+-- enrollments itself and refuses to delete a course that still has any.
+--
+-- After this, every enrollment must have a term, so every course must have one too. Courses created
+-- without a term (before terms existed, or while none was running) need one assigned by hand before
+-- running this script. Then start the backend with enrollments.partitioned=true, so it refuses to
+-- create a course without a term (it takes the current term when none is given).
+USE university_db;
+
+-- Stop before changing anything while any course is still without a term
+DROP PROCEDURE IF EXISTS check_course_terms;
+DELIMITER //
+CREATE PROCEDURE check_course_terms()
+BEGIN
+    IF EXISTS (SELECT 1 FROM courses WHERE term_id IS NULL) THEN
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Every course needs a term before enrollments can be partitioned';
+    END IF;
+END //
+DELIMITER ;
+CALL check_course_terms();
+DROP PROCEDURE check_course_terms;
+
+-- Enrollments from before terms existed take the term of their course
+UPDATE enrollments e
+JOIN courses c ON c.id = e.course_id
+SET e.term_id = c.term_id
+WHERE e.term_id IS NULL;
+
+-- Every enrollment now has its course's term
+ALTER TABLE enrollments MODIFY term_id BIGINT NOT NULL;
+
+-- Drop whatever foreign keys an older schema created; their names are generated
+DROP PROCEDURE IF EXISTS drop_enrollment_foreign_keys;
+DELIMITER //
+CREATE PROCEDURE drop_enrollment_foreign_keys()
+BEGIN
+    DECLARE done INT DEFAULT FALSE;
+    DECLARE fk VARCHAR(64);
+    DECLARE fks CURSOR FOR
+        SELECT constraint_name FROM information_schema.table_constraints
+        WHERE table_schema = DATABASE() AND table_name = 'enrollments' AND constraint_type = 'FOREIGN KEY';
+    DECLARE CONTINUE HANDLER FOR NOT FOUND SET done = TRUE;
+    OPEN fks;
+    drop_loop: LOOP
+        FETCH fks INTO fk;
+        IF done THEN
+            LEAVE drop_loop;
+        END IF;
+        SET @ddl = CONCAT('ALTER TABLE enrollments DROP FOREIGN KEY `', fk, '`');
+        PREPARE statement FROM @ddl;
+        EXECUTE statement;
+        DEALLOCATE PREPARE statement;
+    END LOOP;
+    CLOSE fks;
+END //
+DELIMITER ;
+CALL drop_enrollment_foreign_keys();
+DROP PROCEDURE drop_enrollment_foreign_keys;
+
+ALTER TABLE enrollments DROP PRIMARY KEY, ADD PRIMARY KEY (id, term_id);
+
+-- Hash partitions need no upkeep as terms are added; a term's rows always land in one partition
+ALTER TABLE enrollments PARTITION BY HASH (term_id) PARTITIONS 16;